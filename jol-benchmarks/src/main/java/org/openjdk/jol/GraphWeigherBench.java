@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jol.info.GraphStats;
+import org.openjdk.jol.info.GraphWeigher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class GraphWeigherBench {
+
+    @Param({"pair", "list", "map"})
+    String shape;
+
+    private Object entry;
+    private GraphWeigher weigher;
+
+    @Setup
+    public void setup() {
+        switch (shape) {
+            case "pair":
+                entry = new Object[] { "key" + System.nanoTime(), Integer.valueOf(100_000) };
+                break;
+            case "list":
+                List<String> list = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    list.add("Value" + i);
+                }
+                entry = list;
+                break;
+            case "map":
+                Map<Integer, String> map = new HashMap<>();
+                for (int i = 0; i < 16; i++) {
+                    map.put(i + 1000, "Value" + i);
+                }
+                entry = map;
+                break;
+            default:
+                throw new IllegalStateException("Unknown shape: " + shape);
+        }
+        weigher = new GraphWeigher();
+    }
+
+    @Benchmark
+    public long weigher() {
+        return weigher.weigh(entry);
+    }
+
+    @Benchmark
+    public long stats() {
+        return GraphStats.parseInstance(entry).totalSize();
+    }
+
+}
@@ -40,6 +40,7 @@ public class Main {
         registerOperation(new ObjectExternals());
         registerOperation(new ObjectInternalsEstimates());
         registerOperation(new ObjectFootprint());
+        registerOperation(new ObjectAges());
         registerOperation(new HeapDumpStats());
         registerOperation(new HeapDumpEstimates());
         registerOperation(new HeapDumpDuplicates());
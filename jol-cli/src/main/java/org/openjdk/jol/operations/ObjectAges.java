@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.operations;
+
+import org.openjdk.jol.info.AgeDistribution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.System.out;
+
+/**
+ * Samples the age distribution of the object graph several times, with allocations
+ * in between, to show how the graph gets promoted.
+ */
+public class ObjectAges extends ClasspathedOperation {
+
+    private static final int SAMPLES = Integer.getInteger("samples", 5);
+    private static final int CHURN_MB = Integer.getInteger("churnMB", 256);
+
+    static volatile Object sink;
+
+    @Override
+    public String label() {
+        return "ages";
+    }
+
+    @Override
+    public String description() {
+        return "Show how objects reachable from a sample instance age over several GCs";
+    }
+
+    public void runWith(Class<?> klass) throws Exception {
+        try {
+            Object o = tryInstantiate(klass);
+
+            out.println("Taking " + SAMPLES + " samples, allocating " + CHURN_MB + " MB of garbage in between. " +
+                    "Use -Dsamples=# and -DchurnMB=# to override.");
+            out.println();
+
+            List<AgeDistribution> samples = new ArrayList<>();
+            for (int s = 0; s < SAMPLES; s++) {
+                if (s > 0) {
+                    churn();
+                }
+                samples.add(AgeDistribution.parseInstance(o));
+            }
+
+            out.println("*** First sample");
+            out.println(samples.get(0).toPrintable());
+            out.println("*** Last sample");
+            out.println(samples.get(samples.size() - 1).toPrintable());
+
+            out.println("Promotion over samples:");
+            out.println();
+            out.printf(" %6s %15s %15s %15s %15s %15s %8s%n", "SAMPLE", "SUM", "AGE 0", "AGE 1-3", "AGE 4-7", "AGE 8-15", "MEAN AGE");
+            out.println("------------------------------------------------------------------------------------------------");
+            for (int s = 0; s < samples.size(); s++) {
+                AgeDistribution d = samples.get(s);
+                out.printf(" %6d %,15d %,15d %,15d %,15d %,15d %8.2f%n",
+                        s,
+                        d.totalSize(),
+                        d.size(0),
+                        d.sizeAtLeast(1) - d.sizeAtLeast(4),
+                        d.sizeAtLeast(4) - d.sizeAtLeast(8),
+                        d.sizeAtLeast(8),
+                        d.meanAge());
+            }
+            out.println("------------------------------------------------------------------------------------------------");
+            out.println();
+        } catch (NoSuchMethodException | InstantiationException e) {
+            throw new IllegalStateException("Instantiation exception, does the class have the default constructor?", e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Illegal access exception, does the class have the public default constructor?", e);
+        }
+    }
+
+    private static void churn() {
+        // Allocate garbage to trigger young collections, that age the surviving objects.
+        for (long c = 0; c < CHURN_MB * 1024L; c++) {
+            sink = new byte[1024 - 16];
+        }
+    }
+
+}
@@ -48,7 +48,8 @@ public class ObjectFootprint extends ClasspathedOperation {
     public void runWith(Class<?> klass) throws Exception {
         try {
             Object o = tryInstantiate(klass);
-            out.println(GraphLayout.parseInstance(o).toFootprint());
+            GraphLayout.parseInstance(o).toFootprint(out);
+            out.println();
         } catch (NoSuchMethodException | InstantiationException e) {
             throw new IllegalStateException("Instantiation exception, does the class have the default constructor?", e);
         } catch (IllegalAccessException e) {
@@ -24,6 +24,16 @@
  */
 package org.openjdk.jol.info;
 
+import org.openjdk.jol.util.AddressIdentityHashSet;
+import org.openjdk.jol.util.ConcurrentIdentityHashSet;
+import org.openjdk.jol.util.IdentitySet;
+import org.openjdk.jol.util.SegmentedIdentityHashSet;
+import org.openjdk.jol.vm.VM;
+import org.openjdk.jol.vm.VirtualMachine;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.*;
@@ -36,6 +46,55 @@ import java.util.*;
 abstract class AbstractGraphWalker {
 
     private static final ReferenceFieldsClassValue CLASS_REFERENCE_FIELDS = new ReferenceFieldsClassValue();
+    private static final ClassValue<long[]> CLASS_REFERENCE_OFFSETS = new ClassValue<long[]>() {
+        @Override
+        protected long[] computeValue(Class<?> klass) {
+            return fieldOffsets(CLASS_REFERENCE_FIELDS.get(klass));
+        }
+    };
+    private static final Field REFERENT = referentField();
+    private static final ReferentStrengthClassValue CLASS_REFERENT_STRENGTH = new ReferentStrengthClassValue();
+    private static final int REFERENT_KINDS = Reachability.values().length;
+
+    protected int parallelism = 1;
+    protected VisitedTracking visitedTracking = VisitedTracking.IDENTITY_HASH;
+    protected GraphBoundary boundary;
+    protected EnumSet<Reachability> followedReferents = EnumSet.allOf(Reachability.class);
+
+    protected void verifyParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism should be positive: " + parallelism);
+        }
+    }
+
+    protected void verifyVisitedTracking(VisitedTracking tracking) {
+        if (tracking == null) {
+            throw new IllegalArgumentException("Visited tracking is null");
+        }
+    }
+
+    protected IdentitySet newVisitedSet() {
+        switch (visitedTracking) {
+            case IDENTITY_HASH:
+                return (parallelism > 1) ?
+                        new ConcurrentIdentityHashSet(parallelism) :
+                        new SegmentedIdentityHashSet();
+            case ADDRESS:
+                IdentitySet set = new AddressIdentityHashSet();
+                if (parallelism > 1) {
+                    // Address-keyed sets have to re-hash completely after GC,
+                    // so there is little point in striping them.
+                    return o -> {
+                        synchronized (set) {
+                            return set.add(o);
+                        }
+                    };
+                }
+                return set;
+            default:
+                throw new IllegalStateException("Unknown visited tracking: " + visitedTracking);
+        }
+    }
 
     protected void verifyRoots(Object... roots) {
         if (roots == null) {
@@ -87,8 +146,136 @@ abstract class AbstractGraphWalker {
         }
     }
 
+    private static class ReferentStrengthClassValue extends ClassValue<Reachability> {
+        @Override
+        protected Reachability computeValue(Class<?> klass) {
+            if (REFERENT == null || !Reference.class.isAssignableFrom(klass)) {
+                return Reachability.STRONG;
+            }
+            if (SoftReference.class.isAssignableFrom(klass)) {
+                return Reachability.SOFT;
+            }
+            if (WeakReference.class.isAssignableFrom(klass)) {
+                return Reachability.WEAK;
+            }
+            // Phantom, finalizer, and whatever other references the JDK has.
+            return Reachability.PHANTOM;
+        }
+    }
+
+    private static Field referentField() {
+        try {
+            return Reference.class.getDeclaredField("referent");
+        } catch (NoSuchFieldException | SecurityException e) {
+            // Unusual JDK, treat the referent as the regular field.
+            return null;
+        }
+    }
+
+    /**
+     * Answers how strongly the instances of this class hold their referent.
+     *
+     * @param cl class
+     * @return {@link Reachability#STRONG} for non-references, the referent strength otherwise
+     */
+    protected static Reachability referentStrength(Class<?> cl) {
+        return CLASS_REFERENT_STRENGTH.get(cl);
+    }
+
+    /**
+     * Answers whether the field is the {@link Reference} referent.
+     *
+     * @param f field
+     * @return true, if field is the referent
+     */
+    protected static boolean isReferent(Field f) {
+        return f.equals(REFERENT);
+    }
+
+    /**
+     * Converts the reference kinds to follow into the set of followed referents.
+     *
+     * @param kinds reference kinds to follow, {@link Reachability#STRONG} is implied
+     * @return followed referents
+     */
+    protected static EnumSet<Reachability> referentKinds(Reachability... kinds) {
+        if (kinds == null) {
+            throw new IllegalArgumentException("Reference kinds are null");
+        }
+        EnumSet<Reachability> set = EnumSet.of(Reachability.STRONG);
+        for (Reachability r : kinds) {
+            if (r == null) {
+                throw new IllegalArgumentException("Some reference kind is null");
+            }
+            set.add(r);
+        }
+        return set;
+    }
+
+    /**
+     * Answers whether the walk skips the referents of the instances of this class.
+     *
+     * @param cl class
+     * @return true, if the referent field should not be followed
+     */
+    protected boolean skipsReferent(Class<?> cl) {
+        EnumSet<Reachability> kinds = followedReferents;
+        return kinds.size() < REFERENT_KINDS && !kinds.contains(referentStrength(cl));
+    }
+
     protected Field[] getAllReferenceFields(Class<?> cl) {
+        GraphBoundary b = boundary;
+        return (b == null) ? CLASS_REFERENCE_FIELDS.get(cl) : b.referenceFields(cl);
+    }
+
+    static Field[] allReferenceFields(Class<?> cl) {
         return CLASS_REFERENCE_FIELDS.get(cl);
     }
 
+    /**
+     * Answers the offsets of {@link #getAllReferenceFields(Class)}, so that
+     * the fields can be read without reflection.
+     *
+     * @param cl class
+     * @return field offsets, -1 for the fields without the usable offset
+     */
+    protected long[] getAllReferenceOffsets(Class<?> cl) {
+        GraphBoundary b = boundary;
+        return (b == null) ? CLASS_REFERENCE_OFFSETS.get(cl) : b.referenceOffsets(cl);
+    }
+
+    static long[] fieldOffsets(Field[] fields) {
+        VirtualMachine vm = VM.current();
+        long[] offsets = new long[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            long off;
+            try {
+                off = vm.fieldOffset(fields[i]);
+            } catch (RuntimeException e) {
+                off = -1;
+            }
+            offsets[i] = off;
+        }
+        return offsets;
+    }
+
+    /**
+     * Answers whether the walk should stop at this object.
+     *
+     * @param o object
+     * @return true, if object is outside of walk boundary
+     */
+    protected boolean isStopped(Object o) {
+        GraphBoundary b = boundary;
+        return b != null && b.isStopped(o.getClass());
+    }
+
+    protected static int referenceArrayLength(Object o) {
+        Class<?> cl = o.getClass();
+        if (cl.isArray() && !cl.getComponentType().isPrimitive()) {
+            return ((Object[]) o).length;
+        }
+        return -1;
+    }
+
 }
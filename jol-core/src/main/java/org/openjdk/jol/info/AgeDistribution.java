@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.ASCIITable;
+import org.openjdk.jol.util.ClassUtils;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Distribution of the object footprint by GC age.
+ * <p>
+ * Every object carries the number of GC cycles it has survived in its mark word.
+ * The distribution sums the object sizes by that age, overall and per class, in
+ * a single walk. The objects whose mark word is displaced do not show their age,
+ * and are counted as of unknown age: see {@link HeaderCensus#unknownAgeCount()}. Taking the distribution over the
+ * same roots several times shows how the data structure gets promoted, which helps
+ * to tune the tenuring threshold.
+ * <p>
+ * The walk tracks visited objects by {@link VisitedTracking#ADDRESS}, so that it
+ * does not install the identity hashes, and does not disturb the headers.
+ */
+public class AgeDistribution {
+
+    /**
+     * Number of distinct GC ages the mark word can encode.
+     */
+    public static final int AGES = HeaderCensus.AGES;
+
+    /**
+     * Take the age distribution for the object graphs.
+     *
+     * @param roots root instances to start from
+     * @return age distribution
+     */
+    public static AgeDistribution parseInstance(Object... roots) {
+        AgeDistribution dist = new AgeDistribution();
+        GraphStatsVisitor visitor = dist::add;
+        new GraphStatsWalker(visitor)
+                .setVisitedTracking(VisitedTracking.ADDRESS)
+                .walk(roots);
+        return dist;
+    }
+
+    /**
+     * Take the age distribution for the objects in the layout.
+     * The ages are read the same after any walk, but the layout should better come
+     * from the walk with {@link VisitedTracking#ADDRESS} tracking. The identity hash
+     * tracking installs the hash into every header it walks, and leaves it there:
+     * that revokes biased locks on older JDKs, and makes the objects with compact
+     * headers grow the hash field once they move.
+     *
+     * @param layout layout
+     * @return age distribution
+     */
+    public static AgeDistribution parse(GraphLayout layout) {
+        AgeDistribution dist = new AgeDistribution();
+        GraphRecords records = layout.records();
+        for (int i = 0; i < records.count(); i++) {
+            dist.add(records.obj(i), records.size(i));
+        }
+        return dist;
+    }
+
+    private final MarkWords marks = new MarkWords();
+    private final Map<Class<?>, Sizes> sizes = new HashMap<>();
+    private final Sizes total = new Sizes();
+
+    private AgeDistribution() {
+        // Only the factories create instances.
+    }
+
+    private synchronized void add(Object obj, long size) {
+        long mark = marks.read(obj);
+        LockState state = marks.lockState(mark);
+        int age = marks.hasAge(state) ? MarkWords.age(mark) : -1;
+        sizes.computeIfAbsent(obj.getClass(), k -> new Sizes()).add(age, size);
+        total.add(age, size);
+    }
+
+    private static final class Sizes {
+        final long[] bytes = new long[AGES];
+        final long[] counts = new long[AGES];
+        long unknownBytes;
+        long unknownCount;
+        long totalBytes;
+
+        void add(int age, long size) {
+            if (age >= 0) {
+                bytes[age] += size;
+                counts[age]++;
+            } else {
+                unknownBytes += size;
+                unknownCount++;
+            }
+            totalBytes += size;
+        }
+
+        long bytesAtLeast(int age) {
+            long sum = 0;
+            for (int a = age; a < AGES; a++) {
+                sum += bytes[a];
+            }
+            return sum;
+        }
+
+        double meanAge() {
+            long known = totalBytes - unknownBytes;
+            if (known == 0) {
+                return 0;
+            }
+            double sum = 0;
+            for (int a = 0; a < AGES; a++) {
+                sum += 1.0 * a * bytes[a];
+            }
+            return sum / known;
+        }
+    }
+
+    private Sizes sizes(Class<?> klass) {
+        Sizes s = sizes.get(klass);
+        if (s == null) {
+            throw new IllegalArgumentException("Class is not in the distribution: " + klass);
+        }
+        return s;
+    }
+
+    private static void checkAge(int age) {
+        if (age < 0 || age >= AGES) {
+            throw new IllegalArgumentException("Age out of bounds: " + age);
+        }
+    }
+
+    /**
+     * Answer the classes in the distribution
+     *
+     * @return set of classes
+     */
+    public synchronized Set<Class<?>> classes() {
+        return Collections.unmodifiableSet(new HashSet<>(sizes.keySet()));
+    }
+
+    /**
+     * Answer the total footprint
+     *
+     * @return total footprint, bytes
+     */
+    public synchronized long totalSize() {
+        return total.totalBytes;
+    }
+
+    /**
+     * Answer the footprint of the objects of the given age
+     *
+     * @param age GC age, in [0; AGES)
+     * @return footprint, bytes
+     */
+    public synchronized long size(int age) {
+        checkAge(age);
+        return total.bytes[age];
+    }
+
+    /**
+     * Answer the footprint of the objects of the given class and age
+     *
+     * @param klass class
+     * @param age GC age, in [0; AGES)
+     * @return footprint, bytes
+     */
+    public synchronized long size(Class<?> klass, int age) {
+        checkAge(age);
+        return sizes(klass).bytes[age];
+    }
+
+    /**
+     * Answer the number of objects of the given age
+     *
+     * @param age GC age, in [0; AGES)
+     * @return object count
+     */
+    public synchronized long count(int age) {
+        checkAge(age);
+        return total.counts[age];
+    }
+
+    /**
+     * Answer the footprint of the objects that do not show their age, because they are locked
+     *
+     * @return footprint, bytes
+     */
+    public synchronized long unknownAgeSize() {
+        return total.unknownBytes;
+    }
+
+    /**
+     * Answer the footprint of the objects at the given age or older. With the tenuring
+     * threshold set to this age, these would be promoted at the next GC.
+     *
+     * @param age GC age, in [0; AGES)
+     * @return footprint, bytes
+     */
+    public synchronized long sizeAtLeast(int age) {
+        checkAge(age);
+        return total.bytesAtLeast(age);
+    }
+
+    /**
+     * Answer the footprint-weighted mean age, for the objects that show their age
+     *
+     * @return mean age
+     */
+    public synchronized double meanAge() {
+        return total.meanAge();
+    }
+
+    /**
+     * Answer the footprint-weighted mean age for the objects of the given class
+     *
+     * @param klass class
+     * @return mean age
+     */
+    public synchronized double meanAge(Class<?> klass) {
+        return sizes(klass).meanAge();
+    }
+
+    /**
+     * Get the stringly representation of the per-class age distribution
+     *
+     * @return age distribution table
+     */
+    public synchronized String toPrintable() {
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
+
+        ASCIITable table = new ASCIITable(
+                true,
+                "Footprint by GC age:",
+                "SUM", "AGE 0", "AGE 1-3", "AGE 4-7", "AGE 8-15", "UNKNOWN", "CLASS");
+        for (Map.Entry<Class<?>, Sizes> e : sizes.entrySet()) {
+            Sizes s = e.getValue();
+            table.addLine(ClassUtils.humanReadableName(e.getKey()),
+                    s.totalBytes,
+                    s.bytes[0],
+                    s.bytesAtLeast(1) - s.bytesAtLeast(4),
+                    s.bytesAtLeast(4) - s.bytesAtLeast(8),
+                    s.bytesAtLeast(8),
+                    s.unknownBytes);
+        }
+        table.print(pw, 0);
+
+        printHistogram(pw);
+        pw.close();
+        return sw.toString();
+    }
+
+    private void printHistogram(PrintWriter pw) {
+        pw.println("Age histogram:");
+        pw.println();
+        pw.printf(" %15s %15s    %s%n", "COUNT", "SUM", "AGE");
+        pw.println("------------------------------------------------------------------------------------------------");
+        for (int age = 0; age < AGES; age++) {
+            if (total.counts[age] != 0) {
+                pw.printf(" %,15d %,15d    %d%n", total.counts[age], total.bytes[age], age);
+            }
+        }
+        if (total.unknownCount != 0) {
+            pw.printf(" %,15d %,15d    %s%n", total.unknownCount, total.unknownBytes, "<unknown>");
+        }
+        pw.println("------------------------------------------------------------------------------------------------");
+        pw.printf("Mean age: %.2f%n", total.meanAge());
+        pw.println();
+    }
+
+}
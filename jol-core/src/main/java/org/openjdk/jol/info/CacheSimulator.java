@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.ASCIITable;
+import org.openjdk.jol.util.SimpleIdentityIntMap;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Simple model of the set-associative cache hierarchy and the TLB.
+ * <p>
+ * The simulator replays the accesses to the objects, using their real addresses
+ * and sizes, and counts the misses at every level. Every access touches all cache
+ * lines and pages of the object. The levels are looked up in the order they were
+ * added: the miss at one level goes to the next one, and the line is then filled
+ * in all the levels it missed in. All levels replace the least recently used line.
+ * <p>
+ * This is an estimate: it does not model prefetchers, the instruction stream,
+ * the other threads, or anything else the real hardware does. It is good for comparing
+ * the layouts of the same data, e.g. before and after GC, or between two data structures.
+ * <p>
+ * The simulator is not thread-safe.
+ */
+public class CacheSimulator {
+
+    /**
+     * Create the simulator with the levels that roughly match the modern x86 server:
+     * 32K 8-way L1, 1M 16-way L2, 32M 16-way L3 with 64-byte lines, and 64-entry
+     * 4-way TLB for 4K pages.
+     *
+     * @return simulator
+     */
+    public static CacheSimulator typical() {
+        return new CacheSimulator()
+                .addLevel("L1", 32 * 1024, 8, 64)
+                .addLevel("L2", 1024 * 1024, 16, 64)
+                .addLevel("L3", 32 * 1024 * 1024, 16, 64)
+                .setTlb(64, 4, 4 * 1024);
+    }
+
+    private final List<Level> levels = new ArrayList<>();
+    private Level tlb;
+    private long stamp;
+
+    /**
+     * Add the next cache level.
+     *
+     * @param name level name, for reporting
+     * @param capacity level capacity, bytes
+     * @param ways associativity
+     * @param lineSize line size, bytes, power of two
+     * @return this simulator
+     */
+    public CacheSimulator addLevel(String name, long capacity, int ways, int lineSize) {
+        levels.add(new Level(name, capacity, ways, lineSize));
+        return this;
+    }
+
+    /**
+     * Set the TLB model.
+     *
+     * @param entries number of TLB entries
+     * @param ways associativity
+     * @param pageSize page size, bytes, power of two
+     * @return this simulator
+     */
+    public CacheSimulator setTlb(int entries, int ways, long pageSize) {
+        if (pageSize <= 0 || Long.bitCount(pageSize) != 1) {
+            throw new IllegalArgumentException("Page size should be a power of two: " + pageSize);
+        }
+        tlb = new Level("TLB", entries * pageSize, ways, pageSize);
+        return this;
+    }
+
+    /**
+     * Forget all cached lines and access counters, keeping the configuration.
+     *
+     * @return this simulator
+     */
+    public CacheSimulator reset() {
+        for (Level l : levels) {
+            l.reset();
+        }
+        if (tlb != null) {
+            tlb.reset();
+        }
+        stamp = 0;
+        return this;
+    }
+
+    /**
+     * Access the memory range.
+     *
+     * @param address range start
+     * @param size range size, bytes
+     */
+    public void access(long address, long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size should be positive: " + size);
+        }
+        long end = address + size - 1;
+
+        if (tlb != null) {
+            for (long p = address >>> tlb.shift; p <= (end >>> tlb.shift); p++) {
+                tlb.lookup(p, ++stamp);
+            }
+        }
+
+        if (levels.isEmpty()) {
+            return;
+        }
+        Level first = levels.get(0);
+        long line = address >>> first.shift;
+        long lastLine = end >>> first.shift;
+        for (; line <= lastLine; line++) {
+            long lineAddr = line << first.shift;
+            long st = ++stamp;
+            for (Level l : levels) {
+                if (l.lookup(lineAddr >>> l.shift, st)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replay the accesses to all objects in the order the walker has discovered them.
+     *
+     * @param layout layout
+     * @return this simulator
+     */
+    public CacheSimulator replayWalk(GraphLayout layout) {
+        GraphAddressIndex index = layout.addressIndex();
+        for (int pos : index.walkOrder()) {
+            access(index.address(pos), index.size(pos));
+        }
+        return this;
+    }
+
+    /**
+     * Replay the accesses to all objects in the order of their addresses.
+     * This is the best case for the sequential scan.
+     *
+     * @param layout layout
+     * @return this simulator
+     */
+    public CacheSimulator replayAddressOrder(GraphLayout layout) {
+        GraphAddressIndex index = layout.addressIndex();
+        for (int pos = 0; pos < index.count(); pos++) {
+            access(index.address(pos), index.size(pos));
+        }
+        return this;
+    }
+
+    /**
+     * Replay the accesses to the given objects, in the given order.
+     * The objects may repeat, and should all be in the layout.
+     *
+     * @param layout layout that provides the addresses and sizes
+     * @param sequence objects to access
+     * @return this simulator
+     */
+    public CacheSimulator replay(GraphLayout layout, Object... sequence) {
+        GraphAddressIndex index = layout.addressIndex();
+        SimpleIdentityIntMap positions = new SimpleIdentityIntMap();
+        for (int pos = 0; pos < index.count(); pos++) {
+            positions.put(index.obj(pos), pos);
+        }
+        for (Object o : sequence) {
+            int pos = positions.get(o, -1);
+            if (pos < 0) {
+                throw new IllegalArgumentException("Object is not in the layout: " + o);
+            }
+            access(index.address(pos), index.size(pos));
+        }
+        return this;
+    }
+
+    /**
+     * Replay the accesses to the given memory ranges, in the given order.
+     *
+     * @param addresses range starts
+     * @param sizes range sizes, bytes
+     * @return this simulator
+     */
+    public CacheSimulator replay(long[] addresses, long[] sizes) {
+        if (addresses.length != sizes.length) {
+            throw new IllegalArgumentException("Addresses and sizes should have the same length: " +
+                    addresses.length + " vs " + sizes.length);
+        }
+        for (int i = 0; i < addresses.length; i++) {
+            access(addresses[i], sizes[i]);
+        }
+        return this;
+    }
+
+    private Level level(int level) {
+        if (level < 0 || level >= levels.size()) {
+            throw new IllegalArgumentException("Level index out of bounds: " + level);
+        }
+        return levels.get(level);
+    }
+
+    private Level tlb() {
+        if (tlb == null) {
+            throw new IllegalStateException("TLB is not configured");
+        }
+        return tlb;
+    }
+
+    /**
+     * Answer the number of cache levels
+     *
+     * @return number of levels
+     */
+    public int levels() {
+        return levels.size();
+    }
+
+    /**
+     * Answer the cache level name
+     *
+     * @param level level index, in the order levels were added
+     * @return level name
+     */
+    public String levelName(int level) {
+        return level(level).name;
+    }
+
+    /**
+     * Answer the number of line lookups that reached the cache level
+     *
+     * @param level level index, in the order levels were added
+     * @return lookup count
+     */
+    public long accesses(int level) {
+        return level(level).accesses;
+    }
+
+    /**
+     * Answer the number of line lookups that missed in the cache level
+     *
+     * @param level level index, in the order levels were added
+     * @return miss count
+     */
+    public long misses(int level) {
+        return level(level).misses;
+    }
+
+    /**
+     * Answer the number of page lookups in the TLB
+     *
+     * @return lookup count
+     */
+    public long tlbAccesses() {
+        return tlb().accesses;
+    }
+
+    /**
+     * Answer the number of page lookups that missed in the TLB
+     *
+     * @return miss count
+     */
+    public long tlbMisses() {
+        return tlb().misses;
+    }
+
+    /**
+     * Get the stringly representation of the simulated miss counts
+     *
+     * @return miss table
+     */
+    public String toPrintable() {
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
+        ASCIITable table = new ASCIITable(
+                false,
+                "Simulated cache misses:",
+                "ACCESSES", "MISSES", "LEVEL");
+        for (Level l : levels) {
+            table.addLine(l.describe(), l.accesses, l.misses);
+        }
+        if (tlb != null) {
+            String desc = "TLB: " + (tlb.sets * tlb.ways) + " entries, " + tlb.ways + "-way, " + tlb.lineSize + "-byte pages";
+            table.addLine(desc, tlb.accesses, tlb.misses);
+        }
+        table.print(pw, -1);
+        pw.close();
+        return sw.toString();
+    }
+
+    private static final class Level {
+        final String name;
+        final long capacity;
+        final int ways;
+        final long lineSize;
+        final int shift;
+        final int sets;
+
+        // Line tags and last access stamps, set-major.
+        final long[] tags;
+        final long[] stamps;
+
+        long accesses;
+        long misses;
+
+        Level(String name, long capacity, int ways, long lineSize) {
+            if (lineSize <= 0 || Long.bitCount(lineSize) != 1) {
+                throw new IllegalArgumentException("Line size should be a power of two: " + lineSize);
+            }
+            if (ways <= 0) {
+                throw new IllegalArgumentException("Associativity should be positive: " + ways);
+            }
+            if (capacity <= 0 || capacity % (lineSize * ways) != 0) {
+                throw new IllegalArgumentException("Capacity should be a positive multiple of line size times associativity: " + capacity);
+            }
+            long sets = capacity / (lineSize * ways);
+            if (sets * ways > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many lines: " + sets * ways);
+            }
+            this.name = name;
+            this.capacity = capacity;
+            this.ways = ways;
+            this.lineSize = lineSize;
+            this.shift = Long.numberOfTrailingZeros(lineSize);
+            this.sets = (int) sets;
+            this.tags = new long[this.sets * ways];
+            this.stamps = new long[this.sets * ways];
+            reset();
+        }
+
+        void reset() {
+            Arrays.fill(tags, -1);
+            Arrays.fill(stamps, 0);
+            accesses = 0;
+            misses = 0;
+        }
+
+        boolean lookup(long tag, long stamp) {
+            accesses++;
+            int base = (int) Long.remainderUnsigned(tag, sets) * ways;
+            int victim = base;
+            for (int i = base; i < base + ways; i++) {
+                if (tags[i] == tag) {
+                    stamps[i] = stamp;
+                    return true;
+                }
+                if (stamps[i] < stamps[victim]) {
+                    victim = i;
+                }
+            }
+            misses++;
+            tags[victim] = tag;
+            stamps[victim] = stamp;
+            return false;
+        }
+
+        String describe() {
+            return name + ": " + (capacity / 1024) + "K, " + ways + "-way, " + lineSize + "-byte lines";
+        }
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.vm.VM;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Graph records that keep the object data in parallel arrays.
+ *
+ * Every record takes an object reference and four ints: parent record index, the
+ * slot in the parent (reference field index or array index), depth, and size.
+ * Paths are not stored, and reconstructed on demand from the parent chains.
+ * The reference fields the walker has seen for every class are kept along,
+ * so that the paths do not depend on the walker after the walk.
+ */
+final class CompactGraphRecords implements GraphRecords {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final boolean singleRoot;
+    private final Map<Class<?>, Field[]> classFields = new HashMap<>();
+    private Class<?> lastClass;
+
+    private Object[] objs;
+    private int[] parents;
+    private int[] slots;
+    private int[] depths;
+    private int[] sizes;
+    private int count;
+
+    CompactGraphRecords(boolean singleRoot) {
+        this.singleRoot = singleRoot;
+        objs = new Object[INITIAL_CAPACITY];
+        parents = new int[INITIAL_CAPACITY];
+        slots = new int[INITIAL_CAPACITY];
+        depths = new int[INITIAL_CAPACITY];
+        sizes = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds the new record.
+     *
+     * @param obj object
+     * @param parent parent record index, or -1 for roots
+     * @param slot reference field index in parent, array index in parent, or root id for roots
+     * @param depth object depth
+     * @return new record index
+     */
+    int add(Object obj, int parent, int slot, int depth) {
+        int idx = count;
+        if (idx == objs.length) {
+            grow();
+        }
+        objs[idx] = obj;
+        parents[idx] = parent;
+        slots[idx] = slot;
+        depths[idx] = depth;
+        count = idx + 1;
+        return idx;
+    }
+
+    /**
+     * Records the reference fields the walker follows in instances of the class.
+     * The slots of the children records index into these fields.
+     *
+     * @param cl class
+     * @param fields reference fields
+     */
+    void addFields(Class<?> cl, Field[] fields) {
+        if (cl != lastClass) {
+            classFields.putIfAbsent(cl, fields);
+            lastClass = cl;
+        }
+    }
+
+    private void grow() {
+        int cap = objs.length;
+        int newCap = cap + (cap >> 1);
+        if (newCap < 0 || newCap > Integer.MAX_VALUE - 8) {
+            if (cap == Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Capacity exhausted.");
+            }
+            newCap = Integer.MAX_VALUE - 8;
+        }
+        objs = Arrays.copyOf(objs, newCap);
+        parents = Arrays.copyOf(parents, newCap);
+        slots = Arrays.copyOf(slots, newCap);
+        depths = Arrays.copyOf(depths, newCap);
+        sizes = Arrays.copyOf(sizes, newCap);
+    }
+
+    /**
+     * Drops the spare capacity after the walk is done.
+     */
+    void trim() {
+        if (count < objs.length) {
+            objs = Arrays.copyOf(objs, count);
+            parents = Arrays.copyOf(parents, count);
+            slots = Arrays.copyOf(slots, count);
+            depths = Arrays.copyOf(depths, count);
+            sizes = Arrays.copyOf(sizes, count);
+        }
+    }
+
+    void setSize(int idx, long size) {
+        if (size <= Integer.MAX_VALUE) {
+            sizes[idx] = (int) size;
+        }
+        // Otherwise, leave the size unknown, and recompute it on every request.
+    }
+
+    @Override
+    public int count() {
+        return count;
+    }
+
+    @Override
+    public Object obj(int idx) {
+        return objs[idx];
+    }
+
+    @Override
+    public long size(int idx) {
+        long size = sizes[idx];
+        if (size == 0) {
+            // Object size would not change, fine to compute lazily.
+            size = VM.current().sizeOf(objs[idx]);
+            setSize(idx, size);
+        }
+        return size;
+    }
+
+    @Override
+    public int depth(int idx) {
+        return depths[idx];
+    }
+
+    int parent(int idx) {
+        return parents[idx];
+    }
+
+    @Override
+    public GraphPathRecord record(int idx) {
+        return new CompactGraphPathRecord(this, idx);
+    }
+
+    String path(int idx) {
+        int depth = depths[idx];
+        int[] chain = new int[depth + 1];
+        for (int c = idx, d = depth; d >= 0; c = parents[c], d--) {
+            chain[d] = c;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        int root = chain[0];
+        if (!singleRoot) {
+            sb.append("<r").append(slots[root]).append(">");
+        }
+        for (int d = 1; d <= depth; d++) {
+            int c = chain[d];
+            Object parent = objs[chain[d - 1]];
+            if (parent.getClass().isArray()) {
+                sb.append("[").append(slots[c]).append("]");
+            } else {
+                Field[] fields = classFields.get(parent.getClass());
+                sb.append(".").append(fields[slots[c]].getName());
+            }
+        }
+        return sb.toString();
+    }
+
+    private static final class CompactGraphPathRecord extends GraphPathRecord {
+        private final CompactGraphRecords records;
+        private final int idx;
+
+        CompactGraphPathRecord(CompactGraphRecords records, int idx) {
+            super(null, records.depth(idx), records.obj(idx));
+            this.records = records;
+            this.idx = idx;
+            setSize(records.sizes[idx]);
+        }
+
+        @Override
+        public String path() {
+            return records.path(idx);
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import java.util.Map;
+
+/**
+ * JMX view of the latest {@link FootprintSample} for the root registered
+ * with {@link FootprintMonitor}. All attributes are zero or empty until the first
+ * walk completes.
+ */
+public interface FootprintMXBean {
+
+    /**
+     * @return root name
+     */
+    String getName();
+
+    /**
+     * @return total instance count
+     */
+    long getTotalCount();
+
+    /**
+     * @return total instance footprint, bytes
+     */
+    long getTotalSize();
+
+    /**
+     * @return time spent walking, milliseconds
+     */
+    long getWalkTimeMillis();
+
+    /**
+     * @return time from the start to the end of the walk, milliseconds
+     */
+    long getElapsedTimeMillis();
+
+    /**
+     * @return time the last walk completed at, milliseconds since epoch
+     */
+    long getLastUpdated();
+
+    /**
+     * @return number of completed walks
+     */
+    long getSampleCount();
+
+    /**
+     * @return classes with the largest footprint, to their footprint in bytes
+     */
+    Map<String, Long> getTopClassSizes();
+
+    /**
+     * @return message of the last failed walk, or null
+     */
+    String getLastError();
+
+}
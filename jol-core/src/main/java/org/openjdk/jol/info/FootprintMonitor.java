@@ -0,0 +1,573 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.ClassUtils;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic footprint monitor for the named roots.
+ * <p>
+ * Application code registers the roots, for example caches, and the monitor
+ * walks them one by one on the background daemon thread with
+ * {@link IncrementalGraphStatsWalker}. The walks are split in short steps with
+ * the pauses in between, so that the monitor thread stays within the configured
+ * CPU budget. The latest {@link FootprintSample} for every root is available
+ * from {@link #sample(String)}, and optionally as {@link FootprintMXBean} attributes
+ * in the platform MBean server.
+ * <p>
+ * The monitor holds the roots weakly, and forgets the roots that were collected.
+ * The walk in progress has to remember the objects it has already discovered.
+ * Between the steps, the monitor holds that walk state softly: it does not stop
+ * the collector from reclaiming the walked graph under memory pressure, and
+ * the dropped walk starts over in the next cycle. The walks of the roots that
+ * were unregistered meanwhile are abandoned on the next step.
+ */
+public class FootprintMonitor implements AutoCloseable {
+
+    /**
+     * JMX domain for the exported beans.
+     */
+    public static final String JMX_DOMAIN = "org.openjdk.jol";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile long periodNanos = TimeUnit.MINUTES.toNanos(1);
+    private volatile double cpuBudget = 0.05;
+    private volatile long stepNanos = TimeUnit.MILLISECONDS.toNanos(5);
+    private volatile int topClasses = 10;
+    private volatile GraphBoundary boundary;
+    private volatile EnumSet<Reachability> followedReferents = EnumSet.allOf(Reachability.class);
+    private boolean jmx;
+
+    private ScheduledExecutorService executor;
+    private boolean closed;
+
+    // Current cycle state, only accessed from the monitor thread.
+    private final Deque<Entry> pending = new ArrayDeque<>();
+    private long cycleStart;
+    private Entry current;
+    private SoftReference<IncrementalGraphStatsWalker> walker;
+    private GraphFootprint footprint;
+    private long walkStart;
+    private long walkNanos;
+
+    /**
+     * Sets the period between the walks of the same root.
+     *
+     * @param period period
+     * @param unit period unit
+     * @return this monitor
+     */
+    public synchronized FootprintMonitor setPeriod(long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period should be positive: " + period);
+        }
+        this.periodNanos = unit.toNanos(period);
+        return this;
+    }
+
+    /**
+     * Sets the fraction of a single CPU the monitor thread is allowed to use.
+     * After every step, the thread pauses long enough to stay within this budget.
+     *
+     * @param budget CPU fraction, in (0; 1]
+     * @return this monitor
+     */
+    public synchronized FootprintMonitor setCpuBudget(double budget) {
+        if (!(budget > 0 && budget <= 1)) {
+            throw new IllegalArgumentException("CPU budget should be in (0; 1]: " + budget);
+        }
+        this.cpuBudget = budget;
+        return this;
+    }
+
+    /**
+     * Sets the maximum duration of the single walk step.
+     *
+     * @param step step duration
+     * @param unit step duration unit
+     * @return this monitor
+     */
+    public synchronized FootprintMonitor setStepTime(long step, TimeUnit unit) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("Step time should be positive: " + step);
+        }
+        this.stepNanos = unit.toNanos(step);
+        return this;
+    }
+
+    /**
+     * Sets the number of the largest classes to keep in the samples.
+     *
+     * @param count number of classes
+     * @return this monitor
+     */
+    public synchronized FootprintMonitor setTopClasses(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Top classes count should be non-negative: " + count);
+        }
+        this.topClasses = count;
+        return this;
+    }
+
+    /**
+     * Sets the boundary for the walks.
+     *
+     * @param boundary walk boundary, or null to walk everything reachable
+     * @return this monitor
+     * @see GraphBoundary
+     */
+    public synchronized FootprintMonitor setBoundary(GraphBoundary boundary) {
+        this.boundary = boundary;
+        return this;
+    }
+
+    /**
+     * Sets the kinds of references which referents are followed by the walks.
+     * By default, all referents are followed, and the samples count the objects
+     * held by them like the strongly reachable ones.
+     *
+     * @param kinds reference kinds to follow, {@link Reachability#STRONG} is implied
+     * @return this monitor
+     * @see IncrementalGraphStatsWalker#setFollowedReferents(Reachability...)
+     */
+    public synchronized FootprintMonitor setFollowedReferents(Reachability... kinds) {
+        this.followedReferents = AbstractGraphWalker.referentKinds(kinds);
+        return this;
+    }
+
+    /**
+     * Exports every registered root as {@link FootprintMXBean} to the platform
+     * MBean server, under the {@value #JMX_DOMAIN}{@code :type=Footprint,name=<name>} name.
+     * The roots registered later are exported as well.
+     *
+     * @return this monitor
+     */
+    public synchronized FootprintMonitor exportJmx() {
+        if (!jmx) {
+            jmx = true;
+            for (Entry e : entries.values()) {
+                e.export();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Registers the root to monitor. Registering the same name again replaces the root.
+     *
+     * @param name root name
+     * @param root root instance
+     * @return this monitor
+     */
+    public synchronized FootprintMonitor register(String name, Object root) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name is null");
+        }
+        if (root == null) {
+            throw new IllegalArgumentException("Root is null");
+        }
+        Entry e = new Entry(name, root);
+        Entry old = entries.put(name, e);
+        if (old != null) {
+            old.unexport();
+        }
+        if (jmx) {
+            e.export();
+        }
+        return this;
+    }
+
+    /**
+     * Unregisters the root.
+     *
+     * @param name root name
+     * @return true, if root was registered
+     */
+    public synchronized boolean unregister(String name) {
+        Entry e = entries.remove(name);
+        if (e != null) {
+            e.unexport();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Answer the registered root names.
+     *
+     * @return root names
+     */
+    public List<String> names() {
+        List<String> names = new ArrayList<>(entries.keySet());
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Answer the latest sample for the root.
+     *
+     * @param name root name
+     * @return latest sample, or null if root is not registered, or was not walked yet
+     */
+    public FootprintSample sample(String name) {
+        Entry e = entries.get(name);
+        return (e == null) ? null : e.sample;
+    }
+
+    /**
+     * Answer the latest samples for all roots that were walked at least once.
+     *
+     * @return root names to their latest samples
+     */
+    public Map<String, FootprintSample> samples() {
+        Map<String, FootprintSample> result = new TreeMap<>();
+        for (Entry e : entries.values()) {
+            FootprintSample s = e.sample;
+            if (s != null) {
+                result.put(e.name, s);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Starts the background monitoring thread. The monitor cannot be restarted
+     * after it was closed.
+     *
+     * @return this monitor
+     */
+    public synchronized FootprintMonitor start() {
+        if (closed) {
+            throw new IllegalStateException("Monitor is closed");
+        }
+        if (executor != null) {
+            throw new IllegalStateException("Monitor is already started");
+        }
+        ScheduledThreadPoolExecutor ex = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "JOL Footprint Monitor");
+            t.setDaemon(true);
+            return t;
+        });
+        ex.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        executor = ex;
+        executor.execute(this::tick);
+        return this;
+    }
+
+    /**
+     * Stops the background monitoring thread, and unregisters the exported beans.
+     * The latest samples are still available.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        for (Entry e : entries.values()) {
+            e.unexport();
+        }
+        jmx = false;
+    }
+
+    /**
+     * Walks all registered roots to completion in the calling thread, ignoring
+     * the CPU budget. This is useful to get the fresh samples on demand.
+     *
+     * @return root names to their new samples
+     */
+    public Map<String, FootprintSample> sampleNow() {
+        for (Entry e : new ArrayList<>(entries.values())) {
+            Object root = e.root.get();
+            if (root == null) {
+                forget(e);
+                continue;
+            }
+
+            GraphFootprint fp = new GraphFootprint(root);
+            IncrementalGraphStatsWalker w = newWalker(fp).start(root);
+            long start = System.nanoTime();
+            try {
+                w.step(Long.MAX_VALUE, Long.MAX_VALUE);
+            } catch (RuntimeException ex) {
+                e.lastError = String.valueOf(ex);
+                continue;
+            }
+            long time = System.nanoTime() - start;
+            publish(e, w, fp, time, time);
+        }
+        return samples();
+    }
+
+    private IncrementalGraphStatsWalker newWalker(GraphFootprint fp) {
+        return new IncrementalGraphStatsWalker(fp)
+                .setBoundary(boundary)
+                .setFollowedReferents(followedReferents.toArray(new Reachability[0]));
+    }
+
+    private void tick() {
+        long delay;
+        try {
+            delay = doTick();
+        } catch (RuntimeException ex) {
+            // Should not happen, but do not let the monitor die.
+            if (current != null) {
+                current.lastError = String.valueOf(ex);
+            }
+            abandonWalk();
+            delay = periodNanos;
+        }
+
+        synchronized (this) {
+            if (executor != null) {
+                executor.schedule(this::tick, delay, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Does the next walk step.
+     *
+     * @return delay before the next step, in nanoseconds
+     */
+    private long doTick() {
+        long now = System.nanoTime();
+
+        if (current == null) {
+            if (pending.isEmpty()) {
+                long next = cycleStart + periodNanos;
+                if (cycleStart != 0 && next - now > 0) {
+                    return next - now;
+                }
+                cycleStart = now;
+                pending.addAll(entries.values());
+            }
+            if (!startWalk()) {
+                // Nothing to walk in this cycle.
+                return Math.max(1, cycleStart + periodNanos - System.nanoTime());
+            }
+        }
+
+        IncrementalGraphStatsWalker w = walker.get();
+        if (entries.get(current.name) != current) {
+            // Unregistered or replaced meanwhile, release the walked graph.
+            abandonWalk();
+            return 1;
+        }
+        if (w == null) {
+            current.lastError = "Walk was dropped under memory pressure";
+            abandonWalk();
+            return 1;
+        }
+
+        long start = System.nanoTime();
+        boolean done;
+        try {
+            done = w.step(Long.MAX_VALUE, stepNanos);
+        } catch (RuntimeException ex) {
+            current.lastError = String.valueOf(ex);
+            abandonWalk();
+            return 1;
+        }
+        long busy = System.nanoTime() - start;
+        walkNanos += busy;
+
+        if (done) {
+            publish(current, w, footprint, walkNanos, System.nanoTime() - walkStart);
+            abandonWalk();
+        }
+
+        return Math.max(1, (long) (busy * (1 - cpuBudget) / cpuBudget));
+    }
+
+    private boolean startWalk() {
+        Entry e;
+        while ((e = pending.poll()) != null) {
+            if (entries.get(e.name) != e) {
+                // Unregistered or replaced meanwhile.
+                continue;
+            }
+            Object root = e.root.get();
+            if (root == null) {
+                forget(e);
+                continue;
+            }
+            current = e;
+            footprint = new GraphFootprint(root);
+            walker = new SoftReference<>(newWalker(footprint).start(root));
+            walkStart = System.nanoTime();
+            walkNanos = 0;
+            return true;
+        }
+        return false;
+    }
+
+    private void abandonWalk() {
+        current = null;
+        walker = null;
+        footprint = null;
+    }
+
+    private synchronized void forget(Entry e) {
+        if (entries.remove(e.name, e)) {
+            e.unexport();
+        }
+    }
+
+    private void publish(Entry e, IncrementalGraphStatsWalker w, GraphFootprint fp, long walkNanos, long elapsedNanos) {
+        int top = topClasses;
+
+        List<Class<?>> classes = new ArrayList<>(fp.getClasses());
+        classes.sort((c1, c2) -> Long.compare(fp.getClassSizes().count(c2), fp.getClassSizes().count(c1)));
+
+        Map<String, Long> topSizes = new LinkedHashMap<>();
+        for (Class<?> cl : classes.subList(0, Math.min(top, classes.size()))) {
+            topSizes.put(ClassUtils.humanReadableName(cl), fp.getClassSizes().count(cl));
+        }
+
+        GraphStats stats = w.stats();
+        synchronized (e) {
+            e.sample = new FootprintSample(e.name, stats.totalCount(), stats.totalSize(),
+                    walkNanos, elapsedNanos, w.steps(), System.currentTimeMillis(), topSizes);
+            e.sampleCount++;
+            e.lastError = null;
+        }
+    }
+
+    private static class Entry implements FootprintMXBean {
+        final String name;
+        final WeakReference<Object> root;
+        volatile FootprintSample sample;
+        volatile long sampleCount;
+        volatile String lastError;
+        ObjectName exported;
+
+        Entry(String name, Object root) {
+            this.name = name;
+            this.root = new WeakReference<>(root);
+        }
+
+        void export() {
+            if (exported != null) {
+                return;
+            }
+            try {
+                ObjectName on = new ObjectName(JMX_DOMAIN + ":type=Footprint,name=" + ObjectName.quote(name));
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                server.registerMBean(new StandardMBean(this, FootprintMXBean.class, true), on);
+                exported = on;
+            } catch (JMException ex) {
+                throw new IllegalStateException("Cannot export " + name, ex);
+            }
+        }
+
+        void unexport() {
+            if (exported == null) {
+                return;
+            }
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(exported);
+            } catch (JMException ex) {
+                // Somebody else unregistered it, fine.
+            }
+            exported = null;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getTotalCount() {
+            FootprintSample s = sample;
+            return (s == null) ? 0 : s.totalCount();
+        }
+
+        @Override
+        public long getTotalSize() {
+            FootprintSample s = sample;
+            return (s == null) ? 0 : s.totalSize();
+        }
+
+        @Override
+        public long getWalkTimeMillis() {
+            FootprintSample s = sample;
+            return (s == null) ? 0 : TimeUnit.NANOSECONDS.toMillis(s.walkNanos());
+        }
+
+        @Override
+        public long getElapsedTimeMillis() {
+            FootprintSample s = sample;
+            return (s == null) ? 0 : TimeUnit.NANOSECONDS.toMillis(s.elapsedNanos());
+        }
+
+        @Override
+        public long getLastUpdated() {
+            FootprintSample s = sample;
+            return (s == null) ? 0 : s.timestamp();
+        }
+
+        @Override
+        public long getSampleCount() {
+            return sampleCount;
+        }
+
+        @Override
+        public Map<String, Long> getTopClassSizes() {
+            FootprintSample s = sample;
+            return (s == null) ? Collections.emptyMap() : s.topClassSizes();
+        }
+
+        @Override
+        public String getLastError() {
+            return lastError;
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The result of one {@link FootprintMonitor} walk over the named root.
+ * Samples are immutable.
+ */
+public final class FootprintSample {
+
+    private final String name;
+    private final long totalCount;
+    private final long totalSize;
+    private final long walkNanos;
+    private final long elapsedNanos;
+    private final long steps;
+    private final long timestamp;
+    private final Map<String, Long> topClassSizes;
+
+    FootprintSample(String name, long totalCount, long totalSize, long walkNanos, long elapsedNanos,
+                    long steps, long timestamp, Map<String, Long> topClassSizes) {
+        this.name = name;
+        this.totalCount = totalCount;
+        this.totalSize = totalSize;
+        this.walkNanos = walkNanos;
+        this.elapsedNanos = elapsedNanos;
+        this.steps = steps;
+        this.timestamp = timestamp;
+        this.topClassSizes = Collections.unmodifiableMap(topClassSizes);
+    }
+
+    /**
+     * Answer the name the root was registered with
+     *
+     * @return root name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Answer the total instance count
+     *
+     * @return total instance count
+     */
+    public long totalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Answer the total instance footprint
+     *
+     * @return total instance footprint, bytes
+     */
+    public long totalSize() {
+        return totalSize;
+    }
+
+    /**
+     * Answer the time spent walking, not counting the pauses between the steps.
+     *
+     * @return walk time, nanoseconds
+     */
+    public long walkNanos() {
+        return walkNanos;
+    }
+
+    /**
+     * Answer the time from the start to the end of the walk, including the pauses
+     * between the steps.
+     *
+     * @return elapsed time, nanoseconds
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Answer the number of steps the walk took.
+     *
+     * @return number of steps
+     */
+    public long steps() {
+        return steps;
+    }
+
+    /**
+     * Answer the time the walk completed at.
+     *
+     * @return completion time, milliseconds since epoch
+     */
+    public long timestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Answer the classes with the largest footprint, largest first.
+     *
+     * @return class names to their footprint, bytes
+     */
+    public Map<String, Long> topClassSizes() {
+        return topClassSizes;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + totalCount + " objects, " + totalSize + " bytes, walked in " +
+                (walkNanos / 1_000_000) + " ms";
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.ASCIITable;
+import org.openjdk.jol.util.ClassUtils;
+import org.openjdk.jol.util.Multiset;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Collection;
+
+/**
+ * Renders the footprint tables, and helps the other reports to stream their output.
+ */
+final class FootprintTable {
+
+    private FootprintTable() {
+        // prevent instantiation
+    }
+
+    static void print(PrintWriter pw, String description, Collection<Class<?>> classes,
+                      Multiset<Class<?>> classCounts, Multiset<Class<?>> classSizes) {
+        ASCIITable table = new ASCIITable(
+                true,
+                description + " footprint:",
+                "COUNT", "AVG", "SUM", "DESCRIPTION");
+        for (Class<?> key : classes) {
+            long count = classCounts.count(key);
+            long size = classSizes.count(key);
+            table.addLine(ClassUtils.humanReadableName(key), count, size / count, size);
+        }
+        table.print(pw, 2);
+        pw.println();
+    }
+
+    /**
+     * Flushes the streamed output, and reports the errors {@link PrintWriter} has swallowed.
+     */
+    static void finish(PrintWriter pw) throws IOException {
+        if (pw.checkError()) {
+            throw new IOException("Error writing the output");
+        }
+    }
+
+    /**
+     * Wraps the stream for the streamed output.
+     */
+    static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()));
+    }
+
+    static void printReachability(PrintWriter pw, String description, long[] counts, long[] sizes) {
+        ASCIITable table = new ASCIITable(
+                true,
+                Integer.MAX_VALUE,
+                description + " footprint by reachability:",
+                "COUNT", "SUM", "REACHABILITY");
+        for (Reachability r : Reachability.values()) {
+            if (counts[r.ordinal()] > 0) {
+                table.addLine(r.name(), counts[r.ordinal()], sizes[r.ordinal()]);
+            }
+        }
+        table.print(pw, -1);
+        pw.println();
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.ArrayUtils;
+
+/**
+ * Objects of the {@link GraphLayout}, sorted by their addresses.
+ * <p>
+ * The index keeps the addresses in the primitive array, and answers the object
+ * properties by position, so that walking the whole layout in address order does
+ * not box the addresses, and does not construct the path records unless asked.
+ * The addresses are captured once, when the layout first needs them: if objects
+ * move after that, the index does not follow.
+ */
+public final class GraphAddressIndex {
+
+    private final GraphRecords records;
+    private final long[] addresses;
+    private final int[] recordIdx;
+
+    GraphAddressIndex(GraphRecords records, long[] addresses, int[] recordIdx) {
+        this.records = records;
+        this.addresses = addresses;
+        this.recordIdx = recordIdx;
+    }
+
+    /**
+     * Answer the number of objects in the index.
+     *
+     * @return number of objects
+     */
+    public int count() {
+        return addresses.length;
+    }
+
+    /**
+     * Answer the object address at the position.
+     *
+     * @param pos position, in [0; count)
+     * @return address
+     */
+    public long address(int pos) {
+        return addresses[pos];
+    }
+
+    /**
+     * Answer the object at the position.
+     *
+     * @param pos position, in [0; count)
+     * @return object
+     */
+    public Object obj(int pos) {
+        return records.obj(recordIdx[pos]);
+    }
+
+    /**
+     * Answer the object class at the position.
+     *
+     * @param pos position, in [0; count)
+     * @return object class
+     */
+    public Class<?> klass(int pos) {
+        return obj(pos).getClass();
+    }
+
+    /**
+     * Answer the object size at the position.
+     *
+     * @param pos position, in [0; count)
+     * @return object size, bytes
+     */
+    public long size(int pos) {
+        return records.size(recordIdx[pos]);
+    }
+
+    /**
+     * Answer the object depth at the position.
+     *
+     * @param pos position, in [0; count)
+     * @return object depth, roots are at depth 0
+     */
+    public int depth(int pos) {
+        return records.depth(recordIdx[pos]);
+    }
+
+    /**
+     * Answer the path record at the position.
+     *
+     * @param pos position, in [0; count)
+     * @return path record
+     */
+    public GraphPathRecord record(int pos) {
+        return records.record(recordIdx[pos]);
+    }
+
+    /**
+     * Answer the positions in the order the walker has discovered the objects.
+     *
+     * @return positions, in walk order
+     */
+    int[] walkOrder() {
+        int[] order = new int[recordIdx.length];
+        for (int pos = 0; pos < recordIdx.length; pos++) {
+            order[recordIdx[pos]] = pos;
+        }
+        return order;
+    }
+
+    /**
+     * Answer the position of the object at the given address.
+     *
+     * @param address address
+     * @return position, or -1 if there is no object at this address
+     */
+    public int indexOf(long address) {
+        int pos = ArrayUtils.binarySearch(addresses, 0, addresses.length, address);
+        return (pos >= 0) ? pos : -1;
+    }
+
+    /**
+     * Answer the position of the first object at or above the address.
+     * Together with {@link #upperBound(long)}, this selects the address ranges:
+     * the objects that start in {@code [from; to)} are at positions
+     * {@code [lowerBound(from); lowerBound(to))}.
+     *
+     * @param address address
+     * @return position, or {@link #count()} if all objects are below the address
+     */
+    public int lowerBound(long address) {
+        return ArrayUtils.lowerBound(addresses, 0, addresses.length, address);
+    }
+
+    /**
+     * Answer the position of the first object above the address.
+     *
+     * @param address address
+     * @return position, or {@link #count()} if all objects are at or below the address
+     */
+    public int upperBound(long address) {
+        if (address == Long.MAX_VALUE) {
+            return addresses.length;
+        }
+        return ArrayUtils.lowerBound(addresses, 0, addresses.length, address + 1);
+    }
+
+    /**
+     * Answer the footprint of the objects that start in the address range.
+     *
+     * @param from range start, inclusive
+     * @param to range end, exclusive
+     * @return total size, bytes
+     */
+    public long sizeInRange(long from, long to) {
+        long size = 0;
+        for (int pos = lowerBound(from), end = lowerBound(to); pos < end; pos++) {
+            size += size(pos);
+        }
+        return size;
+    }
+
+}
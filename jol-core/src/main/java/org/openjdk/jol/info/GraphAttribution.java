@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.ASCIITable;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Attribution of the object graph footprint to the roots.
+ *
+ * For every root, the footprint is split into the exclusive part, that is only
+ * reachable from this root, and the shared part, that is also reachable from
+ * other roots. Shrinking the root with the largest exclusive footprint would
+ * free the most memory.
+ */
+public class GraphAttribution {
+
+    /**
+     * Attribute the object graph footprint to the given roots.
+     * At most 64 roots are supported.
+     *
+     * @param roots root instances to start from
+     * @return footprint attribution
+     */
+    public static GraphAttribution parseInstance(Object... roots) {
+        return new GraphAttributionWalker().walk(roots);
+    }
+
+    private final String[] labels;
+    private final long[] masks;
+    private final long[] sizes;
+
+    private final long[] exclusiveCounts;
+    private final long[] exclusiveSizes;
+    private final long[] sharedCounts;
+    private final long[] sharedSizes;
+    private long totalSize;
+    private long totalSharedCount;
+    private long totalSharedSize;
+
+    GraphAttribution(String[] labels, long[] masks, long[] sizes) {
+        this.labels = labels;
+        this.masks = masks;
+        this.sizes = sizes;
+
+        int roots = labels.length;
+        exclusiveCounts = new long[roots];
+        exclusiveSizes = new long[roots];
+        sharedCounts = new long[roots];
+        sharedSizes = new long[roots];
+
+        for (int i = 0; i < masks.length; i++) {
+            long mask = masks[i];
+            long size = sizes[i];
+            totalSize += size;
+            if (Long.bitCount(mask) == 1) {
+                int r = Long.numberOfTrailingZeros(mask);
+                exclusiveCounts[r]++;
+                exclusiveSizes[r] += size;
+            } else {
+                totalSharedCount++;
+                totalSharedSize += size;
+                for (long m = mask; m != 0; m &= m - 1) {
+                    int r = Long.numberOfTrailingZeros(m);
+                    sharedCounts[r]++;
+                    sharedSizes[r] += size;
+                }
+            }
+        }
+    }
+
+    private void checkRoot(int root) {
+        if (root < 0 || root >= labels.length) {
+            throw new IllegalArgumentException("Root index out of bounds: " + root);
+        }
+    }
+
+    /**
+     * Answer the number of roots
+     *
+     * @return number of roots
+     */
+    public int roots() {
+        return labels.length;
+    }
+
+    /**
+     * Answer the instance count only reachable from the given root
+     *
+     * @param root root index, in the order roots were given
+     * @return exclusive instance count
+     */
+    public long exclusiveCount(int root) {
+        checkRoot(root);
+        return exclusiveCounts[root];
+    }
+
+    /**
+     * Answer the instance footprint only reachable from the given root
+     *
+     * @param root root index, in the order roots were given
+     * @return exclusive instance footprint, bytes
+     */
+    public long exclusiveSize(int root) {
+        checkRoot(root);
+        return exclusiveSizes[root];
+    }
+
+    /**
+     * Answer the instance count reachable from the given root, and from some other roots
+     *
+     * @param root root index, in the order roots were given
+     * @return shared instance count
+     */
+    public long sharedCount(int root) {
+        checkRoot(root);
+        return sharedCounts[root];
+    }
+
+    /**
+     * Answer the instance footprint reachable from the given root, and from some other roots
+     *
+     * @param root root index, in the order roots were given
+     * @return shared instance footprint, bytes
+     */
+    public long sharedSize(int root) {
+        checkRoot(root);
+        return sharedSizes[root];
+    }
+
+    /**
+     * Answer the instance footprint reachable from both given roots
+     *
+     * @param root1 first root index
+     * @param root2 second root index
+     * @return shared instance footprint, bytes
+     */
+    public long sharedSize(int root1, int root2) {
+        checkRoot(root1);
+        checkRoot(root2);
+        long both = (1L << root1) | (1L << root2);
+        long size = 0;
+        for (int i = 0; i < masks.length; i++) {
+            if ((masks[i] & both) == both) {
+                size += sizes[i];
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Answer the instance footprint reachable from the given root
+     *
+     * @param root root index, in the order roots were given
+     * @return reachable instance footprint, bytes
+     */
+    public long reachableSize(int root) {
+        checkRoot(root);
+        return exclusiveSizes[root] + sharedSizes[root];
+    }
+
+    /**
+     * Answer the total instance count reachable from all roots
+     *
+     * @return total instance count
+     */
+    public long totalCount() {
+        return masks.length;
+    }
+
+    /**
+     * Answer the total instance footprint reachable from all roots
+     *
+     * @return total instance footprint, bytes
+     */
+    public long totalSize() {
+        return totalSize;
+    }
+
+    /**
+     * Answer the total instance footprint reachable from several roots
+     *
+     * @return total shared instance footprint, bytes
+     */
+    public long totalSharedSize() {
+        return totalSharedSize;
+    }
+
+    /**
+     * Get the stringly representation of per-root attribution table
+     *
+     * @return attribution table
+     */
+    public String toFootprint() {
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
+        ASCIITable table = new ASCIITable(
+                false,
+                "Footprint attribution to roots:",
+                "EXCL COUNT", "EXCL SUM", "SHARED COUNT", "SHARED SUM", "ROOT");
+        for (int r = 0; r < labels.length; r++) {
+            table.addLine(labels[r], exclusiveCounts[r], exclusiveSizes[r], sharedCounts[r], sharedSizes[r]);
+        }
+        table.print(pw, 1);
+        pw.printf("Total: %d objects, %d bytes; shared between roots: %d objects, %d bytes.%n",
+                totalCount(), totalSize, totalSharedCount, totalSharedSize);
+        pw.close();
+        return sw.toString();
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.ObjectUtils;
+import org.openjdk.jol.util.SimpleIdentityIntMap;
+import org.openjdk.jol.vm.VM;
+import org.openjdk.jol.vm.VirtualMachine;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+/**
+ * Walker that attributes the objects to the roots they are reachable from.
+ *
+ * Every object carries the bit mask of roots it is reachable from. The walk
+ * propagates the masks from referrers to referents, and revisits the object
+ * only when its mask gains new bits. Every object is visited at most once per root
+ * that reaches it, and the objects reachable from a single root are visited once.
+ */
+final class GraphAttributionWalker extends AbstractGraphWalker {
+
+    static final int MAX_ROOTS = 64;
+
+    GraphAttribution walk(Object... roots) {
+        verifyRoots(roots);
+        if (roots.length > MAX_ROOTS) {
+            throw new IllegalArgumentException("Too many roots: " + roots.length + ", at most " + MAX_ROOTS + " are supported");
+        }
+
+        State st = new State();
+
+        for (int r = 0; r < roots.length; r++) {
+            st.propagate(roots[r], 1L << r);
+        }
+
+        while (st.sp > 0) {
+            int cIdx = st.stack[--st.sp];
+            Object o = st.objs[cIdx];
+            long mask = st.masks[cIdx];
+            Class<?> cl = o.getClass();
+
+            if (cl.isArray()) {
+                if (cl.getComponentType().isPrimitive()) {
+                    continue;
+                }
+                for (Object e : (Object[]) o) {
+                    if (e != null) {
+                        st.propagate(e, mask);
+                    }
+                }
+            } else {
+                for (Field f : getAllReferenceFields(cl)) {
+                    Object e = ObjectUtils.value(o, f);
+                    if (e != null) {
+                        st.propagate(e, mask);
+                    }
+                }
+            }
+        }
+
+        String[] labels = new String[roots.length];
+        for (int r = 0; r < roots.length; r++) {
+            labels[r] = "<r" + (r + 1) + "> " + GraphLayout.describe(new Object[] { roots[r] }, visitedTracking);
+        }
+
+        return new GraphAttribution(labels, Arrays.copyOf(st.masks, st.count), Arrays.copyOf(st.sizes, st.count));
+    }
+
+    private static final class State {
+        private final VirtualMachine vm = VM.current();
+        private final SimpleIdentityIntMap index = new SimpleIdentityIntMap();
+
+        private Object[] objs = new Object[16];
+        private long[] masks = new long[16];
+        private long[] sizes = new long[16];
+        private int count;
+
+        private int[] stack = new int[16];
+        private int sp;
+
+        /**
+         * Adds the root bits to the object mask, and schedules the object for
+         * another visit if mask has changed.
+         */
+        void propagate(Object o, long mask) {
+            int idx = index.get(o, -1);
+            if (idx < 0) {
+                if (count == objs.length) {
+                    objs = Arrays.copyOf(objs, count * 2);
+                    masks = Arrays.copyOf(masks, count * 2);
+                    sizes = Arrays.copyOf(sizes, count * 2);
+                }
+                idx = count++;
+                index.put(o, idx);
+                objs[idx] = o;
+                sizes[idx] = vm.sizeOf(o);
+            }
+
+            long old = masks[idx];
+            if ((old | mask) != old) {
+                masks[idx] = old | mask;
+                if (sp == stack.length) {
+                    stack = Arrays.copyOf(stack, sp * 2);
+                }
+                stack[sp++] = idx;
+            }
+        }
+    }
+
+}
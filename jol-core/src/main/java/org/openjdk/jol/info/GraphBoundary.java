@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Boundary for the graph walks. The walks do not enter the objects of stopped
+ * classes, and do not follow the stopped fields. Stopped objects are not accounted.
+ * Explicitly given roots are always walked.
+ *
+ * The boundary is compiled once per class: the stopped fields are dropped from the
+ * reference field plan of the class, together with the fields that can only
+ * reference the stopped objects, so that the walks do not pay for them. Walkers
+ * check the remaining referenced objects against the per-class stop flag.
+ */
+public final class GraphBoundary {
+
+    private final List<Class<?>> stopClasses = new ArrayList<>();
+    private final List<Class<?>> stopSuperclasses = new ArrayList<>();
+    private final List<String> stopPackages = new ArrayList<>();
+    private final List<Predicate<Class<?>>> stopClassFilters = new ArrayList<>();
+    private final List<Predicate<Field>> stopFieldFilters = new ArrayList<>();
+
+    private volatile Plans plans;
+
+    /**
+     * Stops at the objects of given class. Subclasses are not stopped.
+     *
+     * @param cl class
+     * @return this boundary
+     */
+    public GraphBoundary stopClass(Class<?> cl) {
+        if (cl == null) {
+            throw new IllegalArgumentException("Class is null");
+        }
+        stopClasses.add(cl);
+        return invalidate();
+    }
+
+    /**
+     * Stops at the objects of given class, its subclasses, or implementations.
+     *
+     * @param cl superclass or interface
+     * @return this boundary
+     */
+    public GraphBoundary stopSubclasses(Class<?> cl) {
+        if (cl == null) {
+            throw new IllegalArgumentException("Class is null");
+        }
+        stopSuperclasses.add(cl);
+        return invalidate();
+    }
+
+    /**
+     * Stops at the objects of classes in the given package, or its subpackages.
+     *
+     * @param pkg package name, e.g. "org.example"
+     * @return this boundary
+     */
+    public GraphBoundary stopPackage(String pkg) {
+        if (pkg == null || pkg.isEmpty()) {
+            throw new IllegalArgumentException("Package is empty");
+        }
+        stopPackages.add(pkg);
+        return invalidate();
+    }
+
+    /**
+     * Stops at the objects of classes matching the predicate.
+     *
+     * @param filter class predicate
+     * @return this boundary
+     */
+    public GraphBoundary stopClasses(Predicate<Class<?>> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter is null");
+        }
+        stopClassFilters.add(filter);
+        return invalidate();
+    }
+
+    /**
+     * Does not follow the given field.
+     *
+     * @param declaringClass class that declares the field
+     * @param name field name
+     * @return this boundary
+     */
+    public GraphBoundary stopField(Class<?> declaringClass, String name) {
+        try {
+            Field field = declaringClass.getDeclaredField(name);
+            return stopFields(f -> f.equals(field));
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException("No field " + name + " in " + declaringClass.getName(), e);
+        }
+    }
+
+    /**
+     * Does not follow the fields matching the predicate.
+     *
+     * @param filter field predicate
+     * @return this boundary
+     */
+    public GraphBoundary stopFields(Predicate<Field> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter is null");
+        }
+        stopFieldFilters.add(filter);
+        return invalidate();
+    }
+
+    /**
+     * Stops at the runtime infrastructure that application objects usually
+     * reference, but do not own: classes, class loaders, threads, and
+     * security contexts.
+     *
+     * @return this boundary
+     */
+    public GraphBoundary stopRuntime() {
+        stopClass(Class.class);
+        stopSubclasses(ClassLoader.class);
+        stopSubclasses(Thread.class);
+        stopSubclasses(ThreadGroup.class);
+        stopSubclasses(ProtectionDomain.class);
+        // Matched by name: the class is deprecated for removal.
+        stopClasses(c -> c.getName().equals("java.security.AccessControlContext"));
+        return this;
+    }
+
+    private GraphBoundary invalidate() {
+        plans = null;
+        return this;
+    }
+
+    private Plans plans() {
+        Plans p = plans;
+        if (p == null) {
+            synchronized (this) {
+                p = plans;
+                if (p == null) {
+                    p = new Plans(this);
+                    plans = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    boolean isStopped(Class<?> cl) {
+        return plans().stops.get(cl);
+    }
+
+    Field[] referenceFields(Class<?> cl) {
+        return plans().fields.get(cl);
+    }
+
+    long[] referenceOffsets(Class<?> cl) {
+        return plans().offsets.get(cl);
+    }
+
+    private boolean computeStopped(Class<?> cl) {
+        if (stopClasses.contains(cl)) {
+            return true;
+        }
+        for (Class<?> sc : stopSuperclasses) {
+            if (sc.isAssignableFrom(cl)) {
+                return true;
+            }
+        }
+        if (!stopPackages.isEmpty()) {
+            Class<?> pc = cl;
+            while (pc.isArray()) {
+                pc = pc.getComponentType();
+            }
+            String name = pc.getName();
+            for (String pkg : stopPackages) {
+                if (name.startsWith(pkg) && name.length() > pkg.length() && name.charAt(pkg.length()) == '.') {
+                    return true;
+                }
+            }
+        }
+        for (Predicate<Class<?>> f : stopClassFilters) {
+            if (f.test(cl)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Answers whether every object the field can reference is stopped.
+     */
+    private boolean alwaysStopped(Field f) {
+        Class<?> type = f.getType();
+        for (Class<?> sc : stopSuperclasses) {
+            if (sc.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        // Only the final classes and arrays of them have no subclasses.
+        Class<?> ct = type;
+        while (ct.isArray()) {
+            ct = ct.getComponentType();
+        }
+        boolean exact = ct.isPrimitive() || Modifier.isFinal(ct.getModifiers());
+        return exact && isStopped(type);
+    }
+
+    private Field[] computeFields(Class<?> cl) {
+        List<Field> res = new ArrayList<>();
+        for (Field f : AbstractGraphWalker.allReferenceFields(cl)) {
+            if (alwaysStopped(f)) {
+                continue;
+            }
+            boolean stop = false;
+            for (Predicate<Field> p : stopFieldFilters) {
+                if (p.test(f)) {
+                    stop = true;
+                    break;
+                }
+            }
+            if (!stop) {
+                res.add(f);
+            }
+        }
+        return res.toArray(new Field[0]);
+    }
+
+    private static final class Plans {
+        private final ClassValue<Boolean> stops;
+        private final ClassValue<Field[]> fields;
+        private final ClassValue<long[]> offsets;
+
+        Plans(GraphBoundary boundary) {
+            this.stops = new ClassValue<Boolean>() {
+                @Override
+                protected Boolean computeValue(Class<?> type) {
+                    return boundary.computeStopped(type);
+                }
+            };
+            this.fields = new ClassValue<Field[]>() {
+                @Override
+                protected Field[] computeValue(Class<?> type) {
+                    return boundary.computeFields(type);
+                }
+            };
+            this.offsets = new ClassValue<long[]>() {
+                @Override
+                protected long[] computeValue(Class<?> type) {
+                    return AbstractGraphWalker.fieldOffsets(fields.get(type));
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.ASCIITable;
+import org.openjdk.jol.util.ClassUtils;
+import org.openjdk.jol.util.Multiset;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Difference between two object graph snapshots.
+ *
+ * @see GraphSnapshot#diff(GraphSnapshot)
+ */
+public final class GraphDiff {
+
+    private final String description;
+    private final GraphSnapshot later;
+
+    private final Set<Class<?>> classes = new TreeSet<>(Comparator.comparing(Class::getName));
+    private final Multiset<Class<?>> addedCounts = new Multiset<>();
+    private final Multiset<Class<?>> addedSizes = new Multiset<>();
+    private final Multiset<Class<?>> removedCounts = new Multiset<>();
+    private final Multiset<Class<?>> removedSizes = new Multiset<>();
+
+    private int[] added = new int[16];
+    private int addedCount;
+    private long addedSize;
+    private long removedCount;
+    private long removedSize;
+
+    GraphDiff(String description, GraphSnapshot later) {
+        this.description = description + " -> " + later.description();
+        this.later = later;
+    }
+
+    void addAdded(int idx) {
+        if (addedCount == added.length) {
+            added = Arrays.copyOf(added, addedCount * 2);
+        }
+        added[addedCount++] = idx;
+
+        Class<?> klass = later.klass(idx);
+        long size = later.size(idx);
+        classes.add(klass);
+        addedCounts.add(klass);
+        addedSizes.add(klass, size);
+        addedSize += size;
+    }
+
+    void addRemoved(Class<?> klass, long size) {
+        classes.add(klass);
+        removedCounts.add(klass);
+        removedSizes.add(klass, size);
+        removedCount++;
+        removedSize += size;
+    }
+
+    /**
+     * Answer the number of added objects
+     *
+     * @return added objects count
+     */
+    public long addedCount() {
+        return addedCount;
+    }
+
+    /**
+     * Answer the footprint of added objects
+     *
+     * @return added objects footprint, bytes
+     */
+    public long addedSize() {
+        return addedSize;
+    }
+
+    /**
+     * Answer the number of removed objects
+     *
+     * @return removed objects count
+     */
+    public long removedCount() {
+        return removedCount;
+    }
+
+    /**
+     * Answer the footprint of removed objects
+     *
+     * @return removed objects footprint, bytes
+     */
+    public long removedSize() {
+        return removedSize;
+    }
+
+    /**
+     * Answer the set of classes with added or removed objects
+     *
+     * @return classes set
+     */
+    public Set<Class<?>> getClasses() {
+        return classes;
+    }
+
+    /**
+     * Answer the added objects counts
+     *
+     * @return class counts multiset
+     */
+    public Multiset<Class<?>> getAddedClassCounts() {
+        return addedCounts;
+    }
+
+    /**
+     * Answer the added objects sizes
+     *
+     * @return class sizes multiset
+     */
+    public Multiset<Class<?>> getAddedClassSizes() {
+        return addedSizes;
+    }
+
+    /**
+     * Answer the removed objects counts
+     *
+     * @return class counts multiset
+     */
+    public Multiset<Class<?>> getRemovedClassCounts() {
+        return removedCounts;
+    }
+
+    /**
+     * Answer the removed objects sizes
+     *
+     * @return class sizes multiset
+     */
+    public Multiset<Class<?>> getRemovedClassSizes() {
+        return removedSizes;
+    }
+
+    /**
+     * Answer the added objects that are still alive.
+     *
+     * @return added objects
+     */
+    public List<Object> addedObjects() {
+        List<Object> res = new ArrayList<>();
+        for (int i = 0; i < addedCount; i++) {
+            Object o = later.obj(added[i]);
+            if (o != null) {
+                res.add(o);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Get the stringly representation of per-class differences
+     *
+     * @return difference table
+     */
+    public String toFootprint() {
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
+        ASCIITable table = new ASCIITable(
+                true,
+                description + " difference:",
+                "ADDED", "REMOVED", "ADDED SUM", "REMOVED SUM", "DELTA SUM", "DESCRIPTION");
+        for (Class<?> key : classes) {
+            long as = addedSizes.count(key);
+            long rs = removedSizes.count(key);
+            table.addLine(ClassUtils.humanReadableName(key),
+                    addedCounts.count(key), removedCounts.count(key), as, rs, as - rs);
+        }
+        table.print(pw, 4);
+        pw.close();
+        return sw.toString();
+    }
+
+}
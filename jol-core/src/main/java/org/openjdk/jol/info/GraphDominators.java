@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.ClassUtils;
+import org.openjdk.jol.util.SimpleIdentityIntMap;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Dominator tree and retained sizes for the object graph.
+ *
+ * Object A dominates object B if every path from roots to B goes through A.
+ * Retained size of A is the total size of objects A dominates, including A itself:
+ * this is how much memory would be freed if A became unreachable from the roots.
+ * Only the walked subgraph is considered: references from outside the graph
+ * can keep the objects alive regardless.
+ */
+public class GraphDominators {
+
+    /**
+     * Compute the dominators for the object graph starting from the given instances.
+     *
+     * @param roots root instances to start from
+     * @return dominators
+     */
+    public static GraphDominators parseInstance(Object... roots) {
+        return new GraphDominatorsWalker().walk(roots);
+    }
+
+    private final String description;
+    private final CompactGraphRecords records;
+    private final SimpleIdentityIntMap index;
+    private final int[] idoms;
+    private final long[] retainedSizes;
+    private final long[] retainedCounts;
+
+    GraphDominators(String description, CompactGraphRecords records, SimpleIdentityIntMap index,
+                    int[] roots, int[] firstEdge, int[] edgeCount, int[] edges) {
+        this.description = description;
+        this.records = records;
+        this.index = index;
+
+        // Virtual node that references all roots gets the last index.
+        int count = records.count();
+        int n = count + 1;
+        int vRoot = count;
+
+        int[] vFirst = Arrays.copyOf(firstEdge, n);
+        int[] vCount = Arrays.copyOf(edgeCount, n);
+        int[] vEdges = Arrays.copyOf(edges, edges.length + roots.length);
+        vFirst[vRoot] = edges.length;
+        vCount[vRoot] = roots.length;
+        System.arraycopy(roots, 0, vEdges, edges.length, roots.length);
+
+        int[] order = postOrder(n, vRoot, vFirst, vCount, vEdges);
+        int[] post = new int[n];
+        for (int k = 0; k < n; k++) {
+            post[order[k]] = k;
+        }
+
+        // Predecessors in compressed sparse rows.
+        int[] predStart = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            for (int e = vFirst[v]; e < vFirst[v] + vCount[v]; e++) {
+                predStart[vEdges[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            predStart[v + 1] += predStart[v];
+        }
+        int[] preds = new int[predStart[n]];
+        int[] fill = Arrays.copyOf(predStart, n);
+        for (int v = 0; v < n; v++) {
+            for (int e = vFirst[v]; e < vFirst[v] + vCount[v]; e++) {
+                preds[fill[vEdges[e]]++] = v;
+            }
+        }
+
+        // Cooper, Harvey, Kennedy: "A Simple, Fast Dominance Algorithm".
+        int[] idom = new int[n];
+        Arrays.fill(idom, -1);
+        idom[vRoot] = vRoot;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int k = n - 2; k >= 0; k--) {
+                int b = order[k];
+                int newIdom = -1;
+                for (int p = predStart[b]; p < predStart[b + 1]; p++) {
+                    int pred = preds[p];
+                    if (idom[pred] != -1) {
+                        newIdom = (newIdom == -1) ? pred : intersect(pred, newIdom, idom, post);
+                    }
+                }
+                if (idom[b] != newIdom) {
+                    idom[b] = newIdom;
+                    changed = true;
+                }
+            }
+        }
+
+        // Dominated objects finish before their dominators in post order.
+        long[] sizes = new long[n];
+        long[] counts = new long[n];
+        for (int v = 0; v < count; v++) {
+            sizes[v] = records.size(v);
+            counts[v] = 1;
+        }
+        for (int k = 0; k < n - 1; k++) {
+            int v = order[k];
+            sizes[idom[v]] += sizes[v];
+            counts[idom[v]] += counts[v];
+        }
+
+        this.idoms = idom;
+        this.retainedSizes = sizes;
+        this.retainedCounts = counts;
+    }
+
+    private static int[] postOrder(int n, int start, int[] first, int[] count, int[] edges) {
+        int[] order = new int[n];
+        int k = 0;
+
+        boolean[] seen = new boolean[n];
+        int[] stack = new int[n];
+        int[] cursor = new int[n];
+        int sp = 0;
+
+        stack[sp++] = start;
+        seen[start] = true;
+        while (sp > 0) {
+            int v = stack[sp - 1];
+            if (cursor[v] < count[v]) {
+                int w = edges[first[v] + cursor[v]++];
+                if (!seen[w]) {
+                    seen[w] = true;
+                    stack[sp++] = w;
+                }
+            } else {
+                sp--;
+                order[k++] = v;
+            }
+        }
+        return order;
+    }
+
+    private static int intersect(int b1, int b2, int[] idom, int[] post) {
+        while (b1 != b2) {
+            while (post[b1] < post[b2]) {
+                b1 = idom[b1];
+            }
+            while (post[b2] < post[b1]) {
+                b2 = idom[b2];
+            }
+        }
+        return b1;
+    }
+
+    private int indexOf(Object o) {
+        int idx = index.get(o, -1);
+        if (idx < 0) {
+            throw new IllegalArgumentException("Object is not in the graph");
+        }
+        return idx;
+    }
+
+    /**
+     * Answer the total instance count
+     *
+     * @return total instance count
+     */
+    public long totalCount() {
+        return records.count();
+    }
+
+    /**
+     * Answer the total instance footprint
+     *
+     * @return total instance footprint, bytes
+     */
+    public long totalSize() {
+        return retainedSizes[records.count()];
+    }
+
+    /**
+     * Answer the retained size of the object
+     *
+     * @param o object in the graph
+     * @return retained size, bytes
+     */
+    public long retainedSize(Object o) {
+        return retainedSizes[indexOf(o)];
+    }
+
+    /**
+     * Answer the number of objects the object retains, including itself
+     *
+     * @param o object in the graph
+     * @return retained instance count
+     */
+    public long retainedCount(Object o) {
+        return retainedCounts[indexOf(o)];
+    }
+
+    /**
+     * Answer the immediate dominator of the object
+     *
+     * @param o object in the graph
+     * @return immediate dominator, or null if object is only dominated by roots collectively
+     */
+    public Object dominator(Object o) {
+        int idom = idoms[indexOf(o)];
+        return (idom == records.count()) ? null : records.obj(idom);
+    }
+
+    private int[] top(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Count should be non-negative: " + n);
+        }
+        PriorityQueue<Integer> pq = new PriorityQueue<>((a, b) -> Long.compare(retainedSizes[a], retainedSizes[b]));
+        for (int v = 0; v < records.count(); v++) {
+            if (pq.size() < n) {
+                pq.add(v);
+            } else if (n > 0 && retainedSizes[pq.peek()] < retainedSizes[v]) {
+                pq.poll();
+                pq.add(v);
+            }
+        }
+        int[] res = new int[pq.size()];
+        for (int i = res.length - 1; i >= 0; i--) {
+            res[i] = pq.poll();
+        }
+        return res;
+    }
+
+    /**
+     * Answer the objects with the largest retained sizes, largest first
+     *
+     * @param n number of objects
+     * @return top retainers
+     */
+    public List<Object> topRetainers(int n) {
+        List<Object> res = new ArrayList<>();
+        for (int v : top(n)) {
+            res.add(records.obj(v));
+        }
+        return res;
+    }
+
+    /**
+     * Get the stringly representation of top retainers
+     *
+     * @param n number of objects
+     * @return top retainers table
+     */
+    public String toRetainers(int n) {
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
+
+        int[] top = top(n);
+
+        int typeLen = "TYPE".length();
+        for (int v : top) {
+            typeLen = Math.max(typeLen, ClassUtils.humanReadableName(records.obj(v).getClass()).length());
+        }
+
+        pw.println(description + " top retainers:");
+        pw.printf(" %15s %10s %10s %-" + typeLen + "s %s%n", "RETAINED", "COUNT", "SHALLOW", "TYPE", "PATH");
+        for (int v : top) {
+            pw.printf(" %,15d %10d %10d %-" + typeLen + "s %s%n",
+                    retainedSizes[v], retainedCounts[v], records.size(v),
+                    ClassUtils.humanReadableName(records.obj(v).getClass()), records.path(v));
+        }
+        pw.println();
+        pw.printf("Total: %d objects, %d bytes.%n", totalCount(), totalSize());
+        pw.close();
+        return sw.toString();
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.ObjectUtils;
+import org.openjdk.jol.util.SimpleIdentityIntMap;
+import org.openjdk.jol.vm.VM;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Walker that records all references between the discovered objects,
+ * for dominator computations.
+ */
+final class GraphDominatorsWalker extends AbstractGraphWalker {
+
+    GraphDominators walk(Object... roots) {
+        verifyRoots(roots);
+
+        CompactGraphRecords records = new CompactGraphRecords(roots.length == 1);
+        SimpleIdentityIntMap index = new SimpleIdentityIntMap();
+        Map<Class<?>, Long> sizeCache = new HashMap<>();
+
+        // Outgoing edges for every record, stored contiguously when the record is visited.
+        int[] firstEdge = new int[16];
+        int[] edgeCount = new int[16];
+        int[] edges = new int[16];
+        int edgesLen = 0;
+
+        int[] rootIdx = new int[roots.length];
+        int[] s = new int[16];
+        int sp = 0;
+
+        int rootId = 1;
+        for (int r = 0; r < roots.length; r++) {
+            Object root = roots[r];
+            int idx = index.get(root, -1);
+            if (idx < 0) {
+                idx = records.add(root, -1, rootId, 0);
+                index.put(root, idx);
+                if (sp == s.length) {
+                    s = Arrays.copyOf(s, sp * 2);
+                }
+                s[sp++] = idx;
+            }
+            rootIdx[r] = idx;
+            rootId++;
+        }
+
+        while (sp > 0) {
+            int cIdx = s[--sp];
+            Object o = records.obj(cIdx);
+            Class<?> cl = o.getClass();
+            int depth = records.depth(cIdx) + 1;
+
+            if (cIdx >= firstEdge.length) {
+                int newLen = Math.max(cIdx + 1, firstEdge.length * 2);
+                firstEdge = Arrays.copyOf(firstEdge, newLen);
+                edgeCount = Arrays.copyOf(edgeCount, newLen);
+            }
+            firstEdge[cIdx] = edgesLen;
+
+            if (cl.isArray()) {
+                if (cl.getComponentType().isPrimitive()) {
+                    continue;
+                }
+
+                Object[] arr = (Object[]) o;
+                for (int i = 0; i < arr.length; i++) {
+                    Object e = arr[i];
+                    if (e == null) {
+                        continue;
+                    }
+                    int idx = index.get(e, -1);
+                    if (idx < 0) {
+                        idx = records.add(e, cIdx, i, depth);
+                        index.put(e, idx);
+                        if (sp == s.length) {
+                            s = Arrays.copyOf(s, sp * 2);
+                        }
+                        s[sp++] = idx;
+                    }
+                    if (edgesLen == edges.length) {
+                        edges = Arrays.copyOf(edges, edgesLen * 2);
+                    }
+                    edges[edgesLen++] = idx;
+                }
+            } else {
+                Long size = sizeCache.get(cl);
+                if (size == null) {
+                    size = VM.current().sizeOf(o);
+                    sizeCache.put(cl, size);
+                }
+                records.setSize(cIdx, size);
+
+                Field[] fields = getAllReferenceFields(cl);
+                records.addFields(cl, fields);
+                for (int f = 0; f < fields.length; f++) {
+                    Object e = ObjectUtils.value(o, fields[f]);
+                    if (e == null) {
+                        continue;
+                    }
+                    int idx = index.get(e, -1);
+                    if (idx < 0) {
+                        idx = records.add(e, cIdx, f, depth);
+                        index.put(e, idx);
+                        if (sp == s.length) {
+                            s = Arrays.copyOf(s, sp * 2);
+                        }
+                        s[sp++] = idx;
+                    }
+                    if (edgesLen == edges.length) {
+                        edges = Arrays.copyOf(edges, edgesLen * 2);
+                    }
+                    edges[edgesLen++] = idx;
+                }
+            }
+            edgeCount[cIdx] = edgesLen - firstEdge[cIdx];
+        }
+
+        records.trim();
+        int count = records.count();
+        return new GraphDominators(GraphLayout.describe(roots, visitedTracking), records, index, rootIdx,
+                Arrays.copyOf(firstEdge, count), Arrays.copyOf(edgeCount, count), Arrays.copyOf(edges, edgesLen));
+    }
+
+}
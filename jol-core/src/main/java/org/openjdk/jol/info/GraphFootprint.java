@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.Multiset;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Streaming footprint of the object graph.
+ * <p>
+ * This is the {@link GraphStatsVisitor} that builds the class histogram and totals
+ * while the walker discovers the objects. Unlike {@link GraphLayout}, it does not
+ * retain the records for the visited objects, and so it does not keep them alive,
+ * and its own footprint only depends on the number of distinct classes.
+ * <p>
+ * The footprint can be passed to any {@link GraphStatsWalker}, including parallel
+ * walkers: every walker thread then accumulates into its own shard. The results
+ * should be queried after the walk completes. The queries in the middle of the walk
+ * answer the objects visited so far, and the next query picks up the later visits.
+ * <p>
+ * When the walker tracks {@link Reachability}, the footprint also splits the totals
+ * by it, and prints the split when some objects are not strongly reachable.
+ */
+public class GraphFootprint implements GraphStatsVisitor {
+
+    /**
+     * Parse the object graph starting from the given instance.
+     *
+     * @param roots root instances to start from
+     * @return object graph footprint
+     */
+    public static GraphFootprint parseInstance(Object... roots) {
+        GraphFootprint fp = new GraphFootprint(roots);
+        new GraphStatsWalker(fp).walk(roots);
+        return fp;
+    }
+
+    /**
+     * Parse the object graph starting from the given instance, walking it
+     * with several threads.
+     *
+     * @param parallelism number of threads to walk with
+     * @param roots root instances to start from
+     * @return object graph footprint
+     */
+    public static GraphFootprint parseInstanceParallel(int parallelism, Object... roots) {
+        GraphFootprint fp = new GraphFootprint(roots);
+        new GraphStatsWalker(fp).setParallelism(parallelism).walk(roots);
+        return fp;
+    }
+
+    private final String description;
+
+    private final List<Shard> shards = new ArrayList<>();
+    private final ThreadLocal<Shard> localShard = ThreadLocal.withInitial(this::newShard);
+
+    private volatile boolean processed;
+    private Set<Class<?>> classes;
+    private Multiset<Class<?>> classSizes;
+    private Multiset<Class<?>> classCounts;
+    private long totalCount;
+    private long totalSize;
+    private long[] reachabilityCounts;
+    private long[] reachabilitySizes;
+
+    public GraphFootprint(Object... roots) {
+        this(roots, VisitedTracking.IDENTITY_HASH);
+    }
+
+    GraphFootprint(Object[] roots, VisitedTracking tracking) {
+        this.description = GraphLayout.describe(roots, tracking);
+    }
+
+    private Shard newShard() {
+        Shard s = new Shard();
+        synchronized (shards) {
+            shards.add(s);
+        }
+        return s;
+    }
+
+    @Override
+    public void visit(Object obj, long size) {
+        if (processed) {
+            // New objects after the query, merge the shards again on the next one.
+            processed = false;
+        }
+        Shard s = localShard.get();
+        Class<?> klass = obj.getClass();
+        s.classCounts.add(klass);
+        s.classSizes.add(klass, size);
+        s.totalCount++;
+        s.totalSize += size;
+    }
+
+    @Override
+    public void visit(Object obj, long size, Reachability reachability) {
+        visit(obj, size);
+        if (reachability != null) {
+            Shard s = localShard.get();
+            if (s.reachabilityCounts == null) {
+                s.reachabilityCounts = new long[Reachability.values().length];
+                s.reachabilitySizes = new long[Reachability.values().length];
+            }
+            s.reachabilityCounts[reachability.ordinal()]++;
+            s.reachabilitySizes[reachability.ordinal()] += size;
+        }
+    }
+
+    private void ensureProcessed() {
+        if (processed) {
+            return;
+        }
+
+        synchronized (this) {
+            classes = new TreeSet<>(Comparator.comparing(Class::getName));
+            classSizes = new Multiset<>();
+            classCounts = new Multiset<>();
+            totalCount = 0;
+            totalSize = 0;
+            reachabilityCounts = null;
+            reachabilitySizes = null;
+
+            synchronized (shards) {
+                for (Shard s : shards) {
+                    classes.addAll(s.classCounts.keys());
+                    classCounts.merge(s.classCounts);
+                    classSizes.merge(s.classSizes);
+                    totalCount += s.totalCount;
+                    totalSize += s.totalSize;
+                    if (s.reachabilityCounts != null) {
+                        if (reachabilityCounts == null) {
+                            reachabilityCounts = new long[Reachability.values().length];
+                            reachabilitySizes = new long[Reachability.values().length];
+                        }
+                        for (int r = 0; r < reachabilityCounts.length; r++) {
+                            reachabilityCounts[r] += s.reachabilityCounts[r];
+                            reachabilitySizes[r] += s.reachabilitySizes[r];
+                        }
+                    }
+                }
+            }
+
+            processed = true;
+        }
+    }
+
+    /**
+     * Answer the class sizes.
+     *
+     * @return class sizes multiset
+     */
+    public Multiset<Class<?>> getClassSizes() {
+        ensureProcessed();
+        return classSizes;
+    }
+
+    /**
+     * Answer the class counts
+     *
+     * @return class counts multiset
+     */
+    public Multiset<Class<?>> getClassCounts() {
+        ensureProcessed();
+        return classCounts;
+    }
+
+    /**
+     * Answer the set of observed classes
+     *
+     * @return observed classes set
+     */
+    public Set<Class<?>> getClasses() {
+        ensureProcessed();
+        return classes;
+    }
+
+    /**
+     * Answer the total instance count
+     *
+     * @return total instance count
+     */
+    public long totalCount() {
+        ensureProcessed();
+        return totalCount;
+    }
+
+    /**
+     * Answer the total instance footprint
+     *
+     * @return total instance footprint, bytes
+     */
+    public long totalSize() {
+        ensureProcessed();
+        return totalSize;
+    }
+
+    /**
+     * Answer whether the totals are split by reachability.
+     *
+     * @return true, if per-reachability totals are available
+     */
+    public boolean hasReachability() {
+        ensureProcessed();
+        return reachabilityCounts != null;
+    }
+
+    /**
+     * Answer the instance count with the given reachability
+     *
+     * @param reachability reachability
+     * @return instance count
+     * @throws IllegalStateException if the walk did not track reachability
+     */
+    public long totalCount(Reachability reachability) {
+        verifyReachability();
+        return reachabilityCounts[reachability.ordinal()];
+    }
+
+    /**
+     * Answer the instance footprint with the given reachability
+     *
+     * @param reachability reachability
+     * @return instance footprint, bytes
+     * @throws IllegalStateException if the walk did not track reachability
+     */
+    public long totalSize(Reachability reachability) {
+        verifyReachability();
+        return reachabilitySizes[reachability.ordinal()];
+    }
+
+    private void verifyReachability() {
+        if (!hasReachability()) {
+            throw new IllegalStateException("The walk did not track reachability");
+        }
+    }
+
+    /**
+     * Get the stringly representation of footprint table
+     *
+     * @return footprint table
+     */
+    public String toFootprint() {
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
+        printFootprint(pw);
+        pw.close();
+        return sw.toString();
+    }
+
+    /**
+     * Write the footprint table to the writer. The writer is flushed, but not closed.
+     *
+     * @param out writer to write to
+     * @throws IOException when I/O fails
+     */
+    public void toFootprint(Writer out) throws IOException {
+        PrintWriter pw = new PrintWriter(out);
+        printFootprint(pw);
+        FootprintTable.finish(pw);
+    }
+
+    /**
+     * Write the footprint table to the stream, in the default charset.
+     * The stream is flushed, but not closed.
+     *
+     * @param out stream to write to
+     * @throws IOException when I/O fails
+     */
+    public void toFootprint(OutputStream out) throws IOException {
+        toFootprint(FootprintTable.writer(out));
+    }
+
+    private void printFootprint(PrintWriter pw) {
+        FootprintTable.print(pw, description, getClasses(), getClassCounts(), getClassSizes());
+        if (hasReachability() && totalCount(Reachability.STRONG) != totalCount()) {
+            FootprintTable.printReachability(pw, description, reachabilityCounts, reachabilitySizes);
+        }
+    }
+
+    private static class Shard {
+        final Multiset<Class<?>> classCounts = new Multiset<>();
+        final Multiset<Class<?>> classSizes = new Multiset<>();
+        long totalCount;
+        long totalSize;
+        long[] reachabilityCounts;
+        long[] reachabilitySizes;
+    }
+
+}
@@ -24,11 +24,13 @@
  */
 package org.openjdk.jol.info;
 
-import org.openjdk.jol.util.ASCIITable;
+import org.openjdk.jol.util.ArrayUtils;
 import org.openjdk.jol.util.ClassUtils;
+import org.openjdk.jol.util.GCEpoch;
 import org.openjdk.jol.util.Multiset;
 import org.openjdk.jol.util.ObjectUtils;
 import org.openjdk.jol.vm.VM;
+import org.openjdk.jol.vm.VirtualMachine;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -36,16 +38,27 @@ import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.*;
 import java.util.List;
 
 /**
  * Holds the object graph layout info.
+ * <p>
+ * The walks follow the {@link java.lang.ref.Reference} referents like the regular fields,
+ * and so the layout and its footprint include the objects that are only softly, weakly,
+ * or phantom reachable. Use {@link GraphWalker#setFollowedReferents(Reachability...)}
+ * to walk the strongly reachable objects only, or {@link GraphFootprint} to split
+ * the footprint by {@link Reachability}.
  */
 public class GraphLayout {
 
+    // Read object addresses in batches of this size.
+    private static final int ADDRESS_BATCH = 4096;
+
     /**
      * Parse the object graph starting from the given instance.
      *
@@ -56,7 +69,32 @@ public class GraphLayout {
         return new GraphWalker().walk(roots);
     }
 
-    private final List<GraphPathRecord> gprs = new ArrayList<>();
+    /**
+     * Parse the object graph starting from the given instance, walking it
+     * with several threads.
+     *
+     * @param parallelism number of threads to walk with
+     * @param roots root instances to start from
+     * @return object graph
+     */
+    public static GraphLayout parseInstanceParallel(int parallelism, Object... roots) {
+        return new GraphWalker().setParallelism(parallelism).walk(roots);
+    }
+
+    /**
+     * Parse the object graph starting from the given instance, keeping
+     * the compact records. Compact records take several times less memory
+     * per discovered object, at the expense of reconstructing the object
+     * paths and descriptors on demand.
+     *
+     * @param roots root instances to start from
+     * @return object graph
+     */
+    public static GraphLayout parseInstanceCompact(Object... roots) {
+        return new GraphWalker().setCompactRecords(true).walk(roots);
+    }
+
+    private final GraphRecords records;
     private final String description;
 
     private volatile boolean processedHisto;
@@ -65,7 +103,9 @@ public class GraphLayout {
     private Multiset<Class<?>> classCounts;
 
     private volatile boolean processedAddresses;
-    private Map<Long, GraphPathRecord> addresses;
+    private long[] sortedAddresses;
+    private int[] sortedRecords;
+    private GraphAddressIndex addressIndex;
     private long minAddress;
     private long maxAddress;
     private int addressTries;
@@ -76,6 +116,19 @@ public class GraphLayout {
     private long totalSize;
 
     public GraphLayout(Object... roots) {
+        this(roots, VisitedTracking.IDENTITY_HASH);
+    }
+
+    GraphLayout(Object[] roots, VisitedTracking tracking) {
+        this(roots, tracking, new ListGraphRecords());
+    }
+
+    GraphLayout(Object[] roots, VisitedTracking tracking, GraphRecords records) {
+        this.description = describe(roots, tracking);
+        this.records = records;
+    }
+
+    static String describe(Object[] roots, VisitedTracking tracking) {
         StringBuilder sb = new StringBuilder();
         boolean isFirst = true;
         for (Object root : roots) {
@@ -84,13 +137,25 @@ public class GraphLayout {
             } else {
                 sb.append(", ");
             }
-            sb.append(String.format("%s@%xd", ClassUtils.humanReadableName(root.getClass()), System.identityHashCode(root)));
+            if (tracking == VisitedTracking.IDENTITY_HASH) {
+                sb.append(String.format("%s@%xd", ClassUtils.humanReadableName(root.getClass()), System.identityHashCode(root)));
+            } else {
+                // Do not install the identity hash code, identify by address instead.
+                sb.append(String.format("%s@0x%x", ClassUtils.humanReadableName(root.getClass()), VM.current().addressOf(root)));
+            }
         }
-        this.description = sb.toString();
+        return sb.toString();
+    }
+
+    GraphRecords records() {
+        return records;
     }
 
     void addRecord(GraphPathRecord gpr) {
-        gprs.add(gpr);
+        if (!(records instanceof ListGraphRecords)) {
+            throw new IllegalStateException("Cannot add records to compact layout");
+        }
+        ((ListGraphRecords) records).add(gpr);
     }
 
     private void ensureProcessedAddresses() {
@@ -99,52 +164,69 @@ public class GraphLayout {
         }
 
         synchronized (this) {
-            if (gprs.isEmpty()) {
-                minAddress = 0;
-                maxAddress = 0;
-            }
+            int count = records.count();
 
-            addresses = new HashMap<>();
-
-            // First round of address computations to seed the addresses.
-            // We would then confirm the addresses are stable on the next step.
-            long[] rawAddresses = new long[gprs.size()];
-            for (int i = 0; i < gprs.size(); i++) {
-                rawAddresses[i] = VM.current().addressOf(gprs.get(i).obj());
-            }
+            // Read the addresses in batches. If no GC has happened during the pass,
+            // nothing has moved, and the addresses are good. Collectors that move objects
+            // concurrently do not tell us that, so confirm with another pass that gives
+            // the same addresses.
+            boolean trustEpoch = GCEpoch.isSupported() && !GCEpoch.hasConcurrentMoves();
+            long[] rawAddresses = new long[count];
+            long[] lastAddresses = null;
+            Object[] batch = new Object[Math.min(count, ADDRESS_BATCH)];
 
             boolean good = false;
             for (addressTries = 0; (addressTries < 10) && !good; addressTries++) {
-                addresses.clear();
-                minAddress = Long.MAX_VALUE;
-                maxAddress = Long.MIN_VALUE;
-
-                good = true;
-                for (int i = 0; i < gprs.size(); i++) {
-                    GraphPathRecord gpr = gprs.get(i);
-                    Object o = gpr.obj();
-
-                    long addr = VM.current().addressOf(o);
-                    if (rawAddresses[i] != addr) {
-                        // If any object have moved, continue traversing to recompute
-                        // others, and then force a retry, hoping for a clean iteration.
-                        rawAddresses[i] = addr;
-                        good = false;
-                    }
-
-                    if (good) {
-                        addresses.put(addr, gpr);
-                        minAddress = Math.min(minAddress, addr);
-                        maxAddress = Math.max(maxAddress, addr);
+                long epoch = GCEpoch.current();
+                readAddresses(batch, rawAddresses);
+                boolean sameEpoch = (epoch >= 0) && (GCEpoch.current() == epoch);
+
+                if (trustEpoch) {
+                    good = sameEpoch;
+                } else {
+                    good = (lastAddresses != null) && Arrays.equals(lastAddresses, rawAddresses);
+                    if (!good) {
+                        if (lastAddresses == null) {
+                            lastAddresses = new long[count];
+                        }
+                        System.arraycopy(rawAddresses, 0, lastAddresses, 0, count);
                     }
                 }
             }
 
+            // Sort the record indexes by address, so that lookups are binary searches.
+            int[] idx = new int[count];
+            for (int i = 0; i < count; i++) {
+                idx[i] = i;
+            }
+            ArrayUtils.sort(rawAddresses, idx, 0, count);
+
+            sortedAddresses = rawAddresses;
+            sortedRecords = idx;
+            addressIndex = new GraphAddressIndex(records, rawAddresses, idx);
+            minAddress = (count > 0) ? rawAddresses[0] : 0;
+            maxAddress = (count > 0) ? rawAddresses[count - 1] : 0;
+
             addressStable = good;
             processedAddresses = true;
         }
     }
 
+    private void readAddresses(Object[] batch, long[] dest) {
+        VirtualMachine vm = VM.current();
+        int count = records.count();
+        long[] addrs = new long[batch.length];
+        for (int start = 0; start < count; start += batch.length) {
+            int len = Math.min(batch.length, count - start);
+            for (int i = 0; i < len; i++) {
+                batch[i] = records.obj(start + i);
+            }
+            vm.addressesOf(batch, len, addrs);
+            System.arraycopy(addrs, 0, dest, start, len);
+        }
+        Arrays.fill(batch, null);
+    }
+
     /**
      * Subtract another layout data from the current one.
      * This method does not change the current data object, but produces another one.
@@ -152,6 +234,7 @@ public class GraphLayout {
      * Note that the object identity is derived from object addresses: if some objects
      * move, they will be treated as new/absent. You may want to quiesce the heap
      * (possibly doing several back-to-back GCs) before taking the snapshots.
+     * {@link GraphSnapshot} tracks the object identities across object movement.
      *
      * @param another data object
      * @return new data object, that contains the difference.
@@ -161,9 +244,9 @@ public class GraphLayout {
         another.ensureProcessedAddresses();
 
         GraphLayout res = new GraphLayout();
-        for (Map.Entry<Long, GraphPathRecord> e : addresses.entrySet()) {
-            if (!another.addresses.containsKey(e.getKey())) {
-                res.addRecord(e.getValue());
+        for (int i = 0; i < sortedAddresses.length; i++) {
+            if (another.indexOf(sortedAddresses[i]) < 0) {
+                res.addRecord(records.record(sortedRecords[i]));
             }
         }
         return res;
@@ -176,6 +259,7 @@ public class GraphLayout {
      * Note that the object identity is derived from object addresses: if some objects
      * move, they will be treated as new. You may want to quiesce the heap
      * (possibly doing several back-to-back GCs) before taking the snapshots.
+     * {@link GraphSnapshot} tracks the object identities across object movement.
      *
      * @param another data object
      * @return new data object, that contains the union.
@@ -185,12 +269,12 @@ public class GraphLayout {
         another.ensureProcessedAddresses();
 
         GraphLayout res = new GraphLayout();
-        for (Map.Entry<Long, GraphPathRecord> e : addresses.entrySet()) {
-            res.addRecord(e.getValue());
+        for (int i = 0; i < sortedAddresses.length; i++) {
+            res.addRecord(records.record(sortedRecords[i]));
         }
-        for (Map.Entry<Long, GraphPathRecord> e : another.addresses.entrySet()) {
-            if (!addresses.containsKey(e.getKey())) {
-                res.addRecord(e.getValue());
+        for (int i = 0; i < another.sortedAddresses.length; i++) {
+            if (indexOf(another.sortedAddresses[i]) < 0) {
+                res.addRecord(another.records.record(another.sortedRecords[i]));
             }
         }
         return res;
@@ -207,12 +291,12 @@ public class GraphLayout {
             classSizes = new Multiset<>();
             classCounts = new Multiset<>();
 
-            for (GraphPathRecord gpr : gprs) {
-                Class<?> klass = gpr.klass();
+            for (int i = 0; i < records.count(); i++) {
+                Class<?> klass = records.obj(i).getClass();
                 classes.add(klass);
                 classCounts.add(klass);
                 try {
-                    classSizes.add(klass, gpr.size());
+                    classSizes.add(klass, records.size(i));
                 } catch (Exception e) {
                     classSizes.add(klass, 0);
                 }
@@ -256,10 +340,10 @@ public class GraphLayout {
         if (processedTotals) return;
 
         synchronized (this) {
-            for (GraphPathRecord gpr : gprs) {
-                totalSize += gpr.size();
+            for (int i = 0; i < records.count(); i++) {
+                totalSize += records.size(i);
             }
-            totalCount = gprs.size();
+            totalCount = records.count();
 
             processedTotals = true;
         }
@@ -306,14 +390,30 @@ public class GraphLayout {
     }
 
     /**
-     * Answer the set of addresses for the discovered objects
+     * Answer the discovered objects, sorted by their addresses.
+     * The index is built once, and is cheaper to iterate than {@link #addresses()}.
+     *
+     * @return address index
+     */
+    public GraphAddressIndex addressIndex() {
+        ensureProcessedAddresses();
+        return addressIndex;
+    }
+
+    /**
+     * Answer the set of addresses for the discovered objects.
+     * This boxes every address: use {@link #addressIndex()} for large graphs.
      *
      * @return sorted set of addresses
      * @see #record(long)
      */
     public SortedSet<Long> addresses() {
         ensureProcessedAddresses();
-        return new TreeSet<>(addresses.keySet());
+        SortedSet<Long> res = new TreeSet<>();
+        for (long addr : sortedAddresses) {
+            res.add(addr);
+        }
+        return res;
     }
 
     /**
@@ -323,8 +423,13 @@ public class GraphLayout {
      * @return object descriptor
      */
     public GraphPathRecord record(long address) {
+        int pos = indexOf(address);
+        return (pos >= 0) ? records.record(sortedRecords[pos]) : null;
+    }
+
+    private int indexOf(long address) {
         ensureProcessedAddresses();
-        return addresses.get(address);
+        return ArrayUtils.binarySearch(sortedAddresses, 0, sortedAddresses.length, address);
     }
 
     /**
@@ -333,23 +438,40 @@ public class GraphLayout {
      * @return footprint table
      */
     public String toFootprint() {
-        ASCIITable table = new ASCIITable(
-                true,
-                description + " footprint:",
-                "COUNT", "AVG", "SUM", "DESCRIPTION");
-        for (Class<?> key : getClasses()) {
-            long count = getClassCounts().count(key);
-            long size = getClassSizes().count(key);
-            table.addLine(ClassUtils.humanReadableName(key), count, size / count, size);
-        }
         StringWriter sw = new StringWriter();
         PrintWriter pw = new PrintWriter(sw);
-        table.print(pw, 2);
-        pw.println();
+        printFootprint(pw);
         pw.close();
         return sw.toString();
     }
 
+    /**
+     * Write the footprint table to the writer. The writer is flushed, but not closed.
+     *
+     * @param out writer to write to
+     * @throws IOException when I/O fails
+     */
+    public void toFootprint(Writer out) throws IOException {
+        PrintWriter pw = new PrintWriter(out);
+        printFootprint(pw);
+        FootprintTable.finish(pw);
+    }
+
+    /**
+     * Write the footprint table to the stream, in the default charset.
+     * The stream is flushed, but not closed.
+     *
+     * @param out stream to write to
+     * @throws IOException when I/O fails
+     */
+    public void toFootprint(OutputStream out) throws IOException {
+        toFootprint(FootprintTable.writer(out));
+    }
+
+    private void printFootprint(PrintWriter pw) {
+        FootprintTable.print(pw, description, getClasses(), getClassCounts(), getClassSizes());
+    }
+
     /**
      * Get the stringly representation of object graph
      *
@@ -358,19 +480,56 @@ public class GraphLayout {
     public String toPrintable() {
         StringWriter sw = new StringWriter();
         PrintWriter pw = new PrintWriter(sw);
+        printPrintable(pw);
+        pw.close();
+        return sw.toString();
+    }
+
+    /**
+     * Write the linearized text form of object graph to the writer, row by row.
+     * The writer is flushed, but not closed.
+     *
+     * @param out writer to write to
+     * @throws IOException when I/O fails
+     */
+    public void toPrintable(Writer out) throws IOException {
+        PrintWriter pw = new PrintWriter(out);
+        printPrintable(pw);
+        FootprintTable.finish(pw);
+    }
+
+    /**
+     * Write the linearized text form of object graph to the stream, row by row,
+     * in the default charset. The stream is flushed, but not closed.
+     *
+     * @param out stream to write to
+     * @throws IOException when I/O fails
+     */
+    public void toPrintable(OutputStream out) throws IOException {
+        toPrintable(FootprintTable.writer(out));
+    }
+
+    private void printPrintable(PrintWriter pw) {
+        GraphAddressIndex index = addressIndex();
+        int count = index.count();
 
         long last = 0L;
 
         int typeLen = "TYPE".length();
-        for (long addr : addresses()) {
-            GraphPathRecord r = record(addr);
-            typeLen = Math.max(typeLen, ClassUtils.humanReadableName(r.klass()).length());
+        Class<?> lastClass = null;
+        for (int i = 0; i < count; i++) {
+            Class<?> klass = index.klass(i);
+            if (klass != lastClass) {
+                typeLen = Math.max(typeLen, ClassUtils.humanReadableName(klass).length());
+                lastClass = klass;
+            }
         }
 
         pw.println(description + " object externals:");
         pw.printf(" %16s %10s %-" + typeLen + "s %-30s %s%n", "ADDRESS", "SIZE", "TYPE", "PATH", "VALUE");
-        for (long addr : addresses()) {
-            GraphPathRecord record = record(addr);
+        for (int i = 0; i < count; i++) {
+            long addr = index.address(i);
+            GraphPathRecord record = index.record(i);
             long size = record.size();
 
             if (addr > last && last != 0L) {
@@ -386,23 +545,24 @@ public class GraphLayout {
         pw.println();
         pw.println("Addresses are " + (addressStable ? "stable" : "still unstable") + " after " + addressTries + " tries.");
         pw.println();
-        pw.close();
-        return sw.toString();
     }
 
     /**
      * Put the graphical representation of object graph into the file.
+     * Use {@link GraphMemoryMap} for the larger, or zoomed, pictures.
      *
      * @param fileName filename
      * @throws IOException when I/O fails
      */
     public void toImage(String fileName) throws IOException {
-        if (addresses().isEmpty()) {
+        GraphAddressIndex index = addressIndex();
+        int count = index.count();
+        if (count == 0) {
             return;
         }
 
-        long start = startAddress();
-        long end = endAddress() + record(endAddress()).size();
+        long start = index.address(0);
+        long end = index.address(count - 1) + index.size(count - 1);
 
         if (start == end) {
             // Make sure we render something
@@ -425,30 +585,27 @@ public class GraphLayout {
 
         int minDepth = Integer.MAX_VALUE;
         int maxDepth = Integer.MIN_VALUE;
-        for (long addr : addresses()) {
-            GraphPathRecord p = record(addr);
-            minDepth = Math.min(minDepth, p.depth());
-            maxDepth = Math.max(maxDepth, p.depth());
+        for (int i = 0; i < count; i++) {
+            int depth = index.depth(i);
+            minDepth = Math.min(minDepth, depth);
+            maxDepth = Math.max(maxDepth, depth);
         }
 
-        Multiset<Integer> depths = new Multiset<>();
-        for (long addr : addresses()) {
-            GraphPathRecord r = record(addr);
-            depths.add(r.depth(), r.size());
+        long[] depths = new long[maxDepth - minDepth + 1];
+        for (int i = 0; i < count; i++) {
+            depths[index.depth(i) - minDepth] += index.size(i);
         }
 
-        int lastX = 0;
-        for (long addr : addresses()) {
-            long size = record(addr).size();
-
-            int x1 = SCALE_WIDTH + EXT_PAD + (int) ((WIDTH - SCALE_WIDTH - EXT_PAD * 2) * (addr - start) / (end - start));
-            int x2 = SCALE_WIDTH + EXT_PAD + (int) ((WIDTH - SCALE_WIDTH - EXT_PAD * 2) * (addr + size - start) / (end - start));
-            x1 = Math.max(x1, lastX);
-            x2 = Math.max(x2, lastX);
-
-            float relDepth = 1.0f * (record(addr).depth() - minDepth) / (maxDepth - minDepth + 1);
+        // Aggregate the objects per pixel column, and color by the average depth there.
+        int graphWidth = WIDTH - SCALE_WIDTH - EXT_PAD * 2;
+        GraphMemoryMap map = GraphMemoryMap.parse(this, start, end, graphWidth);
+        for (int x = 0; x < graphWidth; x++) {
+            if (map.occupied(x) == 0) {
+                continue;
+            }
+            float relDepth = (float) ((map.averageDepth(x) - minDepth) / (maxDepth - minDepth + 1));
             g.setColor(Color.getHSBColor(relDepth, 1.0f, 0.9f));
-            g.fillRect(x1, EXT_PAD, x2 - x1, GRAPH_HEIGHT);
+            g.fillRect(SCALE_WIDTH + EXT_PAD + x, EXT_PAD, 1, GRAPH_HEIGHT);
         }
 
         for (int depth = minDepth; depth <= maxDepth; depth++) {
@@ -459,9 +616,9 @@ public class GraphLayout {
             g.fillRect(0, y1, SCALE_WIDTH, y2 - y1);
         }
 
-        lastX = SCALE_WIDTH + EXT_PAD;
+        int lastX = SCALE_WIDTH + EXT_PAD;
         for (int depth = minDepth; depth <= maxDepth; depth++) {
-            int w = (int) ((WIDTH - SCALE_WIDTH - EXT_PAD * 2) * depths.count(depth) / (end - start));
+            int w = (int) ((WIDTH - SCALE_WIDTH - EXT_PAD * 2) * depths[depth - minDepth] / (end - start));
 
             float relDepth = 1.0f * (depth - minDepth) / (maxDepth - minDepth + 1);
             g.setColor(Color.getHSBColor(relDepth, 1.0f, 0.9f));
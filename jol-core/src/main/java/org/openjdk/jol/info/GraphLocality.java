@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.ObjectUtils;
+import org.openjdk.jol.util.SimpleIdentityIntMap;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+
+/**
+ * Pointer locality of the object graph.
+ * <p>
+ * The analysis takes every reference between the objects of {@link GraphLayout},
+ * not only the references the walker discovered the objects through, and looks
+ * at the addresses on both ends. It reports how far the references point, how many
+ * of them cross cache lines, 4K pages and 2M large pages, and how many objects
+ * straddle cache lines. Comparing these before and after GC, or for different
+ * data structures, tells whether the traversal locality has actually improved.
+ * <p>
+ * The addresses are the ones the layout has captured: if objects move later,
+ * the analysis does not follow them.
+ */
+public class GraphLocality {
+
+    /**
+     * Default cache line size, in bytes.
+     */
+    public static final int DEFAULT_CACHE_LINE = 64;
+
+    /**
+     * Small page size, in bytes.
+     */
+    public static final int PAGE = 4 * 1024;
+
+    /**
+     * Large page size, in bytes.
+     */
+    public static final int LARGE_PAGE = 2 * 1024 * 1024;
+
+    /**
+     * Analyze the locality of the object graph, assuming the default cache line size.
+     *
+     * @param layout layout
+     * @return locality statistics
+     */
+    public static GraphLocality parse(GraphLayout layout) {
+        return parse(layout, DEFAULT_CACHE_LINE);
+    }
+
+    /**
+     * Analyze the locality of the object graph.
+     *
+     * @param layout layout
+     * @param cacheLine cache line size, power of two
+     * @return locality statistics
+     */
+    public static GraphLocality parse(GraphLayout layout, int cacheLine) {
+        if (cacheLine <= 0 || Integer.bitCount(cacheLine) != 1) {
+            throw new IllegalArgumentException("Cache line size should be a power of two: " + cacheLine);
+        }
+        return new GraphLocality(layout.addressIndex(), cacheLine);
+    }
+
+    private final int cacheLine;
+
+    private long objects;
+    private long straddling;
+    private long linesTouched;
+
+    private long edges;
+    private long forward;
+    private long backward;
+    private long lineCrossings;
+    private long pageCrossings;
+    private long largePageCrossings;
+    private final long[] distances = new long[64];
+
+    private GraphLocality(GraphAddressIndex index, int cacheLine) {
+        this.cacheLine = cacheLine;
+
+        int count = index.count();
+        SimpleIdentityIntMap positions = new SimpleIdentityIntMap();
+        for (int pos = 0; pos < count; pos++) {
+            positions.put(index.obj(pos), pos);
+        }
+
+        int lineShift = Integer.numberOfTrailingZeros(cacheLine);
+        for (int pos = 0; pos < count; pos++) {
+            long addr = index.address(pos);
+            long size = index.size(pos);
+
+            objects++;
+            long firstLine = addr >>> lineShift;
+            long lastLine = (addr + Math.max(1, size) - 1) >>> lineShift;
+            linesTouched += lastLine - firstLine + 1;
+            if (firstLine != lastLine) {
+                straddling++;
+            }
+
+            Object o = index.obj(pos);
+            Class<?> cl = o.getClass();
+            if (cl.isArray()) {
+                if (cl.getComponentType().isPrimitive()) {
+                    continue;
+                }
+                for (Object e : (Object[]) o) {
+                    edge(index, positions, addr, e, lineShift);
+                }
+            } else {
+                for (Field f : AbstractGraphWalker.allReferenceFields(cl)) {
+                    edge(index, positions, addr, ObjectUtils.value(o, f), lineShift);
+                }
+            }
+        }
+    }
+
+    private void edge(GraphAddressIndex index, SimpleIdentityIntMap positions, long from, Object target, int lineShift) {
+        if (target == null) {
+            return;
+        }
+        int pos = positions.get(target, -1);
+        if (pos < 0) {
+            // Outside of the layout, e.g. behind the walk boundary.
+            return;
+        }
+        long to = index.address(pos);
+
+        edges++;
+        if (to > from) {
+            forward++;
+        } else if (to < from) {
+            backward++;
+        }
+
+        long distance = Math.abs(to - from);
+        distances[64 - Long.numberOfLeadingZeros(distance)]++;
+
+        if ((from >>> lineShift) != (to >>> lineShift)) {
+            lineCrossings++;
+        }
+        if ((from / PAGE) != (to / PAGE)) {
+            pageCrossings++;
+        }
+        if ((from / LARGE_PAGE) != (to / LARGE_PAGE)) {
+            largePageCrossings++;
+        }
+    }
+
+    /**
+     * Answer the cache line size the analysis assumed.
+     *
+     * @return cache line size, bytes
+     */
+    public int cacheLine() {
+        return cacheLine;
+    }
+
+    /**
+     * Answer the number of objects.
+     *
+     * @return object count
+     */
+    public long objectCount() {
+        return objects;
+    }
+
+    /**
+     * Answer the number of objects that span more than one cache line.
+     *
+     * @return straddling object count
+     */
+    public long straddlingObjects() {
+        return straddling;
+    }
+
+    /**
+     * Answer the total number of cache lines the objects occupy, counting
+     * the lines shared by several objects several times.
+     *
+     * @return cache lines touched
+     */
+    public long cacheLinesTouched() {
+        return linesTouched;
+    }
+
+    /**
+     * Answer the number of references between the objects.
+     *
+     * @return reference count
+     */
+    public long edgeCount() {
+        return edges;
+    }
+
+    /**
+     * Answer the number of references that point to the higher addresses.
+     *
+     * @return forward reference count
+     */
+    public long forwardEdges() {
+        return forward;
+    }
+
+    /**
+     * Answer the number of references that point to the lower addresses.
+     *
+     * @return backward reference count
+     */
+    public long backwardEdges() {
+        return backward;
+    }
+
+    /**
+     * Answer the number of references where the referencing and the referenced
+     * objects start in different cache lines.
+     *
+     * @return cache line crossing count
+     */
+    public long cacheLineCrossings() {
+        return lineCrossings;
+    }
+
+    /**
+     * Answer the number of references where the objects start in different 4K pages.
+     *
+     * @return page crossing count
+     */
+    public long pageCrossings() {
+        return pageCrossings;
+    }
+
+    /**
+     * Answer the number of references where the objects start in different 2M pages.
+     *
+     * @return large page crossing count
+     */
+    public long largePageCrossings() {
+        return largePageCrossings;
+    }
+
+    /**
+     * Answer the histogram of reference distances. Bucket 0 counts the references
+     * to the same address, bucket {@code k > 0} counts the distances in
+     * {@code [2^(k-1); 2^k)} bytes.
+     *
+     * @return distance histogram copy
+     */
+    public long[] distanceHistogram() {
+        return distances.clone();
+    }
+
+    private static double fraction(long part, long total) {
+        return (total == 0) ? 0 : 100.0 * part / total;
+    }
+
+    /**
+     * Get the stringly representation of locality statistics
+     *
+     * @return locality statistics
+     */
+    public String toPrintable() {
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
+
+        pw.println("Object graph locality:");
+        pw.println();
+        pw.printf("  Objects: %d, straddling %d-byte cache lines: %d (%.1f%%), cache lines touched: %d%n",
+                objects, cacheLine, straddling, fraction(straddling, objects), linesTouched);
+        pw.printf("  References: %d, forward: %d (%.1f%%), backward: %d (%.1f%%)%n",
+                edges, forward, fraction(forward, edges), backward, fraction(backward, edges));
+        pw.printf("  Crossing cache lines: %d (%.1f%%), 4K pages: %d (%.1f%%), 2M pages: %d (%.1f%%)%n",
+                lineCrossings, fraction(lineCrossings, edges),
+                pageCrossings, fraction(pageCrossings, edges),
+                largePageCrossings, fraction(largePageCrossings, edges));
+        pw.println();
+
+        pw.printf(" %20s %15s %8s%n", "DISTANCE", "COUNT", "PERCENT");
+        pw.println("------------------------------------------------------------------------------------------------");
+        for (int b = 0; b < distances.length; b++) {
+            if (distances[b] == 0) {
+                continue;
+            }
+            String range = (b == 0) ? "0" : (">= " + (1L << (b - 1)));
+            pw.printf(" %20s %,15d %7.1f%%%n", range, distances[b], fraction(distances[b], edges));
+        }
+        pw.println();
+        pw.close();
+        return sw.toString();
+    }
+
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binned memory map of the {@link GraphLayout}.
+ * <p>
+ * The map splits the address range into the fixed number of equal bins, for example
+ * one bin per pixel column, and aggregates the objects in every bin: how many bytes
+ * are occupied, how many objects are there, their average depth, and which class
+ * takes the most bytes. The map is built in one pass over {@link GraphAddressIndex},
+ * and only over the objects in the range, so it stays cheap for millions of objects
+ * over gigabytes of address space. Use {@link #zoom(int, int, int)} to look closer
+ * at some region, or {@link #tiles(GraphLayout, int, int)} to split the whole range
+ * into separately rendered tiles.
+ */
+public class GraphMemoryMap {
+
+    /**
+     * Build the memory map over the whole address range of the layout.
+     *
+     * @param layout layout
+     * @param bins number of bins
+     * @return memory map
+     */
+    public static GraphMemoryMap parse(GraphLayout layout, int bins) {
+        GraphAddressIndex index = layout.addressIndex();
+        int count = index.count();
+        if (count == 0) {
+            return new GraphMemoryMap(index, 0, 1, bins);
+        }
+        long start = index.address(0);
+        long end = Math.max(start + 1, index.address(count - 1) + index.size(count - 1));
+        return new GraphMemoryMap(index, start, end, bins);
+    }
+
+    /**
+     * Build the memory map over the given address range of the layout.
+     * The objects that cross the range boundaries are accounted partially.
+     *
+     * @param layout layout
+     * @param start range start, inclusive
+     * @param end range end, exclusive
+     * @param bins number of bins
+     * @return memory map
+     */
+    public static GraphMemoryMap parse(GraphLayout layout, long start, long end, int bins) {
+        return new GraphMemoryMap(layout.addressIndex(), start, end, bins);
+    }
+
+    /**
+     * Split the whole address range of the layout into tiles, and build the memory map for each.
+     *
+     * @param layout layout
+     * @param tiles number of tiles
+     * @param binsPerTile number of bins in every tile
+     * @return memory maps, in address order
+     */
+    public static GraphMemoryMap[] tiles(GraphLayout layout, int tiles, int binsPerTile) {
+        if (tiles <= 0) {
+            throw new IllegalArgumentException("Tile count should be positive: " + tiles);
+        }
+        GraphMemoryMap whole = parse(layout, tiles);
+        GraphMemoryMap[] result = new GraphMemoryMap[tiles];
+        for (int t = 0; t < tiles; t++) {
+            result[t] = whole.zoom(t, t + 1, binsPerTile);
+        }
+        return result;
+    }
+
+    private final GraphAddressIndex index;
+    private final long start;
+    private final long end;
+    private final int bins;
+
+    private final long[] occupied;
+    private final int[] counts;
+    private final double[] depthSums;
+    private final Class<?>[] dominant;
+
+    private GraphMemoryMap(GraphAddressIndex index, long start, long end, int bins) {
+        if (bins <= 0) {
+            throw new IllegalArgumentException("Bin count should be positive: " + bins);
+        }
+        if (end <= start) {
+            throw new IllegalArgumentException("Empty address range: [" + start + ", " + end + ")");
+        }
+        this.index = index;
+        this.start = start;
+        this.end = end;
+        this.bins = bins;
+        this.occupied = new long[bins];
+        this.counts = new int[bins];
+        this.depthSums = new double[bins];
+        this.dominant = new Class<?>[bins];
+        build();
+    }
+
+    private void build() {
+        int from = index.lowerBound(start);
+        int to = index.lowerBound(end);
+
+        // The object right before the range may extend into it.
+        if (from > 0 && index.address(from - 1) + index.size(from - 1) > start) {
+            from--;
+        }
+
+        // Objects come in the address order, and so the bins do. Track the class
+        // sizes for the current bin only, and pick the dominant class when moving on.
+        Map<Class<?>, long[]> classBytes = new HashMap<>();
+        int currentBin = -1;
+
+        for (int i = from; i < to; i++) {
+            long objStart = Math.max(start, index.address(i));
+            long objEnd = Math.min(end, index.address(i) + index.size(i));
+            Class<?> klass = index.klass(i);
+            int depth = index.depth(i);
+
+            int b = binOf(objStart);
+            long pos = objStart;
+            while (pos < objEnd) {
+                long binEnd = Math.min(objEnd, binStart(b + 1));
+                long bytes = binEnd - pos;
+
+                if (b > currentBin) {
+                    finishBin(currentBin, classBytes);
+                    currentBin = b;
+                }
+                occupied[b] += bytes;
+                counts[b]++;
+                depthSums[b] += (double) depth * bytes;
+                if (b == currentBin) {
+                    classBytes.computeIfAbsent(klass, k -> new long[1])[0] += bytes;
+                }
+
+                pos = binEnd;
+                b++;
+            }
+        }
+        finishBin(currentBin, classBytes);
+    }
+
+    private void finishBin(int bin, Map<Class<?>, long[]> classBytes) {
+        if (bin < 0) {
+            return;
+        }
+        Class<?> best = null;
+        long bestBytes = -1;
+        for (Map.Entry<Class<?>, long[]> e : classBytes.entrySet()) {
+            if (e.getValue()[0] > bestBytes) {
+                best = e.getKey();
+                bestBytes = e.getValue()[0];
+            }
+        }
+        dominant[bin] = best;
+        classBytes.clear();
+    }
+
+    private int binOf(long address) {
+        int b = (int) Math.min(bins - 1, (long) ((double) (address - start) * bins / (end - start)));
+        while (b > 0 && binStart(b) > address) {
+            b--;
+        }
+        while (b + 1 < bins && binStart(b + 1) <= address) {
+            b++;
+        }
+        return b;
+    }
+
+    /**
+     * Answer the number of bins.
+     *
+     * @return number of bins
+     */
+    public int bins() {
+        return bins;
+    }
+
+    /**
+     * Answer the start of the address range.
+     *
+     * @return range start, inclusive
+     */
+    public long startAddress() {
+        return start;
+    }
+
+    /**
+     * Answer the end of the address range.
+     *
+     * @return range end, exclusive
+     */
+    public long endAddress() {
+        return end;
+    }
+
+    /**
+     * Answer the starting address of the bin.
+     *
+     * @param bin bin, in [0; bins]
+     * @return bin start address, or the range end for {@code bins}
+     */
+    public long binStart(int bin) {
+        if (bin >= bins) {
+            return end;
+        }
+        return start + (long) ((double) (end - start) * bin / bins);
+    }
+
+    /**
+     * Answer the number of bytes occupied by the objects in the bin.
+     *
+     * @param bin bin
+     * @return occupied bytes
+     */
+    public long occupied(int bin) {
+        return occupied[bin];
+    }
+
+    /**
+     * Answer the fraction of the bin occupied by the objects.
+     *
+     * @param bin bin
+     * @return occupancy, normally in [0; 1], may be larger if addresses were unstable
+     */
+    public double occupancy(int bin) {
+        long width = binStart(bin + 1) - binStart(bin);
+        return (width == 0) ? 0 : 1.0 * occupied[bin] / width;
+    }
+
+    /**
+     * Answer the number of objects that have some bytes in the bin.
+     *
+     * @param bin bin
+     * @return object count
+     */
+    public int count(int bin) {
+        return counts[bin];
+    }
+
+    /**
+     * Answer the average object depth in the bin, weighted by the object bytes.
+     *
+     * @param bin bin
+     * @return average depth, or -1 if bin is empty
+     */
+    public double averageDepth(int bin) {
+        return (occupied[bin] == 0) ? -1 : depthSums[bin] / occupied[bin];
+    }
+
+    /**
+     * Answer the class that occupies the most bytes in the bin.
+     *
+     * @param bin bin
+     * @return dominant class, or null if bin is empty
+     */
+    public Class<?> dominantClass(int bin) {
+        return dominant[bin];
+    }
+
+    /**
+     * Build the more detailed memory map for the range of bins.
+     *
+     * @param fromBin first bin, inclusive
+     * @param toBin last bin, exclusive
+     * @param bins number of bins in the new map
+     * @return memory map
+     */
+    public GraphMemoryMap zoom(int fromBin, int toBin, int bins) {
+        if (fromBin < 0 || toBin > this.bins || fromBin >= toBin) {
+            throw new IllegalArgumentException("Bad bin range: [" + fromBin + ", " + toBin + ")");
+        }
+        long s = binStart(fromBin);
+        long e = Math.max(s + 1, binStart(toBin));
+        return new GraphMemoryMap(index, s, e, bins);
+    }
+
+    /**
+     * Render the memory map, one pixel column per bin. The upper band is colored
+     * by the average depth, the lower band by the dominant class. Sparsely occupied
+     * columns are paler.
+     *
+     * @param height image height
+     * @return image
+     */
+    public BufferedImage render(int height) {
+        if (height < 2) {
+            throw new IllegalArgumentException("Height should be at least 2: " + height);
+        }
+
+        double maxDepth = 0;
+        for (int b = 0; b < bins; b++) {
+            maxDepth = Math.max(maxDepth, averageDepth(b));
+        }
+
+        BufferedImage image = new BufferedImage(bins, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, bins, height);
+
+        int half = height / 2;
+        for (int b = 0; b < bins; b++) {
+            if (occupied[b] == 0) {
+                continue;
+            }
+            float saturation = (float) Math.max(0.15, Math.min(1.0, occupancy(b)));
+
+            float depthHue = (float) (averageDepth(b) / (maxDepth + 1));
+            g.setColor(Color.getHSBColor(depthHue, saturation, 0.9f));
+            g.fillRect(b, 0, 1, half);
+
+            float classHue = (dominant[b].getName().hashCode() & 0xFFFF) / 65536.0f;
+            g.setColor(Color.getHSBColor(classHue, saturation, 0.9f));
+            g.fillRect(b, half, 1, height - half);
+        }
+
+        g.dispose();
+        return image;
+    }
+
+    /**
+     * Render the memory map into the PNG file.
+     *
+     * @param fileName filename
+     * @param height image height
+     * @throws IOException when I/O fails
+     * @see #render(int)
+     */
+    public void toImage(String fileName, int height) throws IOException {
+        ImageIO.write(render(height), "png", new File(fileName));
+    }
+
+}
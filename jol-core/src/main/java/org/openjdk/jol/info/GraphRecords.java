@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+/**
+ * Storage for the object graph records, addressed by the record index.
+ */
+interface GraphRecords {
+
+    /**
+     * Answer the number of records.
+     *
+     * @return number of records
+     */
+    int count();
+
+    /**
+     * Answer the object for the record.
+     *
+     * @param idx record index
+     * @return object
+     */
+    Object obj(int idx);
+
+    /**
+     * Answer the object size for the record.
+     *
+     * @param idx record index
+     * @return object size, bytes
+     */
+    long size(int idx);
+
+    /**
+     * Answer the object depth for the record.
+     *
+     * @param idx record index
+     * @return object depth, roots are at depth 0
+     */
+    int depth(int idx);
+
+    /**
+     * Answer the path record. Implementations may construct it on demand.
+     *
+     * @param idx record index
+     * @return path record
+     */
+    GraphPathRecord record(int idx);
+
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.ArrayUtils;
+import org.openjdk.jol.util.ClassUtils;
+import org.openjdk.jol.vm.VM;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Page and heap region residency of the object graph.
+ * <p>
+ * The analysis buckets the objects of {@link GraphLayout} by the 4K pages, 2M
+ * large pages, and heap regions they occupy, and answers how many of them the
+ * graph touches, and how densely it fills them. The objects that span several
+ * buckets are split between them. Sparsely filled regions are the ones that
+ * fragment the graph the most.
+ * <p>
+ * The addresses are the ones the layout has captured: if objects move later,
+ * the analysis does not follow them.
+ */
+public class GraphResidency {
+
+    /**
+     * Small page size, in bytes.
+     */
+    public static final long PAGE = 4 * 1024;
+
+    /**
+     * Large page size, in bytes.
+     */
+    public static final long LARGE_PAGE = 2 * 1024 * 1024;
+
+    /**
+     * Analyze the residency of the object graph. The region size is taken
+     * from the current VM, if it uses the regionalized heap.
+     *
+     * @param layout layout
+     * @return residency statistics
+     */
+    public static GraphResidency parse(GraphLayout layout) {
+        return parse(layout, VM.current().heapRegionSize());
+    }
+
+    /**
+     * Analyze the residency of the object graph.
+     *
+     * @param layout layout
+     * @param regionSize heap region size, power of two, or 0 to skip the region analysis
+     * @return residency statistics
+     */
+    public static GraphResidency parse(GraphLayout layout, long regionSize) {
+        if (regionSize < 0 || (regionSize > 0 && Long.bitCount(regionSize) != 1)) {
+            throw new IllegalArgumentException("Region size should be a power of two: " + regionSize);
+        }
+        return new GraphResidency(layout.addressIndex(), regionSize);
+    }
+
+    private final GraphAddressIndex index;
+    private final long totalSize;
+    private final Buckets pages;
+    private final Buckets largePages;
+    private final Buckets regions;
+
+    private GraphResidency(GraphAddressIndex index, long regionSize) {
+        this.index = index;
+        long size = 0;
+        for (int pos = 0; pos < index.count(); pos++) {
+            size += index.size(pos);
+        }
+        this.totalSize = size;
+        this.pages = new Buckets(index, PAGE);
+        this.largePages = new Buckets(index, LARGE_PAGE);
+        this.regions = (regionSize > 0) ? new Buckets(index, regionSize) : null;
+    }
+
+    private Buckets regions() {
+        if (regions == null) {
+            throw new IllegalStateException("Region size is not known");
+        }
+        return regions;
+    }
+
+    /**
+     * Answer the total footprint of the objects
+     *
+     * @return total size, bytes
+     */
+    public long totalSize() {
+        return totalSize;
+    }
+
+    /**
+     * Answer the number of distinct 4K pages the objects occupy
+     *
+     * @return touched page count
+     */
+    public int touchedPages() {
+        return pages.count;
+    }
+
+    /**
+     * Answer the fraction of the touched 4K pages the objects occupy
+     *
+     * @return fill ratio, in (0; 1], or 0 for the empty graph
+     */
+    public double pageFillRatio() {
+        return pages.fillRatio();
+    }
+
+    /**
+     * Answer the number of distinct 2M pages the objects occupy
+     *
+     * @return touched large page count
+     */
+    public int touchedLargePages() {
+        return largePages.count;
+    }
+
+    /**
+     * Answer the fraction of the touched 2M pages the objects occupy
+     *
+     * @return fill ratio, in (0; 1], or 0 for the empty graph
+     */
+    public double largePageFillRatio() {
+        return largePages.fillRatio();
+    }
+
+    /**
+     * Answer if the region analysis is available
+     *
+     * @return true, if region size is known
+     */
+    public boolean hasRegions() {
+        return regions != null;
+    }
+
+    /**
+     * Answer the heap region size
+     *
+     * @return region size, bytes, or 0 if not known
+     */
+    public long regionSize() {
+        return (regions != null) ? regions.granule : 0;
+    }
+
+    /**
+     * Answer the number of distinct heap regions the objects occupy
+     *
+     * @return touched region count
+     * @throws IllegalStateException if region size is not known
+     */
+    public int touchedRegions() {
+        return regions().count;
+    }
+
+    /**
+     * Answer the fraction of the touched heap regions the objects occupy
+     *
+     * @return fill ratio, in (0; 1], or 0 for the empty graph
+     * @throws IllegalStateException if region size is not known
+     */
+    public double regionFillRatio() {
+        return regions().fillRatio();
+    }
+
+    /**
+     * Answer the start address of the touched region
+     *
+     * @param region region index, in [0; touchedRegions()), in address order
+     * @return region start address
+     * @throws IllegalStateException if region size is not known
+     */
+    public long regionStart(int region) {
+        Buckets r = regions();
+        r.check(region);
+        return r.ids[region] * r.granule;
+    }
+
+    /**
+     * Answer the footprint of the objects in the touched region
+     *
+     * @param region region index, in [0; touchedRegions()), in address order
+     * @return occupied bytes
+     * @throws IllegalStateException if region size is not known
+     */
+    public long regionOccupied(int region) {
+        Buckets r = regions();
+        r.check(region);
+        return r.occupied[region];
+    }
+
+    /**
+     * Answer the number of objects that start in the touched region
+     *
+     * @param region region index, in [0; touchedRegions()), in address order
+     * @return object count
+     * @throws IllegalStateException if region size is not known
+     */
+    public int regionObjects(int region) {
+        Buckets r = regions();
+        r.check(region);
+        return r.objects[region];
+    }
+
+    /**
+     * Answer the most fragmented touched regions, that is, the least filled ones.
+     *
+     * @param limit maximum number of regions to answer
+     * @return region indexes, least filled first
+     * @throws IllegalStateException if region size is not known
+     */
+    public int[] worstRegions(int limit) {
+        Buckets r = regions();
+        long[] keys = Arrays.copyOf(r.occupied, r.count);
+        int[] idx = new int[r.count];
+        for (int i = 0; i < idx.length; i++) {
+            idx[i] = i;
+        }
+        ArrayUtils.sort(keys, idx, 0, idx.length);
+        return Arrays.copyOf(idx, Math.min(Math.max(limit, 0), idx.length));
+    }
+
+    /**
+     * Get the stringly representation of residency statistics
+     *
+     * @return residency statistics
+     */
+    public String toPrintable() {
+        return toPrintable(10);
+    }
+
+    /**
+     * Get the stringly representation of residency statistics
+     *
+     * @param worstRegions number of the least filled regions to print
+     * @return residency statistics
+     */
+    public String toPrintable(int worstRegions) {
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
+
+        pw.println("Object graph residency, " + totalSize + " bytes:");
+        pw.println();
+        pw.printf(" %15s %15s %8s    %s%n", "TOUCHED", "CAPACITY", "FILL", "GRANULE");
+        pw.println("------------------------------------------------------------------------------------------------");
+        printBuckets(pw, pages, "4K pages");
+        printBuckets(pw, largePages, "2M pages");
+        if (regions != null) {
+            printBuckets(pw, regions, (regions.granule / 1024) + "K regions");
+        }
+        pw.println("------------------------------------------------------------------------------------------------");
+        pw.println();
+
+        if (regions != null && worstRegions > 0 && regions.count > 0) {
+            pw.println("Least filled regions:");
+            pw.println();
+            pw.printf(" %18s %15s %15s %8s    %s%n", "START", "OCCUPIED", "OBJECTS", "FILL", "DOMINANT CLASS");
+            pw.println("------------------------------------------------------------------------------------------------");
+            for (int r : worstRegions(worstRegions)) {
+                Class<?> dominant = dominantClass(r);
+                pw.printf(" %18s %,15d %,15d %8s    %s%n",
+                        String.format("0x%x", regionStart(r)),
+                        regions.occupied[r],
+                        regions.objects[r],
+                        percent(1.0 * regions.occupied[r] / regions.granule),
+                        (dominant != null) ? ClassUtils.humanReadableName(dominant) : "<spill-over>");
+            }
+            pw.println("------------------------------------------------------------------------------------------------");
+            pw.println();
+        }
+
+        pw.close();
+        return sw.toString();
+    }
+
+    private Class<?> dominantClass(int region) {
+        long start = regionStart(region);
+        long end = start + regions.granule;
+        Class<?> best = null;
+        long bestSize = -1;
+        Map<Class<?>, Long> sizes = new HashMap<>();
+        // Only the objects that start in the region are attributed.
+        for (int pos = index.lowerBound(start), e = index.lowerBound(end); pos < e; pos++) {
+            Class<?> k = index.klass(pos);
+            long s = sizes.merge(k, index.size(pos), Long::sum);
+            if (s > bestSize) {
+                bestSize = s;
+                best = k;
+            }
+        }
+        return best;
+    }
+
+    private static void printBuckets(PrintWriter pw, Buckets b, String granule) {
+        pw.printf(" %,15d %,15d %8s    %s%n", b.count, b.capacity(), percent(b.fillRatio()), granule);
+    }
+
+    private static String percent(double ratio) {
+        return String.format("%.1f%%", ratio * 100);
+    }
+
+    /**
+     * Occupancy of the fixed-size address buckets, in address order.
+     */
+    private static final class Buckets {
+        final long granule;
+        long[] ids = new long[16];
+        long[] occupied = new long[16];
+        int[] objects = new int[16];
+        int count;
+        long total;
+
+        Buckets(GraphAddressIndex index, long granule) {
+            this.granule = granule;
+            for (int pos = 0; pos < index.count(); pos++) {
+                long start = index.address(pos);
+                long size = index.size(pos);
+                long end = start + size;
+                long first = start / granule;
+                long last = (end - 1) / granule;
+                int s = slot(first);
+                objects[s]++;
+                for (long g = first; g <= last; g++) {
+                    long from = Math.max(start, g * granule);
+                    long to = Math.min(end, (g + 1) * granule);
+                    s = slot(g);
+                    occupied[s] += to - from;
+                }
+                total += size;
+            }
+        }
+
+        int slot(long g) {
+            if (count > 0 && ids[count - 1] == g) {
+                return count - 1;
+            }
+            if (count == 0 || ids[count - 1] < g) {
+                grow();
+                ids[count] = g;
+                return count++;
+            }
+            // Objects do not overlap, and come in address order, so this only
+            // happens when addresses went stale. Keep the buckets sorted anyway.
+            int s = ArrayUtils.lowerBound(ids, 0, count, g);
+            if (ids[s] != g) {
+                grow();
+                System.arraycopy(ids, s, ids, s + 1, count - s);
+                System.arraycopy(occupied, s, occupied, s + 1, count - s);
+                System.arraycopy(objects, s, objects, s + 1, count - s);
+                ids[s] = g;
+                occupied[s] = 0;
+                objects[s] = 0;
+                count++;
+            }
+            return s;
+        }
+
+        private void grow() {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                occupied = Arrays.copyOf(occupied, count * 2);
+                objects = Arrays.copyOf(objects, count * 2);
+            }
+        }
+
+        long capacity() {
+            return count * granule;
+        }
+
+        double fillRatio() {
+            return (count == 0) ? 0 : 1.0 * total / capacity();
+        }
+
+        void check(int bucket) {
+            if (bucket < 0 || bucket >= count) {
+                throw new IllegalArgumentException("Region index out of bounds: " + bucket);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.SimpleIdentityIntMap;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Snapshot of the object graph that tracks object identities across GCs.
+ *
+ * Unlike {@link GraphLayout#subtract(GraphLayout)}, that identifies objects by their
+ * addresses, the snapshot keeps the weak references to discovered objects. Moving
+ * objects keep their identity, and the snapshot does not keep the objects alive.
+ * For the objects that died after the snapshot was taken, the snapshot falls back
+ * to matching them by identity hash code, class and size.
+ *
+ * @see GraphDiff
+ */
+public final class GraphSnapshot {
+
+    /**
+     * Take the snapshot of the object graph starting from the given instance.
+     *
+     * @param roots root instances to start from
+     * @return object graph snapshot
+     */
+    public static GraphSnapshot parseInstance(Object... roots) {
+        GraphSnapshot snapshot = new GraphSnapshot(GraphLayout.describe(roots, VisitedTracking.IDENTITY_HASH));
+        new GraphStatsWalker(snapshot::add).walk(roots);
+        snapshot.trim();
+        return snapshot;
+    }
+
+    private final String description;
+
+    private WeakReference<?>[] refs;
+    private Class<?>[] classes;
+    private int[] hashes;
+    private long[] sizes;
+    private int count;
+    private long totalSize;
+
+    private GraphSnapshot(String description) {
+        this.description = description;
+        refs = new WeakReference<?>[16];
+        classes = new Class<?>[16];
+        hashes = new int[16];
+        sizes = new long[16];
+    }
+
+    private void add(Object o, long size) {
+        if (count == refs.length) {
+            int newCap = count + (count >> 1);
+            refs = Arrays.copyOf(refs, newCap);
+            classes = Arrays.copyOf(classes, newCap);
+            hashes = Arrays.copyOf(hashes, newCap);
+            sizes = Arrays.copyOf(sizes, newCap);
+        }
+        refs[count] = new WeakReference<>(o);
+        classes[count] = o.getClass();
+        hashes[count] = System.identityHashCode(o);
+        sizes[count] = size;
+        count++;
+        totalSize += size;
+    }
+
+    private void trim() {
+        refs = Arrays.copyOf(refs, count);
+        classes = Arrays.copyOf(classes, count);
+        hashes = Arrays.copyOf(hashes, count);
+        sizes = Arrays.copyOf(sizes, count);
+    }
+
+    String description() {
+        return description;
+    }
+
+    int count() {
+        return count;
+    }
+
+    Object obj(int idx) {
+        return refs[idx].get();
+    }
+
+    Class<?> klass(int idx) {
+        return classes[idx];
+    }
+
+    long size(int idx) {
+        return sizes[idx];
+    }
+
+    /**
+     * Answer the total instance count at the time of snapshot
+     *
+     * @return total instance count
+     */
+    public long totalCount() {
+        return count;
+    }
+
+    /**
+     * Answer the total instance footprint at the time of snapshot
+     *
+     * @return total instance footprint, bytes
+     */
+    public long totalSize() {
+        return totalSize;
+    }
+
+    /**
+     * Compute the difference between this snapshot and the later one.
+     * The objects that are only in this snapshot are removed, the objects
+     * that are only in the later snapshot are added.
+     *
+     * @param later later snapshot
+     * @return difference
+     */
+    public GraphDiff diff(GraphSnapshot later) {
+        SimpleIdentityIntMap laterIdx = new SimpleIdentityIntMap();
+        Map<Fingerprint, Deque<Integer>> laterDead = new HashMap<>();
+        for (int i = 0; i < later.count; i++) {
+            Object o = later.refs[i].get();
+            if (o != null) {
+                laterIdx.put(o, i);
+            } else {
+                laterDead.computeIfAbsent(later.fingerprint(i), k -> new ArrayDeque<>()).add(i);
+            }
+        }
+
+        GraphDiff diff = new GraphDiff(description, later);
+        boolean[] matched = new boolean[later.count];
+
+        for (int i = 0; i < count; i++) {
+            Object o = refs[i].get();
+            if (o != null) {
+                int j = laterIdx.get(o, -1);
+                if (j >= 0) {
+                    matched[j] = true;
+                    continue;
+                }
+            } else {
+                // Dead now. Could have been alive in later snapshot, and died since.
+                Deque<Integer> js = laterDead.get(fingerprint(i));
+                if (js != null && !js.isEmpty()) {
+                    matched[js.poll()] = true;
+                    continue;
+                }
+            }
+            diff.addRemoved(classes[i], sizes[i]);
+        }
+
+        for (int j = 0; j < later.count; j++) {
+            if (!matched[j]) {
+                diff.addAdded(j);
+            }
+        }
+
+        return diff;
+    }
+
+    private Fingerprint fingerprint(int idx) {
+        return new Fingerprint(hashes[idx], classes[idx], sizes[idx]);
+    }
+
+    static final class Fingerprint {
+        private final int hash;
+        private final Class<?> klass;
+        private final long size;
+
+        Fingerprint(int hash, Class<?> klass, long size) {
+            this.hash = hash;
+            this.klass = klass;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Fingerprint that = (Fingerprint) o;
+            return hash == that.hash && size == that.size && klass == that.klass;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hash, klass.getName(), size);
+        }
+    }
+
+}
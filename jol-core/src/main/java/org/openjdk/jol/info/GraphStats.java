@@ -26,6 +26,10 @@ package org.openjdk.jol.info;
 
 /**
  * Light-weight statistics about the object graph.
+ * <p>
+ * {@link GraphStatsWalker} walks also split the totals by {@link Reachability},
+ * so that the objects only held by soft, weak or phantom references can be
+ * told apart from the strongly reachable ones.
  */
 public class GraphStats {
 
@@ -39,14 +43,96 @@ public class GraphStats {
         return new GraphStatsWalker().walk(roots);
     }
 
+    /**
+     * Parse the object graph starting from the given instance, walking it
+     * with several threads.
+     *
+     * @param parallelism number of threads to walk with
+     * @param roots root instances to start from
+     * @return object graph
+     */
+    public static GraphStats parseInstanceParallel(int parallelism, Object... roots) {
+        return new GraphStatsWalker().setParallelism(parallelism).walk(roots);
+    }
+
     private long totalCount;
     private long totalSize;
+    private long[] reachabilityCounts;
+    private long[] reachabilitySizes;
 
     void addRecord(long size) {
         totalCount++;
         totalSize += size;
     }
 
+    void addRecord(long size, Reachability reachability) {
+        addRecord(size);
+        if (reachabilityCounts == null) {
+            initReachability();
+        }
+        reachabilityCounts[reachability.ordinal()]++;
+        reachabilitySizes[reachability.ordinal()] += size;
+    }
+
+    void initReachability() {
+        reachabilityCounts = new long[Reachability.values().length];
+        reachabilitySizes = new long[Reachability.values().length];
+    }
+
+    void merge(GraphStats other) {
+        totalCount += other.totalCount;
+        totalSize += other.totalSize;
+        if (other.reachabilityCounts != null) {
+            if (reachabilityCounts == null) {
+                initReachability();
+            }
+            for (int r = 0; r < reachabilityCounts.length; r++) {
+                reachabilityCounts[r] += other.reachabilityCounts[r];
+                reachabilitySizes[r] += other.reachabilitySizes[r];
+            }
+        }
+    }
+
+    private void verifyReachability() {
+        if (reachabilityCounts == null) {
+            throw new IllegalStateException("The walk did not track reachability");
+        }
+    }
+
+    /**
+     * Answer whether the totals are split by reachability. Only
+     * {@link GraphStatsWalker} walks track reachability.
+     *
+     * @return true, if per-reachability totals are available
+     */
+    public boolean hasReachability() {
+        return reachabilityCounts != null;
+    }
+
+    /**
+     * Answer the instance count with the given reachability
+     *
+     * @param reachability reachability
+     * @return instance count
+     * @throws IllegalStateException if the walk did not track reachability
+     */
+    public long totalCount(Reachability reachability) {
+        verifyReachability();
+        return reachabilityCounts[reachability.ordinal()];
+    }
+
+    /**
+     * Answer the instance footprint with the given reachability
+     *
+     * @param reachability reachability
+     * @return instance footprint, bytes
+     * @throws IllegalStateException if the walk did not track reachability
+     */
+    public long totalSize(Reachability reachability) {
+        verifyReachability();
+        return reachabilitySizes[reachability.ordinal()];
+    }
+
     /**
      * Answer the total instance count
      *
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+/**
+ * Estimated statistics about the object graph.
+ *
+ * The estimate is the exact part that was walked completely, plus the extrapolated
+ * part from the sampled large arrays. Confidence intervals cover the extrapolated part.
+ *
+ * @see GraphStatsEstimator
+ */
+public class GraphStatsEstimate {
+
+    // Two-sided 95% quantile of the normal distribution.
+    private static final double Z_95 = 1.959964;
+
+    /**
+     * Estimate the object graph statistics starting from the given instance,
+     * sampling the large reference arrays.
+     *
+     * @param roots root instances to start from
+     * @return graph statistics estimate
+     */
+    public static GraphStatsEstimate parseInstance(Object... roots) {
+        return new GraphStatsEstimator().walk(roots);
+    }
+
+    private final long exactCount;
+    private final long exactSize;
+    private final long sampledCount;
+    private final long sampledSize;
+    private final double countStdDev;
+    private final double sizeStdDev;
+    private final int sampledArrays;
+    private final int samples;
+
+    GraphStatsEstimate(long exactCount, long exactSize,
+                       long sampledCount, long sampledSize,
+                       double countStdDev, double sizeStdDev,
+                       int sampledArrays, int samples) {
+        this.exactCount = exactCount;
+        this.exactSize = exactSize;
+        this.sampledCount = sampledCount;
+        this.sampledSize = sampledSize;
+        this.countStdDev = countStdDev;
+        this.sizeStdDev = sizeStdDev;
+        this.sampledArrays = sampledArrays;
+        this.samples = samples;
+    }
+
+    /**
+     * Answer whether the statistics are exact, that is, no arrays were sampled.
+     *
+     * @return true, if statistics are exact
+     */
+    public boolean isExact() {
+        return sampledArrays == 0;
+    }
+
+    /**
+     * Answer the number of sampled arrays
+     *
+     * @return number of sampled arrays
+     */
+    public int sampledArrays() {
+        return sampledArrays;
+    }
+
+    /**
+     * Answer the total number of sampled array elements
+     *
+     * @return number of sampled elements
+     */
+    public int samples() {
+        return samples;
+    }
+
+    /**
+     * Answer the estimated total instance count
+     *
+     * @return estimated total instance count
+     */
+    public long totalCount() {
+        return exactCount + sampledCount;
+    }
+
+    /**
+     * Answer the lower bound of 95% confidence interval for total instance count
+     *
+     * @return lower bound for total instance count
+     */
+    public long totalCountLow() {
+        return exactCount + Math.max(0, Math.round(sampledCount - Z_95 * countStdDev));
+    }
+
+    /**
+     * Answer the upper bound of 95% confidence interval for total instance count
+     *
+     * @return upper bound for total instance count
+     */
+    public long totalCountHigh() {
+        return exactCount + Math.round(sampledCount + Z_95 * countStdDev);
+    }
+
+    /**
+     * Answer the estimated total instance footprint
+     *
+     * @return estimated total instance footprint, bytes
+     */
+    public long totalSize() {
+        return exactSize + sampledSize;
+    }
+
+    /**
+     * Answer the lower bound of 95% confidence interval for total instance footprint
+     *
+     * @return lower bound for total instance footprint, bytes
+     */
+    public long totalSizeLow() {
+        return exactSize + Math.max(0, Math.round(sampledSize - Z_95 * sizeStdDev));
+    }
+
+    /**
+     * Answer the upper bound of 95% confidence interval for total instance footprint
+     *
+     * @return upper bound for total instance footprint, bytes
+     */
+    public long totalSizeHigh() {
+        return exactSize + Math.round(sampledSize + Z_95 * sizeStdDev);
+    }
+
+    @Override
+    public String toString() {
+        if (isExact()) {
+            return String.format("%d objects, %d bytes (exact)", totalCount(), totalSize());
+        }
+        return String.format("%d objects [%d, %d], %d bytes [%d, %d] (95%% CI, %d samples from %d arrays)",
+                totalCount(), totalCountLow(), totalCountHigh(),
+                totalSize(), totalSizeLow(), totalSizeHigh(),
+                samples, sampledArrays);
+    }
+
+}
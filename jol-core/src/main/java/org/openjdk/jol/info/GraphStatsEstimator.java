@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.IdentitySet;
+import org.openjdk.jol.util.ObjectUtils;
+import org.openjdk.jol.util.SegmentedStack;
+import org.openjdk.jol.vm.VM;
+import org.openjdk.jol.vm.VirtualMachine;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Walker that estimates graph statistics by sampling large reference arrays.
+ *
+ * The walk goes in two phases. First, the graph is walked exactly, except the elements
+ * of reference arrays longer than the threshold. Then, the random sample of elements is
+ * taken from every such array, and the subgraphs reachable from sampled elements are walked.
+ * The objects reachable from exactly one sampled element are extrapolated to the entire array.
+ * The objects reachable from several sampled elements are treated as shared by many elements,
+ * and accounted once. Large arrays found inside sampled subgraphs are walked exactly.
+ * <p>
+ * This handling of sharing is biased when the object is shared by some, but not many
+ * elements. The object referenced by about {@code n/k} of {@code n} elements, with
+ * {@code k} elements sampled, is reached by exactly one sample about a third of the time,
+ * and is then extrapolated to {@code n/k} copies. The estimate then overshoots the actual
+ * footprint, and the confidence intervals do not account for that error, as they only
+ * cover the sampling variance. Estimates are accurate when the elements own their
+ * subgraphs, or share the objects with most other elements.
+ *
+ * @see GraphStatsEstimate
+ */
+public class GraphStatsEstimator extends AbstractGraphWalker {
+
+    private int sampleThreshold = 10_000;
+    private int sampleSize = 1_000;
+    private SplittableRandom random = new SplittableRandom();
+
+    /**
+     * Sets the array length threshold. Reference arrays longer than this are sampled.
+     *
+     * @param threshold array length threshold
+     * @return this walker
+     */
+    public GraphStatsEstimator setSampleThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Sample threshold should be positive: " + threshold);
+        }
+        this.sampleThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Sets the number of elements to sample from every large array.
+     *
+     * @param size number of elements to sample
+     * @return this walker
+     */
+    public GraphStatsEstimator setSampleSize(int size) {
+        if (size < 2) {
+            throw new IllegalArgumentException("Sample size should be at least 2: " + size);
+        }
+        this.sampleSize = size;
+        return this;
+    }
+
+    /**
+     * Sets the seed for element sampling, to make the estimates reproducible.
+     *
+     * @param seed random seed
+     * @return this walker
+     */
+    public GraphStatsEstimator setSeed(long seed) {
+        this.random = new SplittableRandom(seed);
+        return this;
+    }
+
+    /**
+     * Sets the strategy to track the visited objects with.
+     *
+     * @param tracking visited tracking strategy
+     * @return this walker
+     * @see VisitedTracking
+     */
+    public GraphStatsEstimator setVisitedTracking(VisitedTracking tracking) {
+        verifyVisitedTracking(tracking);
+        this.visitedTracking = tracking;
+        return this;
+    }
+
+    /**
+     * Sets the boundary for the walk.
+     *
+     * @param boundary walk boundary, or null to walk everything reachable
+     * @return this walker
+     * @see GraphBoundary
+     */
+    public GraphStatsEstimator setBoundary(GraphBoundary boundary) {
+        this.boundary = boundary;
+        return this;
+    }
+
+    /**
+     * Sets the kinds of references which referents are followed. By default, all
+     * referents are followed, and the objects reachable through them are counted
+     * as strongly reachable. Without arguments, only the strongly reachable objects
+     * are walked.
+     *
+     * @param kinds reference kinds to follow, {@link Reachability#STRONG} is implied
+     * @return this walker
+     * @see GraphWalker#setFollowedReferents(Reachability...)
+     */
+    public GraphStatsEstimator setFollowedReferents(Reachability... kinds) {
+        this.followedReferents = referentKinds(kinds);
+        return this;
+    }
+
+    public GraphStatsEstimate walk(Object... roots) {
+        verifyRoots(roots);
+
+        VirtualMachine vm = VM.current();
+        IdentitySet visited = newVisitedSet();
+        SegmentedStack<Object> s = new SegmentedStack<>();
+        List<Object[]> sampled = new ArrayList<>();
+
+        long exactCount = 0;
+        long exactSize = 0;
+
+        // Phase 1: walk everything exactly, deferring the elements of large arrays.
+        for (Object root : roots) {
+            if (visited.add(root)) {
+                exactCount++;
+                exactSize += vm.sizeOf(root);
+                s.push(root);
+            }
+        }
+
+        while (!s.isEmpty()) {
+            Object o = s.pop();
+            Class<?> cl = o.getClass();
+
+            if (cl.isArray()) {
+                if (cl.getComponentType().isPrimitive()) {
+                    continue;
+                }
+                Object[] arr = (Object[]) o;
+                if (arr.length > sampleThreshold) {
+                    sampled.add(arr);
+                    continue;
+                }
+                for (Object e : arr) {
+                    if (e != null && !isStopped(e) && visited.add(e)) {
+                        exactCount++;
+                        exactSize += vm.sizeOf(e);
+                        s.push(e);
+                    }
+                }
+            } else {
+                boolean skipReferent = skipsReferent(cl);
+                for (Field f : getAllReferenceFields(cl)) {
+                    if (skipReferent && isReferent(f)) {
+                        continue;
+                    }
+                    Object e = ObjectUtils.value(o, f);
+                    if (e != null && !isStopped(e) && visited.add(e)) {
+                        exactCount++;
+                        exactSize += vm.sizeOf(e);
+                        s.push(e);
+                    }
+                }
+            }
+        }
+
+        if (sampled.isEmpty()) {
+            return new GraphStatsEstimate(exactCount, exactSize, 0, 0, 0, 0, 0, 0);
+        }
+
+        // Phase 2: walk the subgraphs of sampled elements, tracking which sample owns every object.
+        // Objects seen in the first phase are already accounted.
+        int[][] samples = new int[sampled.size()][];
+        int totalSamples = 0;
+        for (int a = 0; a < sampled.size(); a++) {
+            samples[a] = sampleIndexes(sampled.get(a).length);
+            totalSamples += samples[a].length;
+        }
+
+        Claims claims = new Claims(visited);
+        int sampleId = 0;
+        for (int a = 0; a < sampled.size(); a++) {
+            Object[] arr = sampled.get(a);
+            for (int idx : samples[a]) {
+                Object e = arr[idx];
+                if (e != null && !isStopped(e)) {
+                    walkSample(e, sampleId, claims, s);
+                }
+                sampleId++;
+            }
+        }
+
+        long sharedCount = 0;
+        long sharedSize = 0;
+        long[] counts = new long[totalSamples];
+        long[] sizes = new long[totalSamples];
+        for (int c = 0; c < claims.count; c++) {
+            Object o = claims.objs[c];
+            long size = vm.sizeOf(o);
+            if (claims.isShared(o)) {
+                sharedCount++;
+                sharedSize += size;
+            } else {
+                int owner = claims.owners[c];
+                counts[owner]++;
+                sizes[owner] += size;
+            }
+        }
+
+        // Horvitz-Thompson extrapolation for every array, with the variance of
+        // the estimated total, corrected for sampling from the finite population.
+        double estCount = 0;
+        double estSize = 0;
+        double varCount = 0;
+        double varSize = 0;
+        int base = 0;
+        for (int a = 0; a < sampled.size(); a++) {
+            int n = sampled.get(a).length;
+            int k = samples[a].length;
+            double scale = 1.0 * n / k;
+            double fpc = 1.0 - 1.0 * k / n;
+
+            estCount += scale * sum(counts, base, k);
+            estSize += scale * sum(sizes, base, k);
+            varCount += 1.0 * n * n * fpc * variance(counts, base, k) / k;
+            varSize += 1.0 * n * n * fpc * variance(sizes, base, k) / k;
+            base += k;
+        }
+
+        return new GraphStatsEstimate(exactCount + sharedCount, exactSize + sharedSize,
+                Math.round(estCount), Math.round(estSize),
+                Math.sqrt(varCount), Math.sqrt(varSize),
+                sampled.size(), totalSamples);
+    }
+
+    private void walkSample(Object root, int sampleId, Claims claims, SegmentedStack<Object> s) {
+        IdentitySet local = newVisitedSet();
+        if (!claims.claim(root, sampleId, local)) {
+            return;
+        }
+        s.push(root);
+
+        while (!s.isEmpty()) {
+            Object o = s.pop();
+            Class<?> cl = o.getClass();
+
+            if (cl.isArray()) {
+                if (cl.getComponentType().isPrimitive()) {
+                    continue;
+                }
+                for (Object e : (Object[]) o) {
+                    if (e != null && !isStopped(e) && claims.claim(e, sampleId, local)) {
+                        s.push(e);
+                    }
+                }
+            } else {
+                boolean skipReferent = skipsReferent(cl);
+                for (Field f : getAllReferenceFields(cl)) {
+                    if (skipReferent && isReferent(f)) {
+                        continue;
+                    }
+                    Object e = ObjectUtils.value(o, f);
+                    if (e != null && !isStopped(e) && claims.claim(e, sampleId, local)) {
+                        s.push(e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tracks which sample owns every object found in the second phase.
+     *
+     * Identity sets can only answer whether the object was added before, so
+     * the states are spread over several sets. Every set comes from the configured
+     * {@link VisitedTracking}, and nothing is keyed by the identity hash codes
+     * unless the walker is asked to.
+     */
+    private final class Claims {
+        // Objects accounted in the first phase, and objects claimed by any sample.
+        private final IdentitySet visited;
+
+        // Objects claimed by any sample, and first phase objects reached by the samples.
+        private final IdentitySet reached;
+
+        // Shared objects, and first phase objects reached by the samples.
+        private final IdentitySet shared;
+
+        // Claimed objects in claim order, and their first owners.
+        private Object[] objs = new Object[16];
+        private int[] owners = new int[16];
+        private int count;
+
+        Claims(IdentitySet visited) {
+            this.visited = visited;
+            this.reached = newVisitedSet();
+            this.shared = newVisitedSet();
+        }
+
+        /**
+         * Claims the object for the sample.
+         *
+         * @param local objects already reached by this sample
+         * @return true, if the walk should proceed to the object referents
+         */
+        boolean claim(Object o, int sampleId, IdentitySet local) {
+            if (!local.add(o)) {
+                return false;
+            }
+            if (visited.add(o)) {
+                reached.add(o);
+                if (count == objs.length) {
+                    objs = Arrays.copyOf(objs, count * 2);
+                    owners = Arrays.copyOf(owners, count * 2);
+                }
+                objs[count] = o;
+                owners[count] = sampleId;
+                count++;
+                return true;
+            }
+            if (reached.add(o)) {
+                // Accounted in exact phase, seen by the sample for the first time.
+                shared.add(o);
+                return false;
+            }
+            // Either accounted in exact phase, already shared, or claimed by another
+            // sample. In the last case, the object and whatever it reaches is shared.
+            return shared.add(o);
+        }
+
+        /**
+         * Answers whether the claimed object turned out to be shared.
+         * Should be called once per claimed object, after all samples are walked.
+         */
+        boolean isShared(Object o) {
+            return !shared.add(o);
+        }
+    }
+
+    private int[] sampleIndexes(int n) {
+        int k = Math.min(sampleSize, n);
+
+        // Floyd's algorithm: k distinct indexes in O(k).
+        Set<Integer> picked = new HashSet<>();
+        for (int j = n - k; j < n; j++) {
+            int t = random.nextInt(j + 1);
+            if (!picked.add(t)) {
+                picked.add(j);
+            }
+        }
+
+        int[] res = new int[k];
+        int c = 0;
+        for (int idx : picked) {
+            res[c++] = idx;
+        }
+        Arrays.sort(res);
+        return res;
+    }
+
+    private static double sum(long[] vs, int from, int len) {
+        double s = 0;
+        for (int i = from; i < from + len; i++) {
+            s += vs[i];
+        }
+        return s;
+    }
+
+    private static double variance(long[] vs, int from, int len) {
+        double mean = sum(vs, from, len) / len;
+        double s = 0;
+        for (int i = from; i < from + len; i++) {
+            double d = vs[i] - mean;
+            s += d * d;
+        }
+        return s / (len - 1);
+    }
+
+}
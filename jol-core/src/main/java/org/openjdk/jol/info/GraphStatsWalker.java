@@ -24,13 +24,21 @@
  */
 package org.openjdk.jol.info;
 
-import org.openjdk.jol.util.SimpleIdentityHashSet;
+import org.openjdk.jol.util.IdentitySet;
 import org.openjdk.jol.util.ObjectUtils;
+import org.openjdk.jol.util.SegmentedStack;
 import org.openjdk.jol.util.SimpleStack;
 import org.openjdk.jol.vm.VM;
 import org.openjdk.jol.vm.VirtualMachine;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Walker for graph statistics.
@@ -39,50 +47,285 @@ import java.lang.reflect.Field;
  */
 public class GraphStatsWalker extends AbstractGraphWalker {
 
+    private final GraphStatsVisitor[] visitors;
+
+    public GraphStatsWalker(GraphStatsVisitor... visitors) {
+        this.visitors = visitors;
+    }
+
+    /**
+     * Sets the number of threads to walk the graph with. Parallel walks run
+     * in the work-stealing pool, and split the work by roots, by chunks of large
+     * arrays, and by whatever subgraphs are discovered along the way.
+     * Visitors are called from several threads in parallel walks.
+     *
+     * @param parallelism number of threads, 1 walks in the calling thread
+     * @return this walker
+     */
+    public GraphStatsWalker setParallelism(int parallelism) {
+        verifyParallelism(parallelism);
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets the strategy to track the visited objects with.
+     *
+     * @param tracking visited tracking strategy
+     * @return this walker
+     * @see VisitedTracking
+     */
+    public GraphStatsWalker setVisitedTracking(VisitedTracking tracking) {
+        verifyVisitedTracking(tracking);
+        this.visitedTracking = tracking;
+        return this;
+    }
+
+    /**
+     * Sets the boundary for the walk.
+     *
+     * @param boundary walk boundary, or null to walk everything reachable
+     * @return this walker
+     * @see GraphBoundary
+     */
+    public GraphStatsWalker setBoundary(GraphBoundary boundary) {
+        this.boundary = boundary;
+        return this;
+    }
+
+    /**
+     * Sets the kinds of references which referents are followed. By default,
+     * all referents are followed. The referents of references of other kinds
+     * are not walked, and the objects only reachable through them are not counted.
+     * <p>
+     * The walks go in phases: first everything strongly reachable,
+     * then everything softly reachable, and so on, and then account the objects
+     * to the {@link Reachability} of the phase they were discovered in.
+     * Parallel walks run every phase in parallel, and wait for it to complete
+     * before starting the next one.
+     *
+     * @param kinds reference kinds to follow, {@link Reachability#STRONG} is implied
+     * @return this walker
+     */
+    public GraphStatsWalker setFollowedReferents(Reachability... kinds) {
+        this.followedReferents = referentKinds(kinds);
+        return this;
+    }
+
     public GraphStats walk(Object... roots) {
         verifyRoots(roots);
 
+        if (parallelism > 1) {
+            return walkParallel(roots);
+        }
+
         GraphStats data = new GraphStats();
+        data.initReachability();
 
-        SimpleIdentityHashSet visited = new SimpleIdentityHashSet();
-        SimpleStack<Object> s = new SimpleStack<>();
+        IdentitySet visited = newVisitedSet();
+        SegmentedStack<Object> s = new SegmentedStack<>();
         VirtualMachine vm = VM.current();
 
+        Reachability[] phases = Reachability.values();
+
+        // Referents that are weaker than the current phase, waiting for their phase.
+        List<SegmentedStack<Object>> deferred = new ArrayList<>();
+        for (int p = 0; p < phases.length; p++) {
+            deferred.add(new SegmentedStack<>());
+        }
+
         for (Object root : roots) {
             if (visited.add(root)) {
-                data.addRecord(vm.sizeOf(root));
+                addRecord(data, root, vm, Reachability.STRONG);
                 s.push(root);
             }
         }
 
-        while (!s.isEmpty()) {
-            Object o = s.pop();
-            Class<?> cl = o.getClass();
+        for (Reachability phase : phases) {
+            SegmentedStack<Object> ds = deferred.get(phase.ordinal());
+            while (!ds.isEmpty()) {
+                Object e = ds.pop();
+                if (visited.add(e)) {
+                    addRecord(data, e, vm, phase);
+                    s.push(e);
+                }
+            }
+
+            while (!s.isEmpty()) {
+                Object o = s.pop();
+                Class<?> cl = o.getClass();
+
+                if (cl.isArray()) {
+                    if (cl.getComponentType().isPrimitive()) {
+                        // Nothing to do here
+                        continue;
+                    }
+
+                    for (Object e : (Object[]) o) {
+                        if (e != null && !isStopped(e) && visited.add(e)) {
+                            addRecord(data, e, vm, phase);
+                            s.push(e);
+                        }
+                    }
+                } else {
+                    Reachability strength = referentStrength(cl);
+                    for (Field f : getAllReferenceFields(cl)) {
+                        Object e = ObjectUtils.value(o, f);
+                        if (e == null || isStopped(e)) {
+                            continue;
+                        }
+                        if (strength != Reachability.STRONG && isReferent(f)) {
+                            if (!followedReferents.contains(strength)) {
+                                continue;
+                            }
+                            if (strength.compareTo(phase) > 0) {
+                                deferred.get(strength.ordinal()).push(e);
+                                continue;
+                            }
+                        }
+                        if (visited.add(e)) {
+                            addRecord(data, e, vm, phase);
+                            s.push(e);
+                        }
+                    }
+                }
+            }
+        }
+
+        return data;
+    }
+
+    private void addRecord(GraphStats data, Object o, VirtualMachine vm, Reachability reachability) {
+        long size = vm.sizeOf(o);
+        data.addRecord(size, reachability);
+        for (GraphStatsVisitor v : visitors) {
+            v.visit(o, size, reachability);
+        }
+    }
+
+    private GraphStats walkParallel(Object... roots) {
+        GraphStats data = new GraphStats();
+        data.initReachability();
+
+        IdentitySet visited = newVisitedSet();
+        Map<Thread, GraphStats> shards = new ConcurrentHashMap<>();
+        VirtualMachine vm = VM.current();
+
+        Reachability[] phases = Reachability.values();
+
+        // Referents that are weaker than the current phase, waiting for their phase.
+        List<Queue<Object>> deferred = new ArrayList<>();
+        for (int p = 0; p < phases.length; p++) {
+            deferred.add(new ConcurrentLinkedQueue<>());
+        }
+        deferred.get(Reachability.STRONG.ordinal()).addAll(Arrays.asList(roots));
+
+        for (Reachability phase : phases) {
+            List<StatsTask> tasks = new ArrayList<>();
+            for (Object e : deferred.get(phase.ordinal())) {
+                if (visited.add(e)) {
+                    addRecord(data, e, vm, phase);
+                    tasks.add(new StatsTask(shards, visited, vm, phase, deferred, new Object[] { e }));
+                }
+            }
+            if (!tasks.isEmpty()) {
+                ParallelWalkTask.run(parallelism, tasks);
+            }
+        }
+
+        for (GraphStats shard : shards.values()) {
+            data.merge(shard);
+        }
+        return data;
+    }
+
+    private class StatsTask extends ParallelWalkTask<Object, GraphStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final IdentitySet visited;
+        private final VirtualMachine vm;
+        private final Reachability phase;
+        private final List<Queue<Object>> deferred;
+
+        StatsTask(Map<Thread, GraphStats> shards, IdentitySet visited, VirtualMachine vm,
+                  Reachability phase, List<Queue<Object>> deferred, Object[] batch) {
+            super(shards, batch);
+            this.visited = visited;
+            this.vm = vm;
+            this.phase = phase;
+            this.deferred = deferred;
+        }
+
+        StatsTask(Map<Thread, GraphStats> shards, IdentitySet visited, VirtualMachine vm,
+                  Reachability phase, List<Queue<Object>> deferred, Object array, int from, int to) {
+            super(shards, array, from, to);
+            this.visited = visited;
+            this.vm = vm;
+            this.phase = phase;
+            this.deferred = deferred;
+        }
 
+        @Override
+        GraphStats newShard() {
+            return new GraphStats();
+        }
+
+        @Override
+        int referenceArrayLength(Object o) {
+            return AbstractGraphWalker.referenceArrayLength(o);
+        }
+
+        @Override
+        void visit(GraphStats data, Object o, SimpleStack<Object> s) {
+            Class<?> cl = o.getClass();
             if (cl.isArray()) {
-                if (cl.getComponentType().isPrimitive()) {
-                    // Nothing to do here
+                // Primitive array, nothing to do here
+                return;
+            }
+
+            Reachability strength = referentStrength(cl);
+            for (Field f : getAllReferenceFields(cl)) {
+                Object e = ObjectUtils.value(o, f);
+                if (e == null || isStopped(e)) {
                     continue;
                 }
-
-                for (Object e : (Object[]) o) {
-                    if (e != null && visited.add(e)) {
-                        data.addRecord(vm.sizeOf(e));
-                        s.push(e);
+                if (strength != Reachability.STRONG && isReferent(f)) {
+                    if (!followedReferents.contains(strength)) {
+                        continue;
                     }
-                }
-            } else {
-                for (Field f : getAllReferenceFields(cl)) {
-                    Object e = ObjectUtils.value(o, f);
-                    if (e != null && visited.add(e)) {
-                        data.addRecord(vm.sizeOf(e));
-                        s.push(e);
+                    if (strength.compareTo(phase) > 0) {
+                        deferred.get(strength.ordinal()).add(e);
+                        continue;
                     }
                 }
+                if (visited.add(e)) {
+                    addRecord(data, e, vm, phase);
+                    s.push(e);
+                }
             }
         }
 
-        return data;
+        @Override
+        void visitArray(GraphStats data, Object array, int from, int to, SimpleStack<Object> s) {
+            Object[] arr = (Object[]) array;
+            for (int i = from; i < to; i++) {
+                Object e = arr[i];
+                if (e != null && !isStopped(e) && visited.add(e)) {
+                    addRecord(data, e, vm, phase);
+                    s.push(e);
+                }
+            }
+        }
+
+        @Override
+        StatsTask newTask(Object[] batch) {
+            return new StatsTask(shards(), visited, vm, phase, deferred, batch);
+        }
+
+        @Override
+        StatsTask newTask(Object array, int from, int to) {
+            return new StatsTask(shards(), visited, vm, phase, deferred, array, from, to);
+        }
     }
 
 }
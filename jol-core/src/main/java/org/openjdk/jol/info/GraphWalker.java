@@ -24,13 +24,18 @@
  */
 package org.openjdk.jol.info;
 
+import org.openjdk.jol.util.IdentitySet;
 import org.openjdk.jol.util.ObjectUtils;
-import org.openjdk.jol.util.SimpleIdentityHashSet;
+import org.openjdk.jol.util.SegmentedStack;
 import org.openjdk.jol.util.SimpleStack;
 import org.openjdk.jol.vm.VM;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Concrete class to walk object graphs.
@@ -40,20 +45,106 @@ import java.util.HashMap;
 public class GraphWalker extends AbstractGraphWalker {
 
     private final GraphVisitor[] visitors;
-    private final HashMap<Class<?>, Long> sizeCache;
+    private final Map<Class<?>, Long> sizeCache;
+    private boolean compactRecords;
 
     public GraphWalker(GraphVisitor... visitor) {
         this.visitors = visitor;
-        sizeCache = new HashMap<>();
+        sizeCache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Sets the number of threads to walk the graph with. Parallel walks run
+     * in the work-stealing pool, and split the work by roots, by chunks of large
+     * arrays, and by whatever subgraphs are discovered along the way.
+     * Visitors are called from several threads in parallel walks, and
+     * the order of records in the resulting layout is not stable.
+     *
+     * @param parallelism number of threads, 1 walks in the calling thread
+     * @return this walker
+     */
+    public GraphWalker setParallelism(int parallelism) {
+        verifyParallelism(parallelism);
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets the strategy to track the visited objects with.
+     *
+     * @param tracking visited tracking strategy
+     * @return this walker
+     * @see VisitedTracking
+     */
+    public GraphWalker setVisitedTracking(VisitedTracking tracking) {
+        verifyVisitedTracking(tracking);
+        this.visitedTracking = tracking;
+        return this;
+    }
+
+    /**
+     * Sets the boundary for the walk.
+     *
+     * @param boundary walk boundary, or null to walk everything reachable
+     * @return this walker
+     * @see GraphBoundary
+     */
+    public GraphWalker setBoundary(GraphBoundary boundary) {
+        this.boundary = boundary;
+        return this;
+    }
+
+    /**
+     * Sets the kinds of references which referents are followed. By default,
+     * all referents are followed like the regular fields. The referents of
+     * references of other kinds are not walked, and the objects only reachable
+     * through them are not counted. Without arguments, only the strongly
+     * reachable objects are walked.
+     * <p>
+     * Unlike {@link GraphStatsWalker}, this walker does not split the objects by
+     * {@link Reachability}: the objects reachable through the followed referents
+     * are counted as the strongly reachable ones.
+     *
+     * @param kinds reference kinds to follow, {@link Reachability#STRONG} is implied
+     * @return this walker
+     */
+    public GraphWalker setFollowedReferents(Reachability... kinds) {
+        this.followedReferents = referentKinds(kinds);
+        return this;
+    }
+
+    /**
+     * Sets whether the resulting layout keeps the compact records. Compact records
+     * store the object data in parallel primitive arrays, and reconstruct the
+     * object paths and descriptors on demand. Compact records are only supported
+     * in sequential walks.
+     *
+     * @param compact whether to keep the compact records
+     * @return this walker
+     */
+    public GraphWalker setCompactRecords(boolean compact) {
+        this.compactRecords = compact;
+        return this;
     }
 
     public GraphLayout walk(Object... roots) {
         verifyRoots(roots);
 
-        GraphLayout data = new GraphLayout(roots);
+        if (compactRecords) {
+            if (parallelism > 1) {
+                throw new IllegalStateException("Compact records are not supported in parallel walks");
+            }
+            return walkCompact(roots);
+        }
+
+        if (parallelism > 1) {
+            return walkParallel(roots);
+        }
+
+        GraphLayout data = new GraphLayout(roots, visitedTracking);
 
-        SimpleIdentityHashSet visited = new SimpleIdentityHashSet();
-        SimpleStack<GraphPathRecord> s = new SimpleStack<>();
+        IdentitySet visited = newVisitedSet();
+        SegmentedStack<GraphPathRecord> s = new SegmentedStack<>();
 
         int rootId = 1;
         boolean single = (roots.length == 1);
@@ -82,7 +173,7 @@ public class GraphWalker extends AbstractGraphWalker {
 
                 for (int i = 0; i < arr.length; i++) {
                     Object e = arr[i];
-                    if (e != null && visited.add(e)) {
+                    if (e != null && !isStopped(e) && visited.add(e)) {
                         GraphPathRecord gpr = new ArrayGraphPathRecord(cGpr, i, cGpr.depth() + 1, e);
                         data.addRecord(gpr);
                         for (GraphVisitor v : visitors) {
@@ -92,16 +183,15 @@ public class GraphWalker extends AbstractGraphWalker {
                     }
                 }
             } else {
-                Long knownSize = sizeCache.get(cl);
-                if (knownSize == null) {
-                    knownSize = VM.current().sizeOf(o);
-                    sizeCache.put(cl, knownSize);
-                }
-                cGpr.setSize(knownSize);
+                cGpr.setSize(knownSize(cl, o));
 
+                boolean skipReferent = skipsReferent(cl);
                 for (Field f : getAllReferenceFields(cl)) {
+                    if (skipReferent && isReferent(f)) {
+                        continue;
+                    }
                     Object e = ObjectUtils.value(o, f);
-                    if (e != null && visited.add(e)) {
+                    if (e != null && !isStopped(e) && visited.add(e)) {
                         GraphPathRecord gpr = new FieldGraphPathRecord(cGpr, f.getName(), cGpr.depth() + 1, e);
                         data.addRecord(gpr);
                         for (GraphVisitor v : visitors) {
@@ -116,4 +206,202 @@ public class GraphWalker extends AbstractGraphWalker {
         return data;
     }
 
+    private GraphLayout walkCompact(Object... roots) {
+        CompactGraphRecords records = new CompactGraphRecords(roots.length == 1);
+        GraphLayout data = new GraphLayout(roots, visitedTracking, records);
+
+        IdentitySet visited = newVisitedSet();
+        int[] s = new int[16];
+        int sp = 0;
+
+        int rootId = 1;
+        for (Object root : roots) {
+            if (visited.add(root)) {
+                if (sp == s.length) {
+                    s = Arrays.copyOf(s, sp * 2);
+                }
+                s[sp++] = records.add(root, -1, rootId, 0);
+            }
+            rootId++;
+        }
+
+        while (sp > 0) {
+            int cIdx = s[--sp];
+            Object o = records.obj(cIdx);
+            Class<?> cl = o.getClass();
+            int depth = records.depth(cIdx) + 1;
+
+            if (cl.isArray()) {
+                if (cl.getComponentType().isPrimitive()) {
+                    // Nothing to do here
+                    continue;
+                }
+
+                Object[] arr = (Object[]) o;
+
+                for (int i = 0; i < arr.length; i++) {
+                    Object e = arr[i];
+                    if (e != null && !isStopped(e) && visited.add(e)) {
+                        int idx = records.add(e, cIdx, i, depth);
+                        visitCompact(records, idx);
+                        if (sp == s.length) {
+                            s = Arrays.copyOf(s, sp * 2);
+                        }
+                        s[sp++] = idx;
+                    }
+                }
+            } else {
+                records.setSize(cIdx, knownSize(cl, o));
+
+                Field[] fields = getAllReferenceFields(cl);
+                records.addFields(cl, fields);
+                boolean skipReferent = skipsReferent(cl);
+                for (int f = 0; f < fields.length; f++) {
+                    if (skipReferent && isReferent(fields[f])) {
+                        continue;
+                    }
+                    Object e = ObjectUtils.value(o, fields[f]);
+                    if (e != null && !isStopped(e) && visited.add(e)) {
+                        int idx = records.add(e, cIdx, f, depth);
+                        visitCompact(records, idx);
+                        if (sp == s.length) {
+                            s = Arrays.copyOf(s, sp * 2);
+                        }
+                        s[sp++] = idx;
+                    }
+                }
+            }
+        }
+
+        records.trim();
+        return data;
+    }
+
+    private void visitCompact(CompactGraphRecords records, int idx) {
+        if (visitors.length > 0) {
+            GraphPathRecord gpr = records.record(idx);
+            for (GraphVisitor v : visitors) {
+                v.visit(gpr);
+            }
+        }
+    }
+
+    private long knownSize(Class<?> cl, Object o) {
+        Long knownSize = sizeCache.get(cl);
+        if (knownSize == null) {
+            knownSize = VM.current().sizeOf(o);
+            sizeCache.put(cl, knownSize);
+        }
+        return knownSize;
+    }
+
+    private GraphLayout walkParallel(Object... roots) {
+        GraphLayout data = new GraphLayout(roots, visitedTracking);
+
+        IdentitySet visited = newVisitedSet();
+        Map<Thread, List<GraphPathRecord>> shards = new ConcurrentHashMap<>();
+
+        List<LayoutTask> tasks = new ArrayList<>();
+        int rootId = 1;
+        boolean single = (roots.length == 1);
+        for (Object root : roots) {
+            String label = single ? "" : ("<r" + rootId + ">");
+            GraphPathRecord e = new FieldGraphPathRecord(null, label, 0, root);
+            if (visited.add(root)) {
+                data.addRecord(e);
+                tasks.add(new LayoutTask(shards, visited, new Object[] { e }));
+            }
+            rootId++;
+        }
+
+        ParallelWalkTask.run(parallelism, tasks);
+
+        for (List<GraphPathRecord> shard : shards.values()) {
+            for (GraphPathRecord gpr : shard) {
+                data.addRecord(gpr);
+            }
+        }
+        return data;
+    }
+
+    private class LayoutTask extends ParallelWalkTask<GraphPathRecord, List<GraphPathRecord>> {
+        private static final long serialVersionUID = 1L;
+
+        private final IdentitySet visited;
+
+        LayoutTask(Map<Thread, List<GraphPathRecord>> shards, IdentitySet visited, Object[] batch) {
+            super(shards, batch);
+            this.visited = visited;
+        }
+
+        LayoutTask(Map<Thread, List<GraphPathRecord>> shards, IdentitySet visited, GraphPathRecord array, int from, int to) {
+            super(shards, array, from, to);
+            this.visited = visited;
+        }
+
+        @Override
+        List<GraphPathRecord> newShard() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        int referenceArrayLength(GraphPathRecord gpr) {
+            return AbstractGraphWalker.referenceArrayLength(gpr.obj());
+        }
+
+        @Override
+        void visit(List<GraphPathRecord> data, GraphPathRecord cGpr, SimpleStack<GraphPathRecord> s) {
+            Object o = cGpr.obj();
+            Class<?> cl = o.getClass();
+            if (cl.isArray()) {
+                // Primitive array, nothing to do here
+                return;
+            }
+
+            cGpr.setSize(knownSize(cl, o));
+
+            boolean skipReferent = skipsReferent(cl);
+            for (Field f : getAllReferenceFields(cl)) {
+                if (skipReferent && isReferent(f)) {
+                    continue;
+                }
+                Object e = ObjectUtils.value(o, f);
+                if (e != null && !isStopped(e) && visited.add(e)) {
+                    GraphPathRecord gpr = new FieldGraphPathRecord(cGpr, f.getName(), cGpr.depth() + 1, e);
+                    data.add(gpr);
+                    for (GraphVisitor v : visitors) {
+                        v.visit(gpr);
+                    }
+                    s.push(gpr);
+                }
+            }
+        }
+
+        @Override
+        void visitArray(List<GraphPathRecord> data, GraphPathRecord cGpr, int from, int to, SimpleStack<GraphPathRecord> s) {
+            Object[] arr = (Object[]) cGpr.obj();
+            for (int i = from; i < to; i++) {
+                Object e = arr[i];
+                if (e != null && !isStopped(e) && visited.add(e)) {
+                    GraphPathRecord gpr = new ArrayGraphPathRecord(cGpr, i, cGpr.depth() + 1, e);
+                    data.add(gpr);
+                    for (GraphVisitor v : visitors) {
+                        v.visit(gpr);
+                    }
+                    s.push(gpr);
+                }
+            }
+        }
+
+        @Override
+        LayoutTask newTask(Object[] batch) {
+            return new LayoutTask(shards(), visited, batch);
+        }
+
+        @Override
+        LayoutTask newTask(GraphPathRecord array, int from, int to) {
+            return new LayoutTask(shards(), visited, array, from, to);
+        }
+    }
+
 }
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.MathUtil;
+import org.openjdk.jol.util.ObjectUtils;
+import org.openjdk.jol.util.ReusableIdentityHashSet;
+import org.openjdk.jol.vm.VM;
+import org.openjdk.jol.vm.VirtualMachine;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+/**
+ * Reusable deep size calculator, for example for size-bounded caches that need
+ * the weight of every entry.
+ * <p>
+ * Unlike {@link GraphStats#parseInstance(Object...)}, the weigher keeps its visited
+ * set and its stack between the calls, and caches the shallow sizes and the reference
+ * field offsets per class, so that weighing the small graph costs about as much as
+ * reading its fields. The objects shared by many graphs, for example the common keys
+ * or the canonical values, can be excluded from all weights with
+ * {@link #addShared(Object...)}, and the walk can be limited with {@link GraphBoundary}
+ * and {@link #setFollowedReferents(Reachability...)}.
+ * <p>
+ * The weigher is not thread-safe: use one weigher per thread.
+ */
+public class GraphWeigher extends AbstractGraphWalker {
+
+    private static final ClassValue<Shallow> SHALLOW_SIZES = new ClassValue<Shallow>() {
+        @Override
+        protected Shallow computeValue(Class<?> cl) {
+            return new Shallow(cl);
+        }
+    };
+
+    private final VirtualMachine vm = VM.current();
+    private final int alignment = vm.objectAlignment();
+    private final ReusableIdentityHashSet visited = new ReusableIdentityHashSet();
+    private final ReusableIdentityHashSet shared = new ReusableIdentityHashSet();
+
+    private Object[] stack = new Object[16];
+    private long lastCount;
+
+    /**
+     * Sets the boundary for the walks.
+     *
+     * @param boundary walk boundary, or null to walk everything reachable
+     * @return this weigher
+     * @see GraphBoundary
+     */
+    public GraphWeigher setBoundary(GraphBoundary boundary) {
+        this.boundary = boundary;
+        return this;
+    }
+
+    /**
+     * Sets the kinds of references which referents are followed. By default, all
+     * referents are followed, and the objects reachable through them are counted
+     * as strongly reachable. Without arguments, only the strongly reachable objects
+     * are walked.
+     *
+     * @param kinds reference kinds to follow, {@link Reachability#STRONG} is implied
+     * @return this weigher
+     * @see GraphWalker#setFollowedReferents(Reachability...)
+     */
+    public GraphWeigher setFollowedReferents(Reachability... kinds) {
+        this.followedReferents = referentKinds(kinds);
+        return this;
+    }
+
+    /**
+     * Adds the shared objects. The walks stop at these objects, and do not count them.
+     *
+     * @param objs shared objects
+     * @return this weigher
+     */
+    public GraphWeigher addShared(Object... objs) {
+        verifyRoots(objs);
+        for (Object o : objs) {
+            shared.add(o);
+        }
+        return this;
+    }
+
+    /**
+     * Forgets all shared objects.
+     *
+     * @return this weigher
+     */
+    public GraphWeigher clearShared() {
+        shared.clear();
+        return this;
+    }
+
+    /**
+     * Answer the total footprint of the objects reachable from the root.
+     * The root itself is counted even if it is shared, or outside the boundary.
+     *
+     * @param root root instance
+     * @return total footprint, bytes
+     */
+    public long weigh(Object root) {
+        if (root == null) {
+            throw new IllegalArgumentException("Root is null");
+        }
+        boolean completed = false;
+        try {
+            visited.add(root);
+            long size = walk(shallowSize(root), 1, push(root, 0));
+            completed = true;
+            return size;
+        } finally {
+            release(completed);
+        }
+    }
+
+    /**
+     * Answer the total footprint of the objects reachable from the roots.
+     * The roots themselves are counted even if they are shared, or outside the boundary.
+     *
+     * @param roots root instances
+     * @return total footprint, bytes
+     */
+    public long weighAll(Object... roots) {
+        verifyRoots(roots);
+        boolean completed = false;
+        try {
+            long size = 0;
+            long count = 0;
+            int sp = 0;
+            for (Object root : roots) {
+                if (visited.add(root)) {
+                    size += shallowSize(root);
+                    count++;
+                    sp = push(root, sp);
+                }
+            }
+            size = walk(size, count, sp);
+            completed = true;
+            return size;
+        } finally {
+            release(completed);
+        }
+    }
+
+    /**
+     * Answer the number of objects counted by the last weigh.
+     *
+     * @return object count
+     */
+    public long lastCount() {
+        return lastCount;
+    }
+
+    private long walk(long size, long count, int sp) {
+        while (sp > 0) {
+            Object o = stack[--sp];
+            stack[sp] = null;
+            Class<?> cl = o.getClass();
+
+            if (cl.isArray()) {
+                if (cl.getComponentType().isPrimitive()) {
+                    continue;
+                }
+                for (Object e : (Object[]) o) {
+                    if (e != null && accept(e)) {
+                        size += shallowSize(e);
+                        count++;
+                        sp = push(e, sp);
+                    }
+                }
+            } else {
+                Field[] fields = getAllReferenceFields(cl);
+                long[] offsets = getAllReferenceOffsets(cl);
+                boolean skipReferent = skipsReferent(cl);
+                for (int i = 0; i < offsets.length; i++) {
+                    if (skipReferent && isReferent(fields[i])) {
+                        continue;
+                    }
+                    long off = offsets[i];
+                    Object e = (off >= 0) ? vm.getObject(o, off) : ObjectUtils.value(o, fields[i]);
+                    if (e != null && accept(e)) {
+                        size += shallowSize(e);
+                        count++;
+                        sp = push(e, sp);
+                    }
+                }
+            }
+        }
+        lastCount = count;
+        return size;
+    }
+
+    private boolean accept(Object e) {
+        if (shared.size() > 0 && shared.contains(e)) {
+            return false;
+        }
+        return !isStopped(e) && visited.add(e);
+    }
+
+    private int push(Object o, int sp) {
+        if (sp == stack.length) {
+            stack = Arrays.copyOf(stack, sp * 2);
+        }
+        stack[sp] = o;
+        return sp + 1;
+    }
+
+    private void release(boolean completed) {
+        visited.clear();
+        if (!completed || stack.length > 1024) {
+            // Failed walks leave something on the stack, do not keep it alive.
+            // Do not keep the stack grown by one very deep walk either.
+            stack = new Object[16];
+        }
+    }
+
+    private long shallowSize(Object o) {
+        Class<?> cl = o.getClass();
+        Shallow s = SHALLOW_SIZES.get(cl);
+        if (s.arrayScale > 0) {
+            return MathUtil.align(s.arrayBase + (long) Array.getLength(o) * s.arrayScale, alignment);
+        }
+        long size = s.instanceSize;
+        if (size < 0) {
+            size = vm.sizeOf(o);
+            if (cl != Class.class) {
+                // Class mirrors carry the static fields, and so their sizes differ.
+                s.instanceSize = size;
+            }
+        }
+        return size;
+    }
+
+    private static final class Shallow {
+        final int arrayBase;
+        final int arrayScale;
+        volatile long instanceSize = -1;
+
+        Shallow(Class<?> cl) {
+            if (cl.isArray()) {
+                VirtualMachine vm = VM.current();
+                String component = cl.getComponentType().getName();
+                arrayBase = vm.arrayBaseOffset(component);
+                arrayScale = vm.arrayIndexScale(component);
+            } else {
+                arrayBase = 0;
+                arrayScale = 0;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.ASCIITable;
+import org.openjdk.jol.util.ClassUtils;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Census of the object headers.
+ * <p>
+ * For every object, the census reads the mark word once, and aggregates the lock
+ * states, the identity hash presence and GC ages, per class. The mark word is
+ * decoded according to the current VM: 32-bit, 64-bit, or compact headers (Lilliput).
+ * The census can be taken over {@link GraphLayout}, or used as {@link GraphStatsVisitor}
+ * in {@link GraphStatsWalker} walks that do not retain the objects. Either way, the
+ * walk should not track the visited objects by their identity hashes, otherwise
+ * the census would count the hashes the walk has installed itself.
+ * <p>
+ * Mark words change as the application runs: the census is the snapshot of what
+ * the headers were at the time of reading.
+ */
+public class HeaderCensus implements GraphStatsVisitor {
+
+    /**
+     * Number of distinct GC ages the mark word can encode.
+     */
+    public static final int AGES = 16;
+
+    /**
+     * Take the census over the objects in the layout. Walks that track the visited
+     * objects by {@link VisitedTracking#IDENTITY_HASH} install the hash into every
+     * header: walk with {@link VisitedTracking#ADDRESS} to get the meaningful hash counts.
+     *
+     * @param layout layout
+     * @return header census
+     */
+    public static HeaderCensus parse(GraphLayout layout) {
+        HeaderCensus census = new HeaderCensus();
+        GraphRecords records = layout.records();
+        for (int i = 0; i < records.count(); i++) {
+            census.add(records.obj(i));
+        }
+        return census;
+    }
+
+    /**
+     * Take the census over the object graphs, without retaining the objects.
+     * The walk tracks visited objects by {@link VisitedTracking#ADDRESS}, so that
+     * it does not install the identity hashes.
+     *
+     * @param roots root instances to start from
+     * @return header census
+     */
+    public static HeaderCensus parseInstance(Object... roots) {
+        HeaderCensus census = new HeaderCensus();
+        new GraphStatsWalker(census)
+                .setVisitedTracking(VisitedTracking.ADDRESS)
+                .walk(roots);
+        return census;
+    }
+
+    private final MarkWords marks = new MarkWords();
+    private final Map<Class<?>, Counts> counts = new HashMap<>();
+    private final Counts total = new Counts();
+
+    /**
+     * Create the empty census for the current VM.
+     */
+    public HeaderCensus() {
+        // Nothing to do.
+    }
+
+    @Override
+    public void visit(Object obj, long size) {
+        add(obj);
+    }
+
+    /**
+     * Read the object header, and count it.
+     *
+     * @param obj object
+     */
+    public synchronized void add(Object obj) {
+        long mark = marks.read(obj);
+        LockState state = marks.lockState(mark);
+
+        Counts c = counts.computeIfAbsent(obj.getClass(), k -> new Counts());
+        c.add(state, mark);
+        total.add(state, mark);
+    }
+
+    private final class Counts {
+        long count;
+        long hashed;
+        long aged;
+        long unknownAge;
+        final long[] states = new long[LockState.values().length];
+        final long[] ages = new long[AGES];
+
+        void add(LockState state, long mark) {
+            count++;
+            states[state.ordinal()]++;
+            if (marks.hasAge(state)) {
+                int age = MarkWords.age(mark);
+                ages[age]++;
+                if (age > 0) {
+                    aged++;
+                }
+                if (marks.hasHash(state) && marks.hashed(mark)) {
+                    hashed++;
+                }
+            } else {
+                unknownAge++;
+            }
+        }
+    }
+
+    private Counts counts(Class<?> klass) {
+        Counts c = counts.get(klass);
+        if (c == null) {
+            throw new IllegalArgumentException("Class is not in the census: " + klass);
+        }
+        return c;
+    }
+
+    /**
+     * Answer the classes in the census
+     *
+     * @return set of classes
+     */
+    public synchronized Set<Class<?>> classes() {
+        return Collections.unmodifiableSet(new HashSet<>(counts.keySet()));
+    }
+
+    /**
+     * Answer the number of objects in the census
+     *
+     * @return object count
+     */
+    public synchronized long count() {
+        return total.count;
+    }
+
+    /**
+     * Answer the number of objects of the given class in the census
+     *
+     * @param klass class
+     * @return object count
+     */
+    public synchronized long count(Class<?> klass) {
+        return counts(klass).count;
+    }
+
+    /**
+     * Answer the number of objects in the given lock state
+     *
+     * @param state lock state
+     * @return object count
+     */
+    public synchronized long count(LockState state) {
+        return total.states[state.ordinal()];
+    }
+
+    /**
+     * Answer the number of objects of the given class in the given lock state
+     *
+     * @param klass class
+     * @param state lock state
+     * @return object count
+     */
+    public synchronized long count(Class<?> klass, LockState state) {
+        return counts(klass).states[state.ordinal()];
+    }
+
+    /**
+     * Answer the number of objects with the installed identity hash. The objects
+     * whose mark word is displaced by locking or GC do not show their hash, and
+     * are not counted.
+     *
+     * @return hashed object count
+     */
+    public synchronized long hashedCount() {
+        return total.hashed;
+    }
+
+    /**
+     * Answer the number of objects of the given class with the installed identity hash.
+     *
+     * @param klass class
+     * @return hashed object count
+     */
+    public synchronized long hashedCount(Class<?> klass) {
+        return counts(klass).hashed;
+    }
+
+    /**
+     * Answer the GC age histogram. Only the objects that have the age in
+     * their mark word are counted, see {@link #unknownAgeCount()}.
+     *
+     * @return object counts per age, indexed by age
+     */
+    public synchronized long[] ageHistogram() {
+        return total.ages.clone();
+    }
+
+    /**
+     * Answer the GC age histogram for the objects of the given class.
+     *
+     * @param klass class
+     * @return object counts per age, indexed by age
+     */
+    public synchronized long[] ageHistogram(Class<?> klass) {
+        return counts(klass).ages.clone();
+    }
+
+    /**
+     * Answer the number of objects of unknown age. Stack locking, monitor
+     * pointers and GC forwarding displace the mark word, and hide the age.
+     * Lightweight locking and the object monitor table keep it visible.
+     *
+     * @return object count
+     */
+    public synchronized long unknownAgeCount() {
+        return total.unknownAge;
+    }
+
+    /**
+     * Answer the number of objects of the given class of unknown age.
+     *
+     * @param klass class
+     * @return object count
+     */
+    public synchronized long unknownAgeCount(Class<?> klass) {
+        return counts(klass).unknownAge;
+    }
+
+    /**
+     * Get the stringly representation of the header census
+     *
+     * @return census tables
+     */
+    public synchronized String toPrintable() {
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
+
+        ASCIITable table = new ASCIITable(
+                true,
+                "Object header census:",
+                "COUNT", "HASHED", "BIASED", "THIN", "INFLATED", "AGED", "CLASS");
+        for (Map.Entry<Class<?>, Counts> e : counts.entrySet()) {
+            Counts c = e.getValue();
+            table.addLine(ClassUtils.humanReadableName(e.getKey()),
+                    c.count,
+                    c.hashed,
+                    c.states[LockState.BIASED.ordinal()],
+                    c.states[LockState.THIN.ordinal()],
+                    c.states[LockState.INFLATED.ordinal()],
+                    c.aged);
+        }
+        table.print(pw, 0);
+
+        pw.println("GC age histogram:");
+        pw.println();
+        pw.printf(" %15s    %s%n", "COUNT", "AGE");
+        pw.println("------------------------------------------------------------------------------------------------");
+        for (int age = 0; age < AGES; age++) {
+            if (total.ages[age] != 0) {
+                pw.printf(" %,15d    %d%n", total.ages[age], age);
+            }
+        }
+        if (total.unknownAge != 0) {
+            pw.printf(" %,15d    %s%n", total.unknownAge, "unknown");
+        }
+        pw.println("------------------------------------------------------------------------------------------------");
+        pw.println();
+        pw.close();
+        return sw.toString();
+    }
+
+}
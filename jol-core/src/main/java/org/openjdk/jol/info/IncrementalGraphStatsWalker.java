@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.IdentitySet;
+import org.openjdk.jol.util.ObjectUtils;
+import org.openjdk.jol.util.SegmentedStack;
+import org.openjdk.jol.vm.VM;
+import org.openjdk.jol.vm.VirtualMachine;
+
+import java.lang.reflect.Field;
+import java.util.EnumSet;
+
+/**
+ * Walker for graph statistics that does the work in bounded steps.
+ *
+ * The walker keeps the walk state between the steps, so that the walk can be spread
+ * over many short slices, for example from the scheduled executor. Large reference arrays
+ * are scanned across several steps as well. The walker is not a snapshot: the objects
+ * that were reachable while the walk was progressing are accounted. The steps should
+ * not run concurrently, but they can run in different threads.
+ */
+public class IncrementalGraphStatsWalker extends AbstractGraphWalker {
+
+    // Do not poll the clock on every object.
+    private static final int CLOCK_CHECK_INTERVAL = 256;
+
+    private final GraphStatsVisitor[] visitors;
+
+    private GraphStats data;
+    private IdentitySet visited;
+    private SegmentedStack<Object> stack;
+    private Object[] array;
+    private int arrayPos;
+    private long steps;
+
+    public IncrementalGraphStatsWalker(GraphStatsVisitor... visitors) {
+        this.visitors = visitors;
+    }
+
+    /**
+     * Sets the strategy to track the visited objects with.
+     * The strategy cannot change while the walk is in progress.
+     *
+     * @param tracking visited tracking strategy
+     * @return this walker
+     * @see VisitedTracking
+     */
+    public synchronized IncrementalGraphStatsWalker setVisitedTracking(VisitedTracking tracking) {
+        verifyVisitedTracking(tracking);
+        if (stack != null) {
+            throw new IllegalStateException("Walk is in progress");
+        }
+        this.visitedTracking = tracking;
+        return this;
+    }
+
+    /**
+     * Sets the boundary for the walk.
+     * The boundary cannot change while the walk is in progress.
+     *
+     * @param boundary walk boundary, or null to walk everything reachable
+     * @return this walker
+     * @see GraphBoundary
+     */
+    public synchronized IncrementalGraphStatsWalker setBoundary(GraphBoundary boundary) {
+        if (stack != null) {
+            throw new IllegalStateException("Walk is in progress");
+        }
+        this.boundary = boundary;
+        return this;
+    }
+
+    /**
+     * Sets the kinds of references which referents are followed. By default, all
+     * referents are followed, and the objects reachable through them are counted
+     * as strongly reachable. Without arguments, only the strongly reachable objects
+     * are walked.
+     * The kinds cannot change while the walk is in progress.
+     *
+     * @param kinds reference kinds to follow, {@link Reachability#STRONG} is implied
+     * @return this walker
+     * @see GraphWalker#setFollowedReferents(Reachability...)
+     */
+    public synchronized IncrementalGraphStatsWalker setFollowedReferents(Reachability... kinds) {
+        EnumSet<Reachability> set = referentKinds(kinds);
+        if (stack != null) {
+            throw new IllegalStateException("Walk is in progress");
+        }
+        this.followedReferents = set;
+        return this;
+    }
+
+    /**
+     * Starts the new walk from the given roots. Any walk in progress is abandoned.
+     *
+     * @param roots root instances to start from
+     * @return this walker
+     */
+    public synchronized IncrementalGraphStatsWalker start(Object... roots) {
+        verifyRoots(roots);
+
+        data = new GraphStats();
+        visited = newVisitedSet();
+        stack = new SegmentedStack<>();
+        array = null;
+        arrayPos = 0;
+        steps = 0;
+
+        VirtualMachine vm = VM.current();
+        for (Object root : roots) {
+            if (visited.add(root)) {
+                addRecord(root, vm);
+                stack.push(root);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Does the next step of the walk. The step ends when the walk completes, or when it has
+     * processed the given number of objects and reference array elements, or when it has
+     * run for the given time, whichever comes first. Every step makes some progress.
+     *
+     * @param maxObjects maximum number of objects and reference array elements to process,
+     *                   {@link Long#MAX_VALUE} for no limit
+     * @param maxNanos maximum time to run, in nanoseconds, {@link Long#MAX_VALUE} for no limit
+     * @return true, if the walk has completed
+     */
+    public synchronized boolean step(long maxObjects, long maxNanos) {
+        if (maxObjects <= 0) {
+            throw new IllegalArgumentException("Object budget should be positive: " + maxObjects);
+        }
+        if (maxNanos <= 0) {
+            throw new IllegalArgumentException("Time budget should be positive: " + maxNanos);
+        }
+        if (data == null) {
+            throw new IllegalStateException("Walk is not started");
+        }
+        if (stack == null) {
+            return true;
+        }
+
+        steps++;
+
+        VirtualMachine vm = VM.current();
+        long startTime = System.nanoTime();
+        long work = 0;
+        long lastCheck = 0;
+
+        while (true) {
+            if (array != null) {
+                Object[] arr = array;
+                int end = arrayPos + (int) Math.min(arr.length - arrayPos,
+                                                    Math.min(maxObjects - work, CLOCK_CHECK_INTERVAL));
+                for (int i = arrayPos; i < end; i++) {
+                    Object e = arr[i];
+                    if (e != null && !isStopped(e) && visited.add(e)) {
+                        addRecord(e, vm);
+                        stack.push(e);
+                    }
+                }
+                work += end - arrayPos;
+                if (end == arr.length) {
+                    array = null;
+                    arrayPos = 0;
+                } else {
+                    arrayPos = end;
+                }
+            } else if (stack.isEmpty()) {
+                // Done, release the walk state.
+                visited = null;
+                stack = null;
+                return true;
+            } else {
+                Object o = stack.pop();
+                Class<?> cl = o.getClass();
+                work++;
+
+                if (cl.isArray()) {
+                    if (!cl.getComponentType().isPrimitive()) {
+                        array = (Object[]) o;
+                        arrayPos = 0;
+                    }
+                } else {
+                    boolean skipReferent = skipsReferent(cl);
+                    for (Field f : getAllReferenceFields(cl)) {
+                        if (skipReferent && isReferent(f)) {
+                            continue;
+                        }
+                        Object e = ObjectUtils.value(o, f);
+                        if (e != null && !isStopped(e) && visited.add(e)) {
+                            addRecord(e, vm);
+                            stack.push(e);
+                        }
+                    }
+                }
+            }
+
+            if (work >= maxObjects) {
+                return false;
+            }
+            if (maxNanos != Long.MAX_VALUE && work - lastCheck >= CLOCK_CHECK_INTERVAL) {
+                lastCheck = work;
+                if (System.nanoTime() - startTime >= maxNanos) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Walks the graph from the given roots to completion.
+     *
+     * @param roots root instances to start from
+     * @return graph statistics
+     */
+    public GraphStats walk(Object... roots) {
+        start(roots);
+        while (!step(Long.MAX_VALUE, Long.MAX_VALUE)) {
+            // Continue
+        }
+        return stats();
+    }
+
+    /**
+     * Answer whether the walk has completed.
+     *
+     * @return true, if the walk has completed
+     */
+    public synchronized boolean isDone() {
+        return data != null && stack == null;
+    }
+
+    /**
+     * Answer the number of steps done in the current walk.
+     *
+     * @return number of steps
+     */
+    public synchronized long steps() {
+        return steps;
+    }
+
+    /**
+     * Answer the statistics accumulated so far. The statistics are complete
+     * once the walk has completed.
+     *
+     * @return graph statistics copy
+     */
+    public synchronized GraphStats stats() {
+        if (data == null) {
+            throw new IllegalStateException("Walk is not started");
+        }
+        GraphStats copy = new GraphStats();
+        copy.merge(data);
+        return copy;
+    }
+
+    private void addRecord(Object o, VirtualMachine vm) {
+        long size = vm.sizeOf(o);
+        data.addRecord(size);
+        for (GraphStatsVisitor v : visitors) {
+            v.visit(o, size);
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Graph records that keep the path record per object.
+ */
+final class ListGraphRecords implements GraphRecords {
+    private final List<GraphPathRecord> gprs = new ArrayList<>();
+
+    void add(GraphPathRecord gpr) {
+        gprs.add(gpr);
+    }
+
+    @Override
+    public int count() {
+        return gprs.size();
+    }
+
+    @Override
+    public Object obj(int idx) {
+        return gprs.get(idx).obj();
+    }
+
+    @Override
+    public long size(int idx) {
+        return gprs.get(idx).size();
+    }
+
+    @Override
+    public int depth(int idx) {
+        return gprs.get(idx).depth();
+    }
+
+    @Override
+    public GraphPathRecord record(int idx) {
+        return gprs.get(idx);
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+/**
+ * Lock states, as encoded in the object mark word.
+ */
+public enum LockState {
+
+    /**
+     * Not locked. The mark word carries the identity hash, if installed, and the GC age.
+     */
+    UNLOCKED,
+
+    /**
+     * Biased towards a thread. Only the older VMs have biased locking.
+     */
+    BIASED,
+
+    /**
+     * Thin-locked by the owning thread. With the stack locking of the older VMs,
+     * the mark word is displaced, and hash and age are not visible. Lightweight
+     * locking, the default since JDK 23, keeps them in the mark word.
+     */
+    THIN,
+
+    /**
+     * Inflated to the monitor. The mark word is displaced by the monitor pointer, and
+     * hash and age are not visible, unless the VM keeps the monitors in the side table
+     * ({@code -XX:+UseObjectMonitorTable}).
+     */
+    INFLATED,
+
+    /**
+     * Marked by GC, for example forwarded. Hash and age are not visible.
+     */
+    MARKED,
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.vm.VM;
+import org.openjdk.jol.vm.VirtualMachine;
+
+/**
+ * Reads and decodes the object mark words for the current VM.
+ */
+final class MarkWords {
+
+    private enum Encoding {
+        LEGACY_32,
+        LEGACY_64,
+        COMPACT_64,
+        COMPACT_32,
+    }
+
+    private final VirtualMachine vm;
+    private final Encoding encoding;
+    private final boolean thinKeepsMark;
+    private final boolean inflatedKeepsMark;
+
+    MarkWords() {
+        vm = VM.current();
+        if (vm.addressSize() == 4) {
+            encoding = Encoding.LEGACY_32;
+        } else if (vm.classPointerSize() > 0) {
+            encoding = Encoding.LEGACY_64;
+        } else if (vm.objectHeaderSize() > 4) {
+            encoding = Encoding.COMPACT_64;
+        } else {
+            encoding = Encoding.COMPACT_32;
+        }
+        // Stack locking and monitor pointers displace the mark word,
+        // lightweight locking and monitor table keep it in place.
+        thinKeepsMark = vm.lightweightLocking();
+        inflatedKeepsMark = vm.objectMonitorTable();
+    }
+
+    /**
+     * Read the mark word.
+     *
+     * @param obj object
+     * @return mark word, zero-extended to 64 bits
+     */
+    long read(Object obj) {
+        switch (encoding) {
+            case LEGACY_32:
+            case COMPACT_32:
+                return vm.getInt(obj, 0) & 0xFFFF_FFFFL;
+            default:
+                return vm.getLong(obj, 0);
+        }
+    }
+
+    LockState lockState(long mark) {
+        switch ((int) (mark & 0b11)) {
+            case 0b00:
+                return LockState.THIN;
+            case 0b10:
+                return LockState.INFLATED;
+            case 0b11:
+                return LockState.MARKED;
+            default:
+                if ((encoding == Encoding.LEGACY_32 || encoding == Encoding.LEGACY_64) && (mark & 0b111) == 0b101) {
+                    return LockState.BIASED;
+                }
+                return LockState.UNLOCKED;
+        }
+    }
+
+    /**
+     * Answer if the mark word carries the age, that is, it is not displaced.
+     *
+     * @param state lock state
+     * @return true, if age is visible
+     */
+    boolean hasAge(LockState state) {
+        switch (state) {
+            case UNLOCKED:
+            case BIASED:
+                return true;
+            case THIN:
+                return thinKeepsMark;
+            case INFLATED:
+                return inflatedKeepsMark;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Answer if the mark word carries the identity hash bits. Biased mark words
+     * carry the thread instead.
+     *
+     * @param state lock state
+     * @return true, if hash is visible
+     */
+    boolean hasHash(LockState state) {
+        return state != LockState.BIASED && hasAge(state);
+    }
+
+    static int age(long mark) {
+        return (int) ((mark >>> 3) & 0xF);
+    }
+
+    boolean hashed(long mark) {
+        switch (encoding) {
+            case LEGACY_32:
+                //    hash:25 ------------>| age:4    biased_lock:1 lock:2 (normal object)
+                return (mark >>> 7) != 0;
+            case LEGACY_64:
+                //  unused:25 hash:31 -->| unused_gap:1   age:4    biased_lock:1 lock:2 (normal object)
+                return ((mark >>> 8) & 0x7FFF_FFFFL) != 0;
+            case COMPACT_64:
+                //  klass:22  hash:31 -->| unused_gap:4   age:4    self-fwd:1  lock:2 (normal object)
+                return ((mark >>> 11) & 0x7FFF_FFFFL) != 0;
+            default:
+                // 32-bit compact headers do not keep the hash in the mark word.
+                return false;
+        }
+    }
+
+}
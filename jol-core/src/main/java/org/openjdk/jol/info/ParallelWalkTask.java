@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+import org.openjdk.jol.util.SimpleStack;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join task for parallel graph walks.
+ *
+ * The task walks the graph either from the batch of elements, or from the chunk
+ * of a large reference array. When the local stack grows large and other workers
+ * are idle, it donates half of the stack to the new task. Every worker thread
+ * accumulates the results into its own shard, which the caller merges after the walk.
+ *
+ * @param <E> walk element type
+ * @param <S> per-worker shard type
+ */
+abstract class ParallelWalkTask<E, S> extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Reference arrays longer than this are walked by several tasks.
+     */
+    static final int ARRAY_CHUNK = 4096;
+
+    /**
+     * Local stacks deeper than this are donating the work to idle workers.
+     */
+    static final int SPLIT_THRESHOLD = 256;
+
+    private final Map<Thread, S> shards;
+    private final Object[] batch;
+    private final E array;
+    private final int from;
+    private final int to;
+
+    ParallelWalkTask(Map<Thread, S> shards, Object[] batch) {
+        this.shards = shards;
+        this.batch = batch;
+        this.array = null;
+        this.from = 0;
+        this.to = 0;
+    }
+
+    ParallelWalkTask(Map<Thread, S> shards, E array, int from, int to) {
+        this.shards = shards;
+        this.batch = null;
+        this.array = array;
+        this.from = from;
+        this.to = to;
+    }
+
+    final Map<Thread, S> shards() {
+        return shards;
+    }
+
+    /**
+     * Runs the tasks in a new work-stealing pool, and waits for them to complete.
+     *
+     * @param parallelism number of workers
+     * @param tasks initial tasks
+     */
+    static void run(int parallelism, Collection<? extends ParallelWalkTask<?, ?>> tasks) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected final void compute() {
+        S shard = shards.computeIfAbsent(Thread.currentThread(), t -> newShard());
+
+        SimpleStack<E> s = new SimpleStack<>();
+        List<ParallelWalkTask<E, S>> forked = new ArrayList<>();
+
+        if (batch != null) {
+            for (Object e : batch) {
+                s.push((E) e);
+            }
+        } else {
+            visitArray(shard, array, from, to, s);
+        }
+
+        while (!s.isEmpty()) {
+            E e = s.pop();
+
+            int len = referenceArrayLength(e);
+            if (len > ARRAY_CHUNK) {
+                for (int f = 0; f < len; f += ARRAY_CHUNK) {
+                    ParallelWalkTask<E, S> t = newTask(e, f, Math.min(len, f + ARRAY_CHUNK));
+                    t.fork();
+                    forked.add(t);
+                }
+            } else if (len >= 0) {
+                visitArray(shard, e, 0, len, s);
+            } else {
+                visit(shard, e, s);
+            }
+
+            if (s.size() > SPLIT_THRESHOLD && getSurplusQueuedTaskCount() < 1) {
+                Object[] donated = new Object[s.size() / 2];
+                for (int i = 0; i < donated.length; i++) {
+                    donated[i] = s.pop();
+                }
+                ParallelWalkTask<E, S> t = newTask(donated);
+                t.fork();
+                forked.add(t);
+            }
+        }
+
+        for (ParallelWalkTask<E, S> t : forked) {
+            t.join();
+        }
+    }
+
+    /**
+     * Creates the new shard for the current worker.
+     *
+     * @return new shard
+     */
+    abstract S newShard();
+
+    /**
+     * Answers the length of reference array.
+     *
+     * @param e element
+     * @return array length, or -1 if element is not a reference array
+     */
+    abstract int referenceArrayLength(E e);
+
+    /**
+     * Visits the non-array element, and pushes newly discovered elements to the stack.
+     */
+    abstract void visit(S shard, E e, SimpleStack<E> s);
+
+    /**
+     * Visits the chunk of the reference array, and pushes newly discovered elements to the stack.
+     */
+    abstract void visitArray(S shard, E array, int from, int to, SimpleStack<E> s);
+
+    abstract ParallelWalkTask<E, S> newTask(Object[] batch);
+
+    abstract ParallelWalkTask<E, S> newTask(E array, int from, int to);
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+/**
+ * Reachability strengths of the objects in the walked graph, from the strongest
+ * to the weakest. The object is as reachable as the strongest path to it, and
+ * the path is as strong as the weakest {@link java.lang.ref.Reference} referent
+ * it goes through. This mirrors what the garbage collector would do: only the
+ * strongly reachable objects are guaranteed to stay, everything else is held
+ * by references the collector is allowed to clear.
+ */
+public enum Reachability {
+
+    /**
+     * Reachable without going through any reference referent.
+     */
+    STRONG,
+
+    /**
+     * Reachable through {@link java.lang.ref.SoftReference} referents,
+     * but not strongly. These are cleared under memory pressure.
+     */
+    SOFT,
+
+    /**
+     * Reachable through {@link java.lang.ref.WeakReference} referents,
+     * but not strongly or softly. These are cleared at the next GC.
+     */
+    WEAK,
+
+    /**
+     * Reachable only through {@link java.lang.ref.PhantomReference} referents,
+     * or through referents of other reference kinds, e.g. finalizer references.
+     */
+    PHANTOM,
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.info;
+
+/**
+ * Strategies for tracking the visited objects in graph walks.
+ */
+public enum VisitedTracking {
+
+    /**
+     * Track objects by their identity hash codes. This is the fastest strategy,
+     * but it installs the identity hash code into the header of every walked object,
+     * which stays there after the walk. On older JDKs, this also revokes biased locks.
+     */
+    IDENTITY_HASH,
+
+    /**
+     * Track objects by their addresses, re-hashing the visited set after every GC.
+     * This leaves object headers intact, at the expense of some performance.
+     * With concurrent moving collectors, this strategy may occasionally
+     * count the object that moved during the walk twice.
+     */
+    ADDRESS,
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.util;
+
+import org.openjdk.jol.vm.VM;
+import org.openjdk.jol.vm.VirtualMachine;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Identity hash set keyed by object addresses. Unlike {@link SimpleIdentityHashSet},
+ * this set never asks for identity hash codes, and thus does not install them
+ * into object headers of the walked objects.
+ * <p>
+ * Objects are hashed by the raw bits of their references, which do not need
+ * the compressed references details. Objects are still compared by identity,
+ * so the set never reports the new object as already present. Objects move during
+ * GC, which makes the address-derived slots stale. The set re-hashes the table
+ * with the fresh addresses once it notices the objects have moved.
+ * <p>
+ * Reading the {@link GCEpoch} on every insert is expensive, so the set instead
+ * keeps the weak reference to the fresh canary object, and checks if it was cleared.
+ * Collections clear the canary before they move anything. The epoch itself is
+ * checked on every re-hash, and once per thousand or so inserts, as the backstop.
+ * Concurrent moving collectors can still relocate objects after the set was
+ * re-hashed in the middle of the cycle: with them, the set may occasionally miss
+ * the moved object, and accept it for the second time.
+ * <p>
+ * Cuts corners where it can.
+ */
+public final class AddressIdentityHashSet implements IdentitySet {
+    private static final int MINIMUM_CAPACITY = 4;
+    private static final int MAXIMUM_CAPACITY = 1 << 29;
+    private static final int EPOCH_CHECK_INTERVAL = 1024;
+
+    private final VirtualMachine vm;
+
+    private Object[] table;
+    private int hashShift;
+    private int size;
+    private long epoch;
+    private int untilEpochCheck;
+
+    private WeakReference<Object> canary;
+
+    public AddressIdentityHashSet() {
+        if (!GCEpoch.isSupported()) {
+            throw new IllegalStateException("GC epochs are not available, cannot track objects by address");
+        }
+        vm = VM.current();
+        table = new Object[MINIMUM_CAPACITY];
+        hashShift = 64 - Integer.numberOfTrailingZeros(MINIMUM_CAPACITY);
+        epoch = GCEpoch.current();
+        untilEpochCheck = EPOCH_CHECK_INTERVAL;
+        renewCanary();
+    }
+
+    private int hash(Object x, int shift) {
+        // Fibonacci hashing: the top bits of the product depend on all the reference bits,
+        // including the upper ones, and ignore the always-zero alignment bits.
+        return (int) ((vm.referenceBits(x) * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private static int nextIndex(int i, int len) {
+        return (i + 1 < len ? i + 1 : 0);
+    }
+
+    private void renewCanary() {
+        canary = new WeakReference<>(new Object());
+    }
+
+    private boolean maybeMoved() {
+        if (canary.get() == null) {
+            return true;
+        }
+        if (--untilEpochCheck <= 0) {
+            untilEpochCheck = EPOCH_CHECK_INTERVAL;
+            return GCEpoch.current() != epoch;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add(Object o) {
+        while (true) {
+            final Object[] tab = table;
+            final int len = tab.length;
+            int i = hash(o, hashShift);
+
+            for (Object item; (item = tab[i]) != null; i = nextIndex(i, len)) {
+                if (item == o) {
+                    return false;
+                }
+            }
+
+            // Not found. This is only reliable if objects have not moved
+            // since the table was hashed. Otherwise, re-hash and retry.
+            if (maybeMoved()) {
+                rehash(len);
+                continue;
+            }
+
+            final int s = size + 1;
+            if (s*3 > len && len < 2 * MAXIMUM_CAPACITY) {
+                rehash(len * 2);
+                continue;
+            }
+            if (s >= MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("Capacity exhausted.");
+            }
+
+            tab[i] = o;
+            size = s;
+            return true;
+        }
+    }
+
+    private void rehash(int newLength) {
+        Object[] oldTable = table;
+        Object[] newTable;
+        int newShift = 64 - Integer.numberOfTrailingZeros(newLength);
+        long e;
+        do {
+            e = GCEpoch.current();
+            renewCanary();
+            newTable = new Object[newLength];
+            for (Object o : oldTable) {
+                if (o != null) {
+                    int i = hash(o, newShift);
+                    while (newTable[i] != null) {
+                        i = nextIndex(i, newLength);
+                    }
+                    newTable[i] = o;
+                }
+            }
+        } while (e != GCEpoch.current() || canary.get() == null);
+        table = newTable;
+        hashShift = newShift;
+        epoch = e;
+        untilEpochCheck = EPOCH_CHECK_INTERVAL;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.util;
+
+/**
+ * Array utilities optimized for JOL uses. Cuts corners where it can.
+ */
+public class ArrayUtils {
+
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
+    /**
+     * Sorts the keys in ascending order, permuting the values along with them.
+     * The sort is not stable.
+     *
+     * @param keys keys to sort by
+     * @param values values to permute along with keys
+     * @param from first index, inclusive
+     * @param to last index, exclusive
+     */
+    public static void sort(long[] keys, int[] values, int from, int to) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys and values lengths differ: " + keys.length + " vs " + values.length);
+        }
+        if (from < 0 || to > keys.length || from > to) {
+            throw new IllegalArgumentException("Bad range: [" + from + ", " + to + ")");
+        }
+        // Fall back to heap sort if quick sort goes too deep.
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(to - from + 1));
+        quickSort(keys, values, from, to - 1, depthLimit);
+    }
+
+    /**
+     * Finds the index of the key in the sorted array.
+     *
+     * @param keys sorted keys
+     * @param from first index, inclusive
+     * @param to last index, exclusive
+     * @param key key to search for
+     * @return index of any matching key, or {@code -(insertion point) - 1} if there is no match
+     */
+    public static int binarySearch(long[] keys, int from, int to, long key) {
+        int lo = from;
+        int hi = to - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long v = keys[mid];
+            if (v < key) {
+                lo = mid + 1;
+            } else if (v > key) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    /**
+     * Finds the first element that is not less than the key, in the sorted range.
+     *
+     * @param keys sorted keys
+     * @param from range start, inclusive
+     * @param to range end, exclusive
+     * @param key key to search for
+     * @return index of the first element not less than key, or {@code to} if there is none
+     */
+    public static int lowerBound(long[] keys, int from, int to, long key) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static void quickSort(long[] keys, int[] values, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(keys, values, lo, hi);
+                return;
+            }
+
+            // Median of three puts the pivot at lo.
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < keys[lo]) swap(keys, values, mid, lo);
+            if (keys[hi] < keys[lo]) swap(keys, values, hi, lo);
+            if (keys[hi] < keys[mid]) swap(keys, values, hi, mid);
+            swap(keys, values, lo, mid);
+
+            long pivot = keys[lo];
+            int i = lo;
+            int j = hi + 1;
+            while (true) {
+                while (keys[++i] < pivot) {
+                    if (i == hi) break;
+                }
+                while (pivot < keys[--j]) {
+                    // Pivot at lo stops the scan.
+                }
+                if (i >= j) break;
+                swap(keys, values, i, j);
+            }
+            swap(keys, values, lo, j);
+
+            // Recurse into the smaller part, loop over the larger one.
+            if (j - lo < hi - j) {
+                quickSort(keys, values, lo, j - 1, depthLimit);
+                lo = j + 1;
+            } else {
+                quickSort(keys, values, j + 1, hi, depthLimit);
+                hi = j - 1;
+            }
+        }
+        insertionSort(keys, values, lo, hi);
+    }
+
+    private static void insertionSort(long[] keys, int[] values, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            long k = keys[i];
+            int v = values[i];
+            int j = i - 1;
+            while (j >= lo && keys[j] > k) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = k;
+            values[j + 1] = v;
+        }
+    }
+
+    private static void heapSort(long[] keys, int[] values, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(keys, values, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(keys, values, lo, lo + end);
+            siftDown(keys, values, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] keys, int[] values, int base, int i, int n) {
+        while (true) {
+            int c = 2 * i + 1;
+            if (c >= n) return;
+            if (c + 1 < n && keys[base + c + 1] > keys[base + c]) c++;
+            if (keys[base + i] >= keys[base + c]) return;
+            swap(keys, values, base + i, base + c);
+            i = c;
+        }
+    }
+
+    private static void swap(long[] keys, int[] values, int i, int j) {
+        long k = keys[i];
+        keys[i] = keys[j];
+        keys[j] = k;
+        int v = values[i];
+        values[i] = values[j];
+        values[j] = v;
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.util;
+
+/**
+ * Concurrent identity hash set for parallel JOL walks.
+ * Lock-striped over several {@link SimpleIdentityHashSet}-like tables.
+ * Cuts corners where it can.
+ */
+public final class ConcurrentIdentityHashSet implements IdentitySet {
+    private static final int MINIMUM_CAPACITY = 4;
+    private static final int MAXIMUM_CAPACITY = 1 << 29;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    public ConcurrentIdentityHashSet(int concurrency) {
+        int count = Integer.highestOneBit(Math.max(1, concurrency) * 4 - 1) << 1;
+        stripes = new Stripe[count];
+        for (int c = 0; c < count; c++) {
+            stripes[c] = new Stripe();
+        }
+        stripeShift = 32 - Integer.numberOfTrailingZeros(count);
+    }
+
+    private static int mix(int h) {
+        // Identity hashes are not guaranteed to have good high bits,
+        // and we use high bits to select the stripe.
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public boolean add(Object o) {
+        int h = mix(System.identityHashCode(o));
+        Stripe s = stripes[h >>> stripeShift];
+        synchronized (s) {
+            return s.add(o, h);
+        }
+    }
+
+    private static final class Stripe {
+        private Object[] table = new Object[MINIMUM_CAPACITY];
+        private int size;
+
+        private static int nextIndex(int i, int len) {
+            return (i + 1 < len ? i + 1 : 0);
+        }
+
+        boolean add(Object o, int h) {
+            while (true) {
+                final Object[] tab = table;
+                final int len = tab.length;
+                int i = h & (len - 1);
+
+                for (Object item; (item = tab[i]) != null; i = nextIndex(i, len)) {
+                    if (item == o) {
+                        return false;
+                    }
+                }
+
+                final int s = size + 1;
+                if (s*3 > len && resize()) {
+                    continue;
+                }
+
+                tab[i] = o;
+                size = s;
+                return true;
+            }
+        }
+
+        private boolean resize() {
+            Object[] oldTable = table;
+            int oldLength = oldTable.length;
+            if (oldLength == 2 * MAXIMUM_CAPACITY) { // can't expand any further
+                if (size == MAXIMUM_CAPACITY - 1) {
+                    throw new IllegalStateException("Capacity exhausted.");
+                }
+                return false;
+            }
+
+            int newLength = oldLength * 2;
+            Object[] newTable = new Object[newLength];
+
+            for (Object o : oldTable) {
+                if (o != null) {
+                    int i = mix(System.identityHashCode(o)) & (newLength - 1);
+                    while (newTable[i] != null) {
+                        i = nextIndex(i, newLength);
+                    }
+                    newTable[i] = o;
+                }
+            }
+            table = newTable;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Tracks the GC epochs: the epoch changes whenever any collector
+ * completes a cycle, which is when objects are allowed to move.
+ */
+public final class GCEpoch {
+
+    private static final GarbageCollectorMXBean[] BEANS;
+    private static final boolean CONCURRENT_MOVES;
+
+    static {
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        BEANS = beans.toArray(new GarbageCollectorMXBean[0]);
+
+        boolean concurrent = false;
+        for (GarbageCollectorMXBean bean : BEANS) {
+            String name = bean.getName();
+            if (name.contains("ZGC") || name.contains("Shenandoah")) {
+                concurrent = true;
+            }
+        }
+        CONCURRENT_MOVES = concurrent;
+    }
+
+    private GCEpoch() {
+        // prevent instantiation
+    }
+
+    /**
+     * Answers if GC epochs are available in this VM.
+     *
+     * @return true, if collectors report their cycle counts
+     */
+    public static boolean isSupported() {
+        return BEANS.length > 0 && current() >= 0;
+    }
+
+    /**
+     * Answers if collectors can move objects while the application runs.
+     * Such collectors count the cycle only when it completes, and so
+     * the same epoch does not guarantee that no object has moved.
+     *
+     * @return true, if objects can move concurrently
+     */
+    public static boolean hasConcurrentMoves() {
+        return CONCURRENT_MOVES;
+    }
+
+    /**
+     * Answers the current GC epoch.
+     *
+     * @return current epoch, or -1 if any collector does not report it
+     */
+    public static long current() {
+        long epoch = 0;
+        for (GarbageCollectorMXBean bean : BEANS) {
+            long count = bean.getCollectionCount();
+            if (count < 0) {
+                return -1;
+            }
+            epoch += count;
+        }
+        return epoch;
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.util;
+
+import java.util.Arrays;
+
+/**
+ * Identity hash set for many small JOL walks. Cuts corners where it can.
+ *
+ * The set remembers which slots it has filled, so that {@link #clear()}
+ * only costs as much as the number of elements, not the capacity. When one
+ * large walk has grown the table, the next clear shrinks it back, so that
+ * the set does not keep the large table around forever.
+ */
+public final class ReusableIdentityHashSet implements IdentitySet {
+    private static final int MINIMUM_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 29;
+    private static final int SHRINK_CAPACITY = 1 << 12;
+
+    private Object[] table;
+    private int[] used;
+    private int size;
+
+    public ReusableIdentityHashSet() {
+        table = new Object[MINIMUM_CAPACITY * 2];
+        used = new int[MINIMUM_CAPACITY];
+    }
+
+    private static int hash(Object x, int length) {
+        int h = System.identityHashCode(x) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (length - 1);
+    }
+
+    private static int nextIndex(int i, int len) {
+        return (i + 1 < len ? i + 1 : 0);
+    }
+
+    @Override
+    public boolean add(Object o) {
+        while (true) {
+            final Object[] tab = table;
+            final int len = tab.length;
+            int i = hash(o, len);
+
+            for (Object item; (item = tab[i]) != null; i = nextIndex(i, len)) {
+                if (item == o) {
+                    return false;
+                }
+            }
+
+            final int s = size + 1;
+            if (s*3 > len && resize()) {
+                continue;
+            }
+
+            if (size == used.length) {
+                used = Arrays.copyOf(used, size * 2);
+            }
+            tab[i] = o;
+            used[size] = i;
+            size = s;
+            return true;
+        }
+    }
+
+    /**
+     * Answer whether the set contains the object.
+     *
+     * @param o object
+     * @return true, if set contains the object
+     */
+    public boolean contains(Object o) {
+        final Object[] tab = table;
+        final int len = tab.length;
+        for (int i = hash(o, len); ; i = nextIndex(i, len)) {
+            Object item = tab[i];
+            if (item == o) {
+                return true;
+            }
+            if (item == null) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Answer the number of elements in the set.
+     *
+     * @return number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all elements from the set.
+     */
+    public void clear() {
+        if (table.length > SHRINK_CAPACITY && size * 16 < table.length) {
+            table = new Object[MINIMUM_CAPACITY * 2];
+            used = new int[MINIMUM_CAPACITY];
+        } else {
+            final Object[] tab = table;
+            final int[] u = used;
+            for (int i = 0; i < size; i++) {
+                tab[u[i]] = null;
+            }
+        }
+        size = 0;
+    }
+
+    private boolean resize() {
+        Object[] oldTable = table;
+        int oldLength = oldTable.length;
+        if (oldLength == 2 * MAXIMUM_CAPACITY) { // can't expand any further
+            if (size == MAXIMUM_CAPACITY - 1) {
+                throw new IllegalStateException("Capacity exhausted.");
+            }
+            return false;
+        }
+
+        int newLength = oldLength * 2;
+        Object[] newTable = new Object[newLength];
+
+        final int[] u = used;
+        for (int n = 0; n < size; n++) {
+            Object o = oldTable[u[n]];
+            int i = hash(o, newLength);
+            while (newTable[i] != null) {
+                i = nextIndex(i, newLength);
+            }
+            newTable[i] = o;
+            u[n] = i;
+        }
+        table = newTable;
+        return true;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.util;
+
+/**
+ * Identity hash set for very large JOL walks. Cuts corners where it can.
+ *
+ * The set is split into a fixed number of segments, selected by the high
+ * bits of the mixed identity hash. Every segment is the open-addressing
+ * table that resizes independently, so that every resize rehashes only
+ * the small fraction of the set, and the set as a whole is not limited
+ * by the maximum array length.
+ */
+public final class SegmentedIdentityHashSet implements IdentitySet {
+    private static final int SEGMENT_BITS = 6;
+    private static final int SEGMENTS = 1 << SEGMENT_BITS;
+    private static final int MINIMUM_CAPACITY = 4;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final Segment[] segments;
+
+    public SegmentedIdentityHashSet() {
+        segments = new Segment[SEGMENTS];
+        for (int s = 0; s < SEGMENTS; s++) {
+            segments[s] = new Segment();
+        }
+    }
+
+    private static int mix(int h) {
+        // Identity hashes are not guaranteed to have good high bits,
+        // and we use high bits to select the segment.
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int index(int h, int len) {
+        // High bits are taken by segment index, spread the rest over the table.
+        // Identity hashes are at most 31 bits wide, so with billions of objects
+        // some hashes repeat: spreading keeps those collisions from clustering.
+        return (int) (((h << SEGMENT_BITS) & 0xFFFFFFFFL) * len >>> 32);
+    }
+
+    private static int nextIndex(int i, int len) {
+        return (i + 1 < len ? i + 1 : 0);
+    }
+
+    /**
+     * Answer the number of elements in the set.
+     *
+     * @return number of elements
+     */
+    public long size() {
+        long size = 0;
+        for (Segment seg : segments) {
+            size += seg.size;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean add(Object o) {
+        int h = mix(System.identityHashCode(o));
+        return segments[h >>> (32 - SEGMENT_BITS)].add(o, h);
+    }
+
+    private static final class Segment {
+        private Object[] table = new Object[MINIMUM_CAPACITY];
+        private int size;
+
+        boolean add(Object o, int h) {
+            while (true) {
+                final Object[] tab = table;
+                final int len = tab.length;
+                int i = index(h, len);
+
+                for (Object item; (item = tab[i]) != null; i = nextIndex(i, len)) {
+                    if (item == o) {
+                        return false;
+                    }
+                }
+
+                final int s = size + 1;
+                if (s * 3 > len && resize()) {
+                    continue;
+                }
+
+                tab[i] = o;
+                size = s;
+                return true;
+            }
+        }
+
+        private boolean resize() {
+            Object[] oldTable = table;
+            int oldLength = oldTable.length;
+            if (oldLength == MAXIMUM_CAPACITY) { // can't expand any further
+                if (size >= MAXIMUM_CAPACITY - (MAXIMUM_CAPACITY >> 2)) {
+                    throw new IllegalStateException("Capacity exhausted.");
+                }
+                return false;
+            }
+
+            int newLength = oldLength * 2;
+            Object[] newTable = new Object[newLength];
+
+            for (Object o : oldTable) {
+                if (o != null) {
+                    int i = index(mix(System.identityHashCode(o)), newLength);
+                    while (newTable[i] != null) {
+                        i = nextIndex(i, newLength);
+                    }
+                    newTable[i] = o;
+                }
+            }
+            table = newTable;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.util;
+
+/**
+ * Stack implementation for very large JOL walks. Cuts corners where it can.
+ *
+ * Elements are stored in the linked chunks, so that the stack never copies
+ * the elements on growth, is not limited by the maximum array length,
+ * and releases the memory when it shrinks.
+ *
+ * @param <E>
+ */
+public final class SegmentedStack<E> {
+    private static final int INITIAL_CHUNK = 16;
+    private static final int MAXIMUM_CHUNK = 1 << 12;
+
+    // Slot 0 of every chunk links to the previous chunk.
+    private Object[] chunk;
+    private Object[] spare;
+    private int top;
+    private long size;
+
+    public SegmentedStack() {
+        chunk = new Object[INITIAL_CHUNK + 1];
+        top = 1;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public void push(E e) {
+        if (top == chunk.length) {
+            Object[] next = spare;
+            if (next == null) {
+                next = new Object[Math.min(MAXIMUM_CHUNK, (chunk.length - 1) * 2) + 1];
+            }
+            spare = null;
+            next[0] = chunk;
+            chunk = next;
+            top = 1;
+        }
+        chunk[top++] = e;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E pop() {
+        if (top == 1) {
+            // Keep one chunk around to avoid thrashing at chunk boundary.
+            Object[] prev = (Object[]) chunk[0];
+            chunk[0] = null;
+            spare = chunk;
+            chunk = prev;
+            top = chunk.length;
+        }
+        Object e = chunk[--top];
+        chunk[top] = null;
+        size--;
+        return (E) e;
+    }
+
+}
@@ -27,7 +27,7 @@ package org.openjdk.jol.util;
 /**
  * Identity hash set implementation optimized for JOL uses. Cuts corners where it can.
  */
-public final class SimpleIdentityHashSet {
+public final class SimpleIdentityHashSet implements IdentitySet {
     private static final int MINIMUM_CAPACITY = 4;
     private static final int MAXIMUM_CAPACITY = 1 << 29;
 
@@ -52,6 +52,7 @@ public final class SimpleIdentityHashSet {
         return (i + 1 < len ? i + 1 : 0);
     }
 
+    @Override
     public boolean add(Object o) {
         while (true) {
             final Object[] tab = table;
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, Red Hat, Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.jol.util;
+
+/**
+ * Identity hash map from objects to ints, optimized for JOL uses. Cuts corners where it can.
+ */
+public final class SimpleIdentityIntMap {
+    private static final int MINIMUM_CAPACITY = 4;
+    private static final int MAXIMUM_CAPACITY = 1 << 29;
+
+    private Object[] keys;
+    private int[] values;
+    private int size;
+
+    public SimpleIdentityIntMap() {
+        keys = new Object[MINIMUM_CAPACITY];
+        values = new int[MINIMUM_CAPACITY];
+    }
+
+    private static int hash(Object x, int length) {
+        return System.identityHashCode(x) & (length - 1);
+    }
+
+    private static int nextIndex(int i, int len) {
+        return (i + 1 < len ? i + 1 : 0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Answer the value for the key.
+     *
+     * @param key key
+     * @param defaultValue value to return when key is absent
+     * @return value, or default value if key is absent
+     */
+    public int get(Object key, int defaultValue) {
+        final Object[] tab = keys;
+        final int len = tab.length;
+        for (int i = hash(key, len); ; i = nextIndex(i, len)) {
+            Object item = tab[i];
+            if (item == key) {
+                return values[i];
+            }
+            if (item == null) {
+                return defaultValue;
+            }
+        }
+    }
+
+    public boolean contains(Object key) {
+        final Object[] tab = keys;
+        final int len = tab.length;
+        for (int i = hash(key, len); ; i = nextIndex(i, len)) {
+            Object item = tab[i];
+            if (item == key) {
+                return true;
+            }
+            if (item == null) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Puts the value for the key, replacing the existing value.
+     *
+     * @param key key
+     * @param value value
+     */
+    public void put(Object key, int value) {
+        while (true) {
+            final Object[] tab = keys;
+            final int len = tab.length;
+            int i = hash(key, len);
+
+            for (Object item; (item = tab[i]) != null; i = nextIndex(i, len)) {
+                if (item == key) {
+                    values[i] = value;
+                    return;
+                }
+            }
+
+            final int s = size + 1;
+            if (s*3 > len && resize()) {
+                continue;
+            }
+
+            tab[i] = key;
+            values[i] = value;
+            size = s;
+            return;
+        }
+    }
+
+    private boolean resize() {
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        int oldLength = oldKeys.length;
+        if (oldLength == 2 * MAXIMUM_CAPACITY) { // can't expand any further
+            if (size == MAXIMUM_CAPACITY - 1) {
+                throw new IllegalStateException("Capacity exhausted.");
+            }
+            return false;
+        }
+
+        int newLength = oldLength * 2;
+        Object[] newKeys = new Object[newLength];
+        int[] newValues = new int[newLength];
+
+        for (int c = 0; c < oldLength; c++) {
+            Object o = oldKeys[c];
+            if (o != null) {
+                int i = hash(o, newLength);
+                while (newKeys[i] != null) {
+                    i = nextIndex(i, newLength);
+                }
+                newKeys[i] = o;
+                newValues[i] = oldValues[c];
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+        return true;
+    }
+}
@@ -27,6 +27,7 @@ package org.openjdk.jol.vm;
 import org.openjdk.jol.info.ClassData;
 import org.openjdk.jol.layouters.CurrentLayouter;
 import org.openjdk.jol.util.MathUtil;
+import org.openjdk.jol.vm.sa.ServiceabilityAgentSupport;
 import org.openjdk.jol.vm.sa.UniverseData;
 import sun.misc.Unsafe;
 
@@ -58,63 +59,58 @@ class HotspotUnsafe implements VirtualMachine {
             Boolean.parseBoolean(System.getProperty(MAGIC_FIELD_OFFSET_OPTION, "false"));
 
     private final Unsafe U;
-    private final Instrumentation instrumentation;
+    private volatile Instrumentation instrumentation;
 
-    private final boolean isAccurate;
+    // Set when the expensive capabilities are resolved on first use, see HotspotUnsafe(Unsafe).
+    private volatile boolean instrumentationPending;
+    private volatile boolean saPending;
 
-    private final int     addressSize;
-    private final int     objectAlignment;
-    private final int     oopSize;
-    private final boolean compressedOopsEnabled;
-    private final long    narrowOopBase;
-    private final int     narrowOopShift;
-    private final boolean compressedKlassOopsEnabled;
-    private final long    narrowKlassBase;
-    private final int     narrowKlassShift;
+    // Set when some of the facts below are guessed by experiments, not read from VM options.
+    private final boolean guessedLayout;
+
+    // Serviceability Agent overwrites these on resolution, and publishes them with saPending.
+    private boolean isAccurate;
+
+    private int     addressSize;
+    private int     objectAlignment;
+    private int     oopSize;
+    private boolean compressedOopsEnabled;
+    private long    narrowOopBase;
+    private int     narrowOopShift;
+    private boolean compressedKlassOopsEnabled;
+    private long    narrowKlassBase;
+    private int     narrowKlassShift;
 
     private final int arrayHeaderSize;
     private final int objectHeaderSize;
 
     private final long arrayObjectBase;
 
-    private final Sizes sizes;
+    private Sizes sizes;
 
     private final boolean lilliputVM;
     private final boolean isZGC;
 
+    private volatile long heapRegionSize = -1;
+    private volatile Boolean lightweightLocking;
+    private volatile Boolean objectMonitorTable;
+
     private volatile boolean mfoInitialized;
     private Object mfoUnsafe;
     private Method mfoMethod;
 
     private final ThreadLocal<Object[]> BUFFERS = ThreadLocal.withInitial(() -> new Object[1]);
 
-    HotspotUnsafe(Unsafe u, Instrumentation inst, UniverseData saDetails) {
-        U = u;
-        instrumentation = inst;
-        isAccurate = true;
-
-        isZGC = VMOptions.isGenerationalZGCEnabled();
-
-        arrayObjectBase = U.arrayBaseOffset(Object[].class);
-
-        addressSize = saDetails.getAddressSize();
-        oopSize = saDetails.getOopSize();
-
-        objectHeaderSize = guessHeaderSize();
-        arrayHeaderSize = objectHeaderSize + 4;
-
-        compressedOopsEnabled = saDetails.isCompressedOopsEnabled();
-        compressedKlassOopsEnabled = saDetails.isCompressedKlassPtrsEnabled();
-
-        objectAlignment = saDetails.getObjectAlignment();
-
-        narrowOopShift = saDetails.getNarrowOopShift();
-        narrowKlassShift = saDetails.getNarrowKlassShift();
-        narrowOopBase = saDetails.getNarrowOopBase();
-        narrowKlassBase = saDetails.getNarrowKlassBase();
-
-        sizes = new Sizes(this);
-        lilliputVM = guessLilliput(addressSize);
+    /**
+     * Creates the VM that only knows what Unsafe and VM options tell, and resolves
+     * the rest on first use: Instrumentation on the first {@link #sizeOf(Object)},
+     * Serviceability Agent on the first address query, or on the first query
+     * that needs the facts VM options could not tell.
+     */
+    HotspotUnsafe(Unsafe u) {
+        this(u, null);
+        instrumentationPending = true;
+        saPending = true;
     }
 
     HotspotUnsafe(Unsafe u, Instrumentation inst) {
@@ -133,20 +129,22 @@ class HotspotUnsafe implements VirtualMachine {
         arrayHeaderSize = objectHeaderSize + 4;
 
         Boolean coops = VMOptions.pollCompressedOops();
+        Boolean ccptrs = VMOptions.pollCompressedClassPointers();
+        Integer align = VMOptions.pollObjectAlignment();
+        guessedLayout = (coops == null || ccptrs == null || align == null);
+
         if (coops != null) {
             compressedOopsEnabled = coops;
         } else {
             compressedOopsEnabled = (addressSize != oopSize);
         }
 
-        Boolean ccptrs = VMOptions.pollCompressedClassPointers();
         if (ccptrs != null) {
             compressedKlassOopsEnabled = ccptrs;
         } else {
             compressedKlassOopsEnabled = (addressSize != oopSize);
         }
 
-        Integer align = VMOptions.pollObjectAlignment();
         if (align != null) {
             objectAlignment = align;
         } else {
@@ -232,10 +230,81 @@ class HotspotUnsafe implements VirtualMachine {
         }
     }
 
+    private Instrumentation instrumentation() {
+        if (instrumentationPending) {
+            synchronized (this) {
+                if (instrumentationPending) {
+                    try {
+                        instrumentation = InstrumentationSupport.instance();
+                    } catch (Exception e) {
+                        System.err.println("# WARNING: Unable to get Instrumentation. " + e.getMessage());
+                    }
+                    instrumentationPending = false;
+                }
+            }
+        }
+        return instrumentation;
+    }
+
+    private void resolveServiceabilityAgent() {
+        synchronized (this) {
+            if (!saPending) {
+                return;
+            }
+            try {
+                UniverseData saDetails = ServiceabilityAgentSupport.instance().getUniverseData();
+                addressSize = saDetails.getAddressSize();
+                oopSize = saDetails.getOopSize();
+                compressedOopsEnabled = saDetails.isCompressedOopsEnabled();
+                compressedKlassOopsEnabled = saDetails.isCompressedKlassPtrsEnabled();
+                objectAlignment = saDetails.getObjectAlignment();
+                narrowOopShift = saDetails.getNarrowOopShift();
+                narrowKlassShift = saDetails.getNarrowKlassShift();
+                narrowOopBase = saDetails.getNarrowOopBase();
+                narrowKlassBase = saDetails.getNarrowKlassBase();
+                sizes = new Sizes(this);
+                isAccurate = true;
+            } catch (Exception e) {
+                // Lazy attach can happen in the middle of a report to stdout, keep it off there.
+                System.err.println("# WARNING: Unable to attach Serviceability Agent. " + e.getMessage());
+            }
+            saPending = false;
+        }
+    }
+
+    /**
+     * Resolves Serviceability Agent before answering the facts that were guessed.
+     * The facts read from VM options are what Serviceability Agent would tell anyway.
+     */
+    private void resolveGuessed() {
+        if (guessedLayout && saPending) {
+            resolveServiceabilityAgent();
+        }
+    }
+
+    /**
+     * Answers if some capabilities are not resolved yet.
+     */
+    boolean hasPendingCapabilities() {
+        return instrumentationPending || saPending;
+    }
+
+    /**
+     * Resolves all capabilities that are still pending.
+     */
+    void resolveAll() {
+        instrumentation();
+        if (saPending) {
+            resolveServiceabilityAgent();
+        }
+    }
+
     @Override
     public long sizeOf(Object o) {
-        if (instrumentation != null) {
-            return MathUtil.align(instrumentation.getObjectSize(o), objectAlignment);
+        Instrumentation inst = instrumentation();
+        resolveGuessed();
+        if (inst != null) {
+            return MathUtil.align(inst.getObjectSize(o), objectAlignment);
         }
 
         return new CurrentLayouter().layout(ClassData.parseInstance(o)).instanceSize();
@@ -243,11 +312,44 @@ class HotspotUnsafe implements VirtualMachine {
 
     @Override
     public long sizeOfField(String klassName) {
+        resolveGuessed();
         return sizes.get(klassName);
     }
 
+    @Override
+    public long heapRegionSize() {
+        long size = heapRegionSize;
+        if (size < 0) {
+            Long polled = VMOptions.pollHeapRegionSize();
+            size = (polled != null) ? polled : 0;
+            heapRegionSize = size;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean lightweightLocking() {
+        Boolean lw = lightweightLocking;
+        if (lw == null) {
+            lw = VMOptions.pollLightweightLocking();
+            lightweightLocking = lw;
+        }
+        return lw;
+    }
+
+    @Override
+    public boolean objectMonitorTable() {
+        Boolean omt = objectMonitorTable;
+        if (omt == null) {
+            omt = VMOptions.pollObjectMonitorTable();
+            objectMonitorTable = omt;
+        }
+        return omt;
+    }
+
     @Override
     public int objectAlignment() {
+        resolveGuessed();
         return objectAlignment;
     }
 
@@ -275,6 +377,7 @@ class HotspotUnsafe implements VirtualMachine {
 
     @Override
     public int addressSize() {
+        resolveGuessed();
         return addressSize;
     }
 
@@ -284,6 +387,7 @@ class HotspotUnsafe implements VirtualMachine {
             // Lilliput does not have a class word.
             return 0;
         }
+        resolveGuessed();
         switch (addressSize) {
             case 4:
                 return 4;
@@ -296,6 +400,11 @@ class HotspotUnsafe implements VirtualMachine {
 
     @Override
     public String details() {
+        resolveGuessed();
+
+        // Read the volatile first: it publishes the resolved facts and accuracy.
+        boolean pending = saPending;
+
         StringWriter sw = new StringWriter();
         PrintWriter out = new PrintWriter(sw);
 
@@ -331,7 +440,10 @@ class HotspotUnsafe implements VirtualMachine {
         }
         out.println();
 
-        if (addressSize != 4 && !isAccurate && (compressedOopsEnabled || compressedKlassOopsEnabled)) {
+        if (pending && (compressedOopsEnabled || compressedKlassOopsEnabled)) {
+            out.println("# Compressed references base/shifts are guessed until the first address query,");
+            out.println("# which attaches Serviceability Agent to get the reliable ones.");
+        } else if (addressSize != 4 && !isAccurate && (compressedOopsEnabled || compressedKlassOopsEnabled)) {
             out.println("# WARNING | Compressed references base/shifts are guessed by the experiment!");
             out.println("# WARNING | Therefore, computed addresses are just guesses, and ARE NOT RELIABLE.");
             out.println("# WARNING | Make sure to attach Serviceability Agent to get the reliable addresses.");
@@ -429,17 +541,25 @@ class HotspotUnsafe implements VirtualMachine {
 
     @Override
     public long addressOf(Object o) {
+        if (saPending) {
+            resolveServiceabilityAgent();
+        }
+        return toNativeAddress(referenceBits(o));
+    }
+
+    @Override
+    public long referenceBits(Object o) {
         Object[] array = BUFFERS.get();
 
         array[0] = o;
 
-        long objectAddress;
+        long bits;
         switch (oopSize) {
             case 4:
-                objectAddress = U.getInt(array, arrayObjectBase) & 0xFFFFFFFFL;
+                bits = U.getInt(array, arrayObjectBase) & 0xFFFFFFFFL;
                 break;
             case 8:
-                objectAddress = U.getLong(array, arrayObjectBase);
+                bits = U.getLong(array, arrayObjectBase);
                 break;
             default:
                 throw new Error("unsupported address size: " + oopSize);
@@ -447,7 +567,36 @@ class HotspotUnsafe implements VirtualMachine {
 
         array[0] = null;
 
-        return toNativeAddress(objectAddress);
+        return bits;
+    }
+
+    @Override
+    public void addressesOf(Object[] objs, int count, long[] dest) {
+        if (count < 0 || count > objs.length || count > dest.length) {
+            throw new IllegalArgumentException("Bad count: " + count);
+        }
+        if (saPending) {
+            resolveServiceabilityAgent();
+        }
+
+        // Read the references straight from the caller array,
+        // without going through the thread-local buffer.
+        switch (oopSize) {
+            case 4:
+                for (int i = 0; i < count; i++) {
+                    long raw = U.getInt(objs, arrayObjectBase + 4L * i) & 0xFFFFFFFFL;
+                    dest[i] = toNativeAddress(raw);
+                }
+                break;
+            case 8:
+                for (int i = 0; i < count; i++) {
+                    long raw = U.getLong(objs, arrayObjectBase + 8L * i);
+                    dest[i] = toNativeAddress(raw);
+                }
+                break;
+            default:
+                throw new Error("unsupported address size: " + oopSize);
+        }
     }
 
 
@@ -24,11 +24,8 @@
  */
 package org.openjdk.jol.vm;
 
-import org.openjdk.jol.vm.sa.ServiceabilityAgentSupport;
-import org.openjdk.jol.vm.sa.UniverseData;
 import sun.misc.Unsafe;
 
-import java.lang.instrument.Instrumentation;
 import java.lang.reflect.Field;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -47,6 +44,12 @@ public class VM {
         });
     }
 
+    /*
+        Resolves Instrumentation and Serviceability Agent in background right away,
+        instead of waiting for the first query that needs them.
+     */
+    private static final String BACKGROUND_INIT_OPTION = "jol.vm.backgroundInit";
+
     private static VirtualMachine INSTANCE;
 
     public static VirtualMachine current() {
@@ -62,20 +65,15 @@ public class VM {
             throw new IllegalStateException("Unsafe is not available.");
         }
 
-        Instrumentation inst = null;
-        try {
-            inst = InstrumentationSupport.instance();
-        } catch (Exception e) {
-            System.out.println("# WARNING: Unable to get Instrumentation. " + e.getMessage());
-        }
-
-        try {
-            UniverseData saDetails = ServiceabilityAgentSupport.instance().getUniverseData();
-            INSTANCE = new HotspotUnsafe(u, inst, saDetails);
-        } catch (Exception e) {
-            System.out.println("# WARNING: Unable to attach Serviceability Agent. " + e.getMessage());
-            INSTANCE = new HotspotUnsafe(u, inst);
+        // Only Unsafe and VM options are queried here. Instrumentation and Serviceability Agent
+        // take seconds to attach, and they are resolved when the first query needs them.
+        HotspotUnsafe vm = new HotspotUnsafe(u);
+        if (Boolean.getBoolean(BACKGROUND_INIT_OPTION)) {
+            Thread t = new Thread(vm::resolveAll, "JOL VM Initializer");
+            t.setDaemon(true);
+            t.start();
         }
+        INSTANCE = vm;
 
         return INSTANCE;
     }
@@ -67,6 +67,45 @@ class VMOptions {
         return null;
     }
 
+    public static Long pollHeapRegionSize() {
+        try {
+            if (Boolean.parseBoolean(getString("UseG1GC"))) {
+                return Long.valueOf(getString("G1HeapRegionSize"));
+            }
+            return null;
+        } catch (Exception exp) {
+            return null;
+        }
+    }
+
+    public static boolean pollLightweightLocking() {
+        try {
+            // LM_MONITOR = 0, LM_LEGACY = 1, LM_LIGHTWEIGHT = 2
+            return Integer.parseInt(getString("LockingMode")) == 2;
+        } catch (Exception exp) {
+            // No option before JDK 21, and after JDK 25, where stack locking is gone.
+            // Lightweight locking is the default since JDK 23.
+            return javaVersion() >= 23;
+        }
+    }
+
+    public static boolean pollObjectMonitorTable() {
+        try {
+            return Boolean.parseBoolean(getString("UseObjectMonitorTable"));
+        } catch (Exception exp) {
+            return false;
+        }
+    }
+
+    private static int javaVersion() {
+        String v = System.getProperty("java.specification.version", "");
+        try {
+            return Integer.parseInt(v.startsWith("1.") ? v.substring(2) : v);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     public static boolean isGenerationalZGCEnabled() {
         return ManagementFactory.getGarbageCollectorMXBeans().stream()
                 .anyMatch(bean -> "ZGC Minor Cycles".equals(bean.getName()));
@@ -54,6 +54,39 @@ public interface VirtualMachine {
      */
     long addressOf(Object obj);
 
+    /**
+     * Returns the machine addresses of the given objects, reading them all in one pass.
+     * This is the bulk version of {@link #addressOf(Object)}, with the same caveats.
+     * The objects do not move while they are in the array, but they can move between
+     * the reads: callers that need a consistent picture should check that no GC
+     * has happened meanwhile.
+     *
+     * @param objs objects, nulls are allowed
+     * @param count number of objects to read, starting from the beginning of the array
+     * @param dest where to put the addresses
+     */
+    default void addressesOf(Object[] objs, int count, long[] dest) {
+        if (count < 0 || count > objs.length || count > dest.length) {
+            throw new IllegalArgumentException("Bad count: " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            dest[i] = addressOf(objs[i]);
+        }
+    }
+
+    /**
+     * Returns the raw bits of the reference to the given object, as they are stored
+     * in the heap. Unlike {@link #addressOf(Object)}, this does not decode compressed
+     * references, and so it does not need to know how they are encoded. The bits
+     * are only good for hashing and comparing: they change when the object moves.
+     *
+     * @param obj object
+     * @return raw reference bits
+     */
+    default long referenceBits(Object obj) {
+        return addressOf(obj);
+    }
+
     /**
      * Returns the field offset for a given field, starting from the object base.
      * @param field field
@@ -178,6 +211,33 @@ public interface VirtualMachine {
      */
     Object getObject(Object obj, long offset);
 
+    /**
+     * Returns the heap region size, if the collector splits the heap into the
+     * fixed-size regions.
+     * @return region size in bytes, or 0 if unknown
+     */
+    default long heapRegionSize() {
+        return 0;
+    }
+
+    /**
+     * Answers whether the VM uses lightweight locking. Unlike the older stack locking,
+     * it keeps the identity hash and GC age in the mark words of the thin-locked objects.
+     * @return true, if lightweight locking is used
+     */
+    default boolean lightweightLocking() {
+        return false;
+    }
+
+    /**
+     * Answers whether the VM keeps the object monitors in the side table. Then, the mark
+     * words of the objects with the inflated locks keep the identity hash and GC age.
+     * @return true, if object monitor table is used
+     */
+    default boolean objectMonitorTable() {
+        return false;
+    }
+
     /**
      * Returns the informational details about the current VM mode
      * @return String details
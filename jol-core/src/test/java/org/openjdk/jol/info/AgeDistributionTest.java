@@ -0,0 +1,100 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AgeDistributionTest {
+
+    static class A {
+        long[] payload = new long[4];
+    }
+
+    private static List<Object> graph() {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(new A());
+        }
+        return list;
+    }
+
+    private static long sumAges(AgeDistribution d) {
+        long sum = 0;
+        for (int age = 0; age < AgeDistribution.AGES; age++) {
+            sum += d.size(age);
+        }
+        return sum;
+    }
+
+    @Test
+    public void sumsMatchFootprint() {
+        List<Object> list = graph();
+        AgeDistribution d = AgeDistribution.parseInstance(list);
+
+        Assert.assertEquals(GraphStats.parseInstance(list).totalSize(), d.totalSize());
+        Assert.assertEquals(d.totalSize(), sumAges(d) + d.unknownAgeSize());
+        Assert.assertEquals(sumAges(d), d.sizeAtLeast(0));
+        Assert.assertTrue(d.classes().contains(A.class));
+        Assert.assertTrue(d.meanAge() >= 0 && d.meanAge() < AgeDistribution.AGES);
+
+        long perClass = 0;
+        for (int age = 0; age < AgeDistribution.AGES; age++) {
+            perClass += d.size(A.class, age);
+        }
+        Assert.assertTrue(perClass > 0);
+    }
+
+    @Test
+    public void layoutMatchesWalk() {
+        List<Object> list = graph();
+        AgeDistribution walk = AgeDistribution.parseInstance(list);
+        AgeDistribution layout = AgeDistribution.parse(
+                new GraphWalker().setVisitedTracking(VisitedTracking.ADDRESS).walk(list));
+        Assert.assertEquals(walk.totalSize(), layout.totalSize());
+        Assert.assertEquals(walk.classes(), layout.classes());
+    }
+
+    @Test
+    public void lockedIsUnknown() {
+        A a = new A();
+        AgeDistribution d;
+        synchronized (a) {
+            d = AgeDistribution.parseInstance(a);
+        }
+        Assert.assertTrue(d.unknownAgeSize() > 0);
+    }
+
+    @Test
+    public void agesAfterGC() {
+        List<Object> list = graph();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        // Collectors are free not to age objects in full GCs, so only check consistency.
+        AgeDistribution d = AgeDistribution.parseInstance(list);
+        Assert.assertEquals(d.totalSize(), sumAges(d) + d.unknownAgeSize());
+        for (int age = 1; age < AgeDistribution.AGES; age++) {
+            Assert.assertTrue(d.sizeAtLeast(age - 1) >= d.sizeAtLeast(age));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badAge() {
+        AgeDistribution.parseInstance(new A()).size(16);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownClass() {
+        AgeDistribution.parseInstance(new A()).meanAge(String.class);
+    }
+
+    @Test
+    public void printable() {
+        String s = AgeDistribution.parseInstance(graph()).toPrintable();
+        Assert.assertTrue(s, s.contains("AGE 1-3"));
+        Assert.assertTrue(s, s.contains("Mean age"));
+    }
+
+}
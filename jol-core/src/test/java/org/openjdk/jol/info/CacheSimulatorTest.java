@@ -0,0 +1,117 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CacheSimulatorTest {
+
+    @Test
+    public void sequentialLines() {
+        CacheSimulator sim = new CacheSimulator().addLevel("L1", 1024, 2, 64);
+        sim.access(0, 1024);
+        Assert.assertEquals(16, sim.accesses(0));
+        Assert.assertEquals(16, sim.misses(0));
+
+        // Everything fits, second pass hits
+        sim.access(0, 1024);
+        Assert.assertEquals(32, sim.accesses(0));
+        Assert.assertEquals(16, sim.misses(0));
+
+        sim.reset();
+        Assert.assertEquals(0, sim.accesses(0));
+        sim.access(10, 1);
+        Assert.assertEquals(1, sim.misses(0));
+    }
+
+    @Test
+    public void lruEviction() {
+        // Direct-mapped, 2 sets: lines 0 and 2 map to the same set
+        CacheSimulator sim = new CacheSimulator().addLevel("L1", 128, 1, 64);
+        sim.access(0, 1);
+        sim.access(128, 1);
+        sim.access(0, 1);
+        Assert.assertEquals(3, sim.misses(0));
+
+        // 2-way, 1 set: LRU keeps the recently used line
+        sim = new CacheSimulator().addLevel("L1", 128, 2, 64);
+        sim.access(0, 1);
+        sim.access(64, 1);
+        sim.access(0, 1);
+        sim.access(128, 1); // evicts 64
+        sim.access(0, 1);
+        Assert.assertEquals(3, sim.misses(0));
+        sim.access(64, 1);
+        Assert.assertEquals(4, sim.misses(0));
+    }
+
+    @Test
+    public void hierarchy() {
+        CacheSimulator sim = new CacheSimulator()
+                .addLevel("L1", 128, 2, 64)
+                .addLevel("L2", 1024, 4, 64);
+        // Four lines thrash L1, but fit L2
+        for (int t = 0; t < 10; t++) {
+            sim.access(0, 256);
+        }
+        Assert.assertEquals(40, sim.accesses(0));
+        Assert.assertEquals(40, sim.misses(0));
+        Assert.assertEquals(40, sim.accesses(1));
+        Assert.assertEquals(4, sim.misses(1));
+        Assert.assertEquals("L2", sim.levelName(1));
+    }
+
+    @Test
+    public void tlb() {
+        CacheSimulator sim = new CacheSimulator().setTlb(2, 2, 4096);
+        sim.access(0, 4096 * 3);
+        Assert.assertEquals(3, sim.tlbAccesses());
+        Assert.assertEquals(3, sim.tlbMisses());
+        sim.access(4096 * 2, 1);
+        Assert.assertEquals(3, sim.tlbMisses());
+        sim.access(0, 1);
+        Assert.assertEquals(4, sim.tlbMisses());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noTlb() {
+        new CacheSimulator().tlbMisses();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badGeometry() {
+        new CacheSimulator().addLevel("L1", 1000, 3, 64);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badReplaySequence() {
+        CacheSimulator.typical().replay(GraphLayout.parseInstance(new Object()), new Object());
+    }
+
+    @Test
+    public void replayLayout() {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(new int[i % 20]);
+        }
+        GraphLayout gl = GraphLayout.parseInstance(list);
+
+        CacheSimulator walk = CacheSimulator.typical().replayWalk(gl);
+        CacheSimulator seq = CacheSimulator.typical().replayAddressOrder(gl);
+        Assert.assertTrue(walk.accesses(0) > 0);
+        Assert.assertEquals(walk.accesses(0), seq.accesses(0));
+        Assert.assertTrue(seq.misses(0) <= seq.accesses(0));
+        Assert.assertTrue(seq.misses(1) <= seq.misses(0));
+        Assert.assertTrue(seq.tlbMisses() <= seq.tlbAccesses());
+
+        CacheSimulator objs = CacheSimulator.typical().replay(gl, list.get(0), list.get(0));
+        Assert.assertEquals(objs.misses(0), objs.accesses(0) / 2);
+
+        String s = walk.toPrintable();
+        Assert.assertTrue(s, s.contains("L3"));
+        Assert.assertTrue(s, s.contains("TLB"));
+    }
+
+}
@@ -0,0 +1,146 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class FootprintMonitorTest {
+
+    private static List<Integer> list(int size) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i + 1000);
+        }
+        return list;
+    }
+
+    @Test
+    public void sampleNow() {
+        List<Integer> list = list(1000);
+        try (FootprintMonitor m = new FootprintMonitor()) {
+            m.register("list", list);
+            Assert.assertNull(m.sample("list"));
+
+            Map<String, FootprintSample> samples = m.sampleNow();
+            Assert.assertEquals(1, samples.size());
+
+            FootprintSample s = m.sample("list");
+            GraphStats stats = GraphStats.parseInstance(list);
+            Assert.assertEquals("list", s.name());
+            Assert.assertEquals(stats.totalCount(), s.totalCount());
+            Assert.assertEquals(stats.totalSize(), s.totalSize());
+            Assert.assertTrue(s.topClassSizes().containsKey("java.lang.Integer"));
+        }
+    }
+
+    @Test
+    public void strongOnly() {
+        List<Object> list = new ArrayList<>();
+        list.add(new SoftReference<>(new int[1000]));
+        try (FootprintMonitor m = new FootprintMonitor()) {
+            m.setFollowedReferents().register("list", list).sampleNow();
+
+            GraphStats stats = GraphStats.parseInstance(list);
+            Assert.assertEquals(stats.totalSize(Reachability.STRONG), m.sample("list").totalSize());
+        }
+    }
+
+    @Test
+    public void background() throws InterruptedException {
+        List<Integer> list = list(5000);
+        try (FootprintMonitor m = new FootprintMonitor()) {
+            m.setPeriod(50, TimeUnit.MILLISECONDS)
+             .setStepTime(1, TimeUnit.MILLISECONDS)
+             .setCpuBudget(0.5)
+             .register("list", list)
+             .start();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (m.sample("list") == null && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            FootprintSample s = m.sample("list");
+            Assert.assertNotNull("Sample is available", s);
+            Assert.assertEquals(GraphStats.parseInstance(list).totalSize(), s.totalSize());
+            Assert.assertTrue(s.walkNanos() <= s.elapsedNanos());
+        }
+    }
+
+    @Test
+    public void jmx() throws Exception {
+        List<Integer> list = list(100);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName on = new ObjectName(FootprintMonitor.JMX_DOMAIN + ":type=Footprint,name=" + ObjectName.quote("jmx list"));
+
+        try (FootprintMonitor m = new FootprintMonitor()) {
+            m.register("jmx list", list).exportJmx();
+            Assert.assertTrue(server.isRegistered(on));
+            Assert.assertEquals(0L, server.getAttribute(on, "TotalSize"));
+
+            m.sampleNow();
+            Assert.assertEquals(m.sample("jmx list").totalSize(), server.getAttribute(on, "TotalSize"));
+            Assert.assertEquals(1L, server.getAttribute(on, "SampleCount"));
+
+            m.unregister("jmx list");
+            Assert.assertFalse(server.isRegistered(on));
+
+            m.register("jmx list", list);
+            Assert.assertTrue(server.isRegistered(on));
+        }
+        Assert.assertFalse(server.isRegistered(on));
+    }
+
+    @Test
+    public void backgroundError() throws Exception {
+        List<Integer> list = list(100);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName on = new ObjectName(FootprintMonitor.JMX_DOMAIN + ":type=Footprint,name=" + ObjectName.quote("bad list"));
+
+        GraphBoundary boundary = new GraphBoundary().stopClasses(c -> {
+            throw new IllegalStateException("Boundary failure");
+        });
+        try (FootprintMonitor m = new FootprintMonitor()) {
+            m.setPeriod(50, TimeUnit.MILLISECONDS)
+             .setBoundary(boundary)
+             .register("bad list", list)
+             .exportJmx()
+             .start();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (server.getAttribute(on, "LastError") == null && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertTrue(String.valueOf(server.getAttribute(on, "LastError")).contains("Boundary failure"));
+            Assert.assertNull(m.sample("bad list"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badBudget() {
+        new FootprintMonitor().setCpuBudget(2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noRestart() {
+        FootprintMonitor m = new FootprintMonitor().start();
+        m.close();
+        m.start();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noStartAfterClose() {
+        FootprintMonitor m = new FootprintMonitor();
+        m.close();
+        m.start();
+    }
+
+}
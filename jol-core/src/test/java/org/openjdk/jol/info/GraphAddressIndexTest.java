@@ -0,0 +1,79 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GraphAddressIndexTest {
+
+    private static List<Object> graph() {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(new int[i % 5]);
+        }
+        return list;
+    }
+
+    @Test
+    public void sorted() {
+        for (GraphLayout gl : new GraphLayout[] {
+                GraphLayout.parseInstance(graph()),
+                GraphLayout.parseInstanceCompact(graph()) }) {
+            GraphAddressIndex index = gl.addressIndex();
+            Assert.assertSame(index, gl.addressIndex());
+            Assert.assertEquals(gl.totalCount(), index.count());
+
+            long size = 0;
+            for (int i = 0; i < index.count(); i++) {
+                if (i > 0) {
+                    Assert.assertTrue(index.address(i - 1) <= index.address(i));
+                }
+                long addr = index.address(i);
+                Assert.assertEquals(i, index.indexOf(addr));
+                Assert.assertSame(index.obj(i), gl.record(addr).obj());
+                Assert.assertEquals(gl.record(addr).size(), index.size(i));
+                Assert.assertEquals(gl.record(addr).depth(), index.depth(i));
+                Assert.assertSame(index.obj(i).getClass(), index.klass(i));
+                size += index.size(i);
+            }
+            Assert.assertEquals(gl.totalSize(), size);
+            Assert.assertEquals(gl.addresses().size(), index.count());
+        }
+    }
+
+    @Test
+    public void ranges() {
+        GraphAddressIndex index = GraphLayout.parseInstance(graph()).addressIndex();
+        int count = index.count();
+        long first = index.address(0);
+        long last = index.address(count - 1);
+
+        Assert.assertEquals(0, index.lowerBound(Long.MIN_VALUE));
+        Assert.assertEquals(0, index.lowerBound(first));
+        Assert.assertEquals(1, index.upperBound(first));
+        Assert.assertEquals(count - 1, index.lowerBound(last));
+        Assert.assertEquals(count, index.upperBound(last));
+        Assert.assertEquals(count, index.upperBound(Long.MAX_VALUE));
+        Assert.assertEquals(-1, index.indexOf(first - 1));
+
+        int mid = count / 2;
+        long midAddr = index.address(mid);
+        long expected = 0;
+        for (int i = 0; i < mid; i++) {
+            expected += index.size(i);
+        }
+        Assert.assertEquals(expected, index.sizeInRange(first, midAddr));
+        Assert.assertEquals(0, index.sizeInRange(midAddr, midAddr));
+    }
+
+    @Test
+    public void printable() {
+        List<Object> list = graph();
+        String s = GraphLayout.parseInstanceCompact(list).toPrintable();
+        Assert.assertTrue(s.contains("java.util.ArrayList"));
+        Assert.assertTrue(s.contains(".elementData[99]"));
+    }
+
+}
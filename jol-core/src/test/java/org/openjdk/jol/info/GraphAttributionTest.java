@@ -0,0 +1,90 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GraphAttributionTest {
+
+    static class Cache {
+        final List<Object> entries = new ArrayList<>();
+    }
+
+    @Test
+    public void exclusiveAndShared() {
+        Object shared = new long[100];
+
+        Cache c1 = new Cache();
+        Cache c2 = new Cache();
+        for (int i = 0; i < 100; i++) {
+            c1.entries.add(new int[10]);
+        }
+        for (int i = 0; i < 10; i++) {
+            c2.entries.add(new int[10]);
+        }
+        c1.entries.add(shared);
+        c2.entries.add(shared);
+
+        GraphAttribution ga = GraphAttribution.parseInstance(c1, c2);
+
+        GraphStats s1 = GraphStats.parseInstance(c1);
+        GraphStats s2 = GraphStats.parseInstance(c2);
+        GraphStats all = GraphStats.parseInstance(c1, c2);
+        GraphStats common = GraphStats.parseInstance(shared);
+
+        Assert.assertEquals(2, ga.roots());
+        Assert.assertEquals(all.totalCount(), ga.totalCount());
+        Assert.assertEquals(all.totalSize(), ga.totalSize());
+        Assert.assertEquals(s1.totalSize(), ga.reachableSize(0));
+        Assert.assertEquals(s2.totalSize(), ga.reachableSize(1));
+        Assert.assertEquals(common.totalSize(), ga.sharedSize(0));
+        Assert.assertEquals(common.totalSize(), ga.sharedSize(1));
+        Assert.assertEquals(common.totalSize(), ga.sharedSize(0, 1));
+        Assert.assertEquals(s1.totalSize() - common.totalSize(), ga.exclusiveSize(0));
+        Assert.assertEquals(s1.totalCount() - common.totalCount(), ga.exclusiveCount(0));
+        Assert.assertTrue(ga.exclusiveSize(0) > ga.exclusiveSize(1));
+        Assert.assertTrue(ga.toFootprint().contains("<r2>"));
+    }
+
+    @Test
+    public void nestedRoots() {
+        // Second root is reachable from the first one: nothing is exclusive to it.
+        Cache c1 = new Cache();
+        Cache c2 = new Cache();
+        c1.entries.add(c2);
+        c2.entries.add(new int[10]);
+
+        GraphAttribution ga = GraphAttribution.parseInstance(c1, c2);
+        Assert.assertEquals(0, ga.exclusiveCount(1));
+        Assert.assertEquals(GraphStats.parseInstance(c2).totalSize(), ga.sharedSize(1));
+        Assert.assertEquals(GraphStats.parseInstance(c1).totalSize(), ga.reachableSize(0));
+    }
+
+    @Test
+    public void cyclesAcrossRoots() {
+        Object[] a = new Object[2];
+        Object[] b = new Object[2];
+        a[0] = b;
+        b[0] = a;
+        a[1] = new int[1];
+        b[1] = new int[2];
+
+        GraphAttribution ga = GraphAttribution.parseInstance(a, b);
+        Assert.assertEquals(4, ga.totalCount());
+        Assert.assertEquals(0, ga.exclusiveSize(0));
+        Assert.assertEquals(0, ga.exclusiveSize(1));
+        Assert.assertEquals(ga.totalSize(), ga.totalSharedSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooManyRoots() {
+        Object[] roots = new Object[65];
+        for (int i = 0; i < roots.length; i++) {
+            roots[i] = new Object();
+        }
+        GraphAttribution.parseInstance(roots);
+    }
+
+}
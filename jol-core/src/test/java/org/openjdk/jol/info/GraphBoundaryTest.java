@@ -0,0 +1,134 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jol.vm.VM;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GraphBoundaryTest {
+
+    static class Holder {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader loader = Holder.class.getClassLoader();
+        final Object anything = Holder.class;
+        final int[] own = new int[10];
+        final List<Object> list = new ArrayList<>();
+        Object big = new long[1000];
+    }
+
+    static class Base {
+        final int[] data = new int[10];
+    }
+
+    static class Derived extends Base {
+    }
+
+    static class Pair {
+        Object first;
+        Object second;
+    }
+
+    private static long size(Object... objs) {
+        long size = 0;
+        for (Object o : objs) {
+            size += GraphStats.parseInstance(o).totalSize();
+        }
+        return size;
+    }
+
+    @Test
+    public void stopRuntime() {
+        Holder h = new Holder();
+        h.list.add("foo");
+        GraphStats bounded = new GraphStatsWalker()
+                .setBoundary(new GraphBoundary().stopRuntime())
+                .walk(h);
+
+        // Nothing but own data is left.
+        Assert.assertEquals(shallow(h) + size(h.own) + size(h.list) + size(h.big), bounded.totalSize());
+    }
+
+    private static long shallow(Object o) {
+        return VM.current().sizeOf(o);
+    }
+
+    @Test
+    public void fieldPlansArePruned() {
+        GraphStatsWalker w = new GraphStatsWalker().setBoundary(new GraphBoundary().stopRuntime());
+        int all = AbstractGraphWalker.allReferenceFields(Holder.class).length;
+        // Thread and ClassLoader fields can only reference the stopped objects.
+        Assert.assertEquals(all - 2, w.getAllReferenceFields(Holder.class).length);
+    }
+
+    @Test
+    public void stopField() {
+        Holder h = new Holder();
+        GraphStats full = new GraphStatsWalker().setBoundary(new GraphBoundary().stopRuntime()).walk(h);
+        GraphStats bounded = new GraphStatsWalker()
+                .setBoundary(new GraphBoundary().stopRuntime().stopField(Holder.class, "big"))
+                .walk(h);
+        Assert.assertEquals(full.totalSize() - size(h.big), bounded.totalSize());
+    }
+
+    @Test
+    public void stopClassIsExact() {
+        Pair p = new Pair();
+        p.first = new Base();
+        p.second = new Derived();
+
+        GraphStats stopBase = new GraphStatsWalker()
+                .setBoundary(new GraphBoundary().stopClass(Base.class))
+                .walk(p);
+        Assert.assertEquals(shallow(p) + size(p.second), stopBase.totalSize());
+
+        GraphStats stopAll = new GraphStatsWalker()
+                .setBoundary(new GraphBoundary().stopSubclasses(Base.class))
+                .walk(p);
+        Assert.assertEquals(shallow(p), stopAll.totalSize());
+    }
+
+    @Test
+    public void stopPackage() {
+        Pair p = new Pair();
+        p.first = new ArrayList<>();
+        p.second = new Base();
+
+        GraphStats bounded = new GraphStatsWalker()
+                .setBoundary(new GraphBoundary().stopPackage("java.util"))
+                .walk(p);
+        Assert.assertEquals(shallow(p) + size(p.second), bounded.totalSize());
+
+        GraphStats notPrefix = new GraphStatsWalker()
+                .setBoundary(new GraphBoundary().stopPackage("java.ut"))
+                .walk(p);
+        Assert.assertEquals(size(p), notPrefix.totalSize());
+    }
+
+    @Test
+    public void rootsAreAlwaysWalked() {
+        Base b = new Base();
+        GraphStats bounded = new GraphStatsWalker()
+                .setBoundary(new GraphBoundary().stopClass(Base.class))
+                .walk(b);
+        Assert.assertEquals(size(b), bounded.totalSize());
+    }
+
+    @Test
+    public void compactPathsFollowPrunedPlans() {
+        Holder h = new Holder();
+        GraphLayout gl = new GraphWalker()
+                .setBoundary(new GraphBoundary().stopRuntime())
+                .setCompactRecords(true)
+                .walk(h);
+        List<String> paths = new ArrayList<>();
+        for (long addr : gl.addresses()) {
+            paths.add(gl.record(addr).path());
+        }
+        Assert.assertTrue(paths.toString(), paths.contains(".own"));
+        Assert.assertTrue(paths.toString(), paths.contains(".big"));
+        Assert.assertFalse(paths.toString(), paths.contains(".thread"));
+    }
+
+}
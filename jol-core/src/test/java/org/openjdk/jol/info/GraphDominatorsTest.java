@@ -0,0 +1,110 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class GraphDominatorsTest {
+
+    static class Node {
+        Object left;
+        Object right;
+
+        Node(Object left, Object right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private static long size(Object... objs) {
+        long size = 0;
+        for (Object o : objs) {
+            size += GraphStats.parseInstance(o).totalSize();
+        }
+        return size;
+    }
+
+    @Test
+    public void chain() {
+        int[] leaf = new int[100];
+        Node c = new Node(leaf, null);
+        Node b = new Node(c, null);
+        Node a = new Node(b, null);
+
+        GraphDominators gd = GraphDominators.parseInstance(a);
+        Assert.assertEquals(4, gd.totalCount());
+        Assert.assertEquals(size(a), gd.totalSize());
+        Assert.assertEquals(size(a), gd.retainedSize(a));
+        Assert.assertEquals(size(b), gd.retainedSize(b));
+        Assert.assertEquals(3, gd.retainedCount(b));
+        Assert.assertSame(b, gd.dominator(c));
+        Assert.assertNull(gd.dominator(a));
+    }
+
+    @Test
+    public void diamond() {
+        int[] shared = new int[100];
+        Node x = new Node(shared, null);
+        Node y = new Node(shared, null);
+        Node root = new Node(x, y);
+
+        GraphDominators gd = GraphDominators.parseInstance(root);
+        Assert.assertSame(root, gd.dominator(shared));
+        Assert.assertEquals(size(new Node(null, null)), gd.retainedSize(x));
+        Assert.assertEquals(size(new Node(null, null)), gd.retainedSize(y));
+        Assert.assertEquals(size(root), gd.retainedSize(root));
+    }
+
+    @Test
+    public void cycle() {
+        Node a = new Node(null, new int[10]);
+        Node b = new Node(a, new int[20]);
+        a.left = b;
+        Node root = new Node(a, null);
+
+        GraphDominators gd = GraphDominators.parseInstance(root);
+        Assert.assertSame(root, gd.dominator(a));
+        Assert.assertSame(a, gd.dominator(b));
+        Assert.assertEquals(size(a), gd.retainedSize(a));
+        Assert.assertEquals(4, gd.retainedCount(a));
+    }
+
+    @Test
+    public void topRetainers() {
+        Object[] arr = new Object[10];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = new Node(new int[i * 100], null);
+        }
+
+        GraphDominators gd = GraphDominators.parseInstance((Object) arr);
+        List<Object> top = gd.topRetainers(3);
+        Assert.assertEquals(3, top.size());
+        Assert.assertSame(arr, top.get(0));
+        Assert.assertSame(arr[9], top.get(1));
+        // Payload of the largest node retains more than the next node.
+        Assert.assertSame(((Node) arr[9]).left, top.get(2));
+        Assert.assertEquals(size(arr[9]), gd.retainedSize(arr[9]));
+
+        String report = gd.toRetainers(3);
+        Assert.assertTrue(report, report.contains("[9]"));
+        Assert.assertTrue(report, report.contains("[9].left"));
+    }
+
+    @Test
+    public void sharedBetweenRoots() {
+        int[] shared = new int[10];
+        Node r1 = new Node(shared, null);
+        Node r2 = new Node(shared, null);
+
+        GraphDominators gd = GraphDominators.parseInstance(r1, r2);
+        Assert.assertNull(gd.dominator(shared));
+        Assert.assertEquals(size(new Node(null, null)), gd.retainedSize(r1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownObject() {
+        GraphDominators.parseInstance(new Object()).retainedSize(new Object());
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GraphFootprintTest {
+
+    private static Map<String, List<Integer>> sample() {
+        Map<String, List<Integer>> map = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            List<Integer> list = new ArrayList<>();
+            for (int j = 0; j < i % 10; j++) {
+                list.add(j * 1000);
+            }
+            map.put("Key" + i, list);
+        }
+        return map;
+    }
+
+    @Test
+    public void matchesLayout() {
+        Map<String, List<Integer>> map = sample();
+
+        GraphLayout gl = GraphLayout.parseInstance(map);
+        GraphFootprint fp = GraphFootprint.parseInstance(map);
+
+        Assert.assertEquals(gl.totalCount(), fp.totalCount());
+        Assert.assertEquals(gl.totalSize(), fp.totalSize());
+        Assert.assertEquals(gl.getClasses(), fp.getClasses());
+        for (Class<?> cl : gl.getClasses()) {
+            Assert.assertEquals(gl.getClassCounts().count(cl), fp.getClassCounts().count(cl));
+            Assert.assertEquals(gl.getClassSizes().count(cl), fp.getClassSizes().count(cl));
+        }
+        Assert.assertEquals(gl.toFootprint(), fp.toFootprint());
+    }
+
+    @Test
+    public void matchesStats() {
+        Map<String, List<Integer>> map = sample();
+
+        GraphStats gs = GraphStats.parseInstance(map);
+        GraphFootprint fp = GraphFootprint.parseInstance(map);
+        GraphFootprint fpPar = GraphFootprint.parseInstanceParallel(4, map);
+
+        Assert.assertEquals(gs.totalCount(), fp.totalCount());
+        Assert.assertEquals(gs.totalSize(), fp.totalSize());
+        Assert.assertEquals(gs.totalCount(), fpPar.totalCount());
+        Assert.assertEquals(gs.totalSize(), fpPar.totalSize());
+        Assert.assertEquals(fp.toFootprint(), fpPar.toFootprint());
+    }
+
+    @Test
+    public void customWalker() {
+        Map<String, List<Integer>> map = sample();
+
+        GraphFootprint fp = new GraphFootprint(map);
+        GraphStats gs = new GraphStatsWalker(fp).walk(map);
+
+        Assert.assertEquals(gs.totalCount(), fp.totalCount());
+        Assert.assertEquals(gs.totalSize(), fp.totalSize());
+    }
+
+}
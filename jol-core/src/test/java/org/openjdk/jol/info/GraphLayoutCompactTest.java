@@ -0,0 +1,128 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GraphLayoutCompactTest {
+
+    static class Node {
+        final Node next;
+        final Object payload;
+        final Object[] arr;
+
+        Node(Node next, Object payload) {
+            this.next = next;
+            this.payload = payload;
+            this.arr = new Object[] { payload, "Node" };
+        }
+    }
+
+    private static List<String> paths(GraphLayout gl) {
+        List<String> res = new ArrayList<>();
+        for (long addr : gl.addresses()) {
+            GraphPathRecord r = gl.record(addr);
+            res.add(r.path() + " " + r.klass().getName() + " " + r.size());
+        }
+        Collections.sort(res);
+        return res;
+    }
+
+    private static void assertSame(Object... roots) {
+        GraphLayout regular = GraphLayout.parseInstance(roots);
+        GraphLayout compact = GraphLayout.parseInstanceCompact(roots);
+
+        Assert.assertEquals(regular.totalCount(), compact.totalCount());
+        Assert.assertEquals(regular.totalSize(), compact.totalSize());
+        Assert.assertEquals(regular.getClasses(), compact.getClasses());
+        for (Class<?> cl : regular.getClasses()) {
+            Assert.assertEquals(regular.getClassCounts().count(cl), compact.getClassCounts().count(cl));
+            Assert.assertEquals(regular.getClassSizes().count(cl), compact.getClassSizes().count(cl));
+        }
+        Assert.assertEquals(regular.toFootprint(), compact.toFootprint());
+        Assert.assertEquals(paths(regular), paths(compact));
+    }
+
+    private static Node chain(int len) {
+        Node n = null;
+        for (int i = 0; i < len; i++) {
+            n = new Node(n, (i % 2 == 0) ? new Object() : Integer.valueOf(i));
+        }
+        return n;
+    }
+
+    @Test
+    public void singleRoot() {
+        assertSame(chain(100));
+    }
+
+    @Test
+    public void multipleRoots() {
+        Map<Integer, String> map = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "Value" + i);
+        }
+        Node chain = chain(10);
+        assertSame(map, chain, map, chain.next, new int[10]);
+    }
+
+    @Test
+    public void paths() {
+        Node n = chain(3);
+        GraphLayout gl = GraphLayout.parseInstanceCompact(n);
+        List<String> ps = new ArrayList<>();
+        for (long addr : gl.addresses()) {
+            ps.add(gl.record(addr).path());
+        }
+        Assert.assertTrue(ps.contains(""));
+        Assert.assertTrue(ps.contains(".next.next"));
+        Assert.assertTrue(ps.contains(".next.arr"));
+        Assert.assertTrue(ps.contains(".arr[1]"));
+    }
+
+    @Test
+    public void pathsSurviveBoundaryChanges() {
+        Node n = chain(3);
+        GraphBoundary boundary = new GraphBoundary();
+        GraphWalker walker = new GraphWalker().setCompactRecords(true).setBoundary(boundary);
+        GraphLayout gl = walker.walk(n);
+        List<String> before = paths(gl);
+
+        // The walk is done, the later boundary changes should not affect the paths.
+        boundary.stopField(Node.class, "next");
+        walker.setBoundary(new GraphBoundary().stopField(Node.class, "payload"));
+        Assert.assertEquals(before, paths(gl));
+    }
+
+    @Test
+    public void visitors() {
+        List<String> visited = new ArrayList<>();
+        new GraphWalker(gpr -> visited.add(gpr.path()))
+                .setCompactRecords(true)
+                .walk(Arrays.asList("a", "b"));
+        Assert.assertTrue(visited.contains(".a[0]"));
+        Assert.assertTrue(visited.contains(".a[1]"));
+    }
+
+    @Test
+    public void subtract() {
+        Node n = chain(10);
+        GraphLayout all = GraphLayout.parseInstanceCompact(n);
+        GraphLayout tail = GraphLayout.parseInstanceCompact(n.next);
+        GraphLayout head = all.subtract(tail);
+        Assert.assertEquals(all.totalCount() - tail.totalCount(), head.totalCount());
+        Assert.assertEquals(all.totalCount(), head.add(tail).totalCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parallelUnsupported() {
+        new GraphWalker().setCompactRecords(true).setParallelism(2).walk(new Object());
+    }
+
+}
@@ -0,0 +1,95 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GraphLocalityTest {
+
+    static class Node {
+        Node next;
+        Node self;
+        long[] payload;
+    }
+
+    private static Node chain(int count) {
+        Node head = null;
+        for (int i = 0; i < count; i++) {
+            Node n = new Node();
+            n.next = head;
+            n.self = n;
+            n.payload = new long[i % 16];
+            head = n;
+        }
+        return head;
+    }
+
+    @Test
+    public void edgeCounts() {
+        Node head = chain(100);
+        GraphLocality loc = GraphLocality.parse(GraphLayout.parseInstance(head));
+
+        Assert.assertEquals(200, loc.objectCount());
+        // 99 next links, 100 self links, 100 payload links
+        Assert.assertEquals(299, loc.edgeCount());
+        // Self links point to the same address
+        Assert.assertEquals(100, loc.distanceHistogram()[0]);
+        Assert.assertEquals(199, loc.forwardEdges() + loc.backwardEdges());
+
+        long sum = 0;
+        for (long c : loc.distanceHistogram()) {
+            sum += c;
+        }
+        Assert.assertEquals(loc.edgeCount(), sum);
+    }
+
+    @Test
+    public void crossingsAreNested() {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(new Object[] { new int[i % 40] });
+        }
+        GraphLocality loc = GraphLocality.parse(GraphLayout.parseInstance(list));
+
+        Assert.assertTrue(loc.cacheLineCrossings() <= loc.edgeCount());
+        Assert.assertTrue(loc.pageCrossings() <= loc.cacheLineCrossings());
+        Assert.assertTrue(loc.largePageCrossings() <= loc.pageCrossings());
+        Assert.assertTrue(loc.straddlingObjects() <= loc.objectCount());
+        Assert.assertTrue(loc.cacheLinesTouched() >= loc.objectCount());
+        Assert.assertTrue(loc.cacheLinesTouched() >= loc.objectCount() + loc.straddlingObjects());
+    }
+
+    @Test
+    public void largeArrayStraddles() {
+        GraphLocality loc = GraphLocality.parse(GraphLayout.parseInstance((Object) new long[1000]));
+        Assert.assertEquals(1, loc.objectCount());
+        Assert.assertEquals(1, loc.straddlingObjects());
+        Assert.assertTrue(loc.cacheLinesTouched() >= 8000 / 64);
+        Assert.assertEquals(0, loc.edgeCount());
+    }
+
+    @Test
+    public void cacheLineSize() {
+        GraphLayout gl = GraphLayout.parseInstance(chain(100));
+        GraphLocality small = GraphLocality.parse(gl, 16);
+        GraphLocality large = GraphLocality.parse(gl, 1024);
+        Assert.assertEquals(16, small.cacheLine());
+        Assert.assertTrue(small.cacheLineCrossings() >= large.cacheLineCrossings());
+        Assert.assertTrue(small.cacheLinesTouched() >= large.cacheLinesTouched());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badCacheLine() {
+        GraphLocality.parse(GraphLayout.parseInstance(new Object()), 48);
+    }
+
+    @Test
+    public void printable() {
+        String s = GraphLocality.parse(GraphLayout.parseInstance(chain(10))).toPrintable();
+        Assert.assertTrue(s, s.contains("References: 29"));
+        Assert.assertTrue(s, s.contains("DISTANCE"));
+    }
+
+}
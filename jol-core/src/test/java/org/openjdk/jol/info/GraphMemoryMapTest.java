@@ -0,0 +1,105 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GraphMemoryMapTest {
+
+    private static List<Object> graph() {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(new int[i % 20]);
+        }
+        return list;
+    }
+
+    private static long totalOccupied(GraphMemoryMap map) {
+        long total = 0;
+        for (int b = 0; b < map.bins(); b++) {
+            total += map.occupied(b);
+        }
+        return total;
+    }
+
+    @Test
+    public void wholeRange() {
+        GraphLayout gl = GraphLayout.parseInstance(graph());
+        for (int bins : new int[] {1, 7, 100, 10_000}) {
+            GraphMemoryMap map = GraphMemoryMap.parse(gl, bins);
+            Assert.assertEquals(bins, map.bins());
+            Assert.assertEquals(gl.totalSize(), totalOccupied(map));
+            Assert.assertEquals(map.startAddress(), map.binStart(0));
+            Assert.assertEquals(map.endAddress(), map.binStart(bins));
+            for (int b = 0; b < bins; b++) {
+                Assert.assertTrue(map.binStart(b) <= map.binStart(b + 1));
+                if (map.occupied(b) > 0) {
+                    Assert.assertTrue(map.count(b) > 0);
+                    Assert.assertNotNull(map.dominantClass(b));
+                    Assert.assertTrue(map.averageDepth(b) >= 0);
+                } else {
+                    Assert.assertNull(map.dominantClass(b));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void singleArray() {
+        GraphLayout gl = GraphLayout.parseInstance((Object) new long[1000]);
+        GraphMemoryMap map = GraphMemoryMap.parse(gl, 10);
+        for (int b = 0; b < map.bins(); b++) {
+            Assert.assertSame(long[].class, map.dominantClass(b));
+            Assert.assertEquals(1, map.count(b));
+            Assert.assertEquals(1.0, map.occupancy(b), 0.0);
+            Assert.assertEquals(0.0, map.averageDepth(b), 0.0);
+        }
+    }
+
+    @Test
+    public void tilesAndZoom() {
+        GraphLayout gl = GraphLayout.parseInstance(graph());
+        GraphMemoryMap[] tiles = GraphMemoryMap.tiles(gl, 4, 50);
+        long total = 0;
+        for (GraphMemoryMap t : tiles) {
+            Assert.assertEquals(50, t.bins());
+            total += totalOccupied(t);
+        }
+        Assert.assertEquals(gl.totalSize(), total);
+
+        GraphMemoryMap map = GraphMemoryMap.parse(gl, 10);
+        GraphMemoryMap zoomed = map.zoom(2, 5, 300);
+        long expected = map.occupied(2) + map.occupied(3) + map.occupied(4);
+        Assert.assertEquals(expected, totalOccupied(zoomed));
+        Assert.assertEquals(map.binStart(2), zoomed.startAddress());
+        Assert.assertEquals(map.binStart(5), zoomed.endAddress());
+    }
+
+    @Test
+    public void render() throws Exception {
+        GraphLayout gl = GraphLayout.parseInstance(graph());
+        GraphMemoryMap map = GraphMemoryMap.parse(gl, 200);
+        BufferedImage image = map.render(40);
+        Assert.assertEquals(200, image.getWidth());
+        Assert.assertEquals(40, image.getHeight());
+
+        File file = File.createTempFile("jol", "memorymap");
+        map.toImage(file.getAbsolutePath(), 40);
+        Assert.assertTrue(file.length() > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badBins() {
+        GraphMemoryMap.parse(GraphLayout.parseInstance(new Object()), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badZoom() {
+        GraphMemoryMap.parse(GraphLayout.parseInstance(new Object()), 10).zoom(5, 5, 10);
+    }
+
+}
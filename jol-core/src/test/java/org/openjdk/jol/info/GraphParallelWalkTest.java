@@ -0,0 +1,107 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+public class GraphParallelWalkTest {
+
+    static class Node {
+        final Node next;
+        final Object payload;
+
+        Node(Node next, Object payload) {
+            this.next = next;
+            this.payload = payload;
+        }
+    }
+
+    private static Object[] largeArray() {
+        Object shared = new Object();
+        Object[] arr = new Object[20_000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = (i % 10 == 0) ? shared : new Node(null, new int[i % 7]);
+        }
+        return arr;
+    }
+
+    private static Map<Integer, String> map() {
+        Map<Integer, String> map = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            map.put(i, "Value" + i);
+        }
+        return map;
+    }
+
+    private static Node chain() {
+        Node n = null;
+        for (int i = 0; i < 5_000; i++) {
+            n = new Node(n, (i % 2 == 0) ? new Object() : null);
+        }
+        return n;
+    }
+
+    private static void assertSameStats(Object... roots) {
+        GraphStats seq = GraphStats.parseInstance(roots);
+        for (int p : new int[] {2, 4}) {
+            GraphStats par = GraphStats.parseInstanceParallel(p, roots);
+            Assert.assertEquals("Counts agree with parallelism " + p, seq.totalCount(), par.totalCount());
+            Assert.assertEquals("Sizes agree with parallelism " + p, seq.totalSize(), par.totalSize());
+        }
+    }
+
+    private static void assertSameLayout(Object... roots) {
+        GraphLayout seq = GraphLayout.parseInstance(roots);
+        for (int p : new int[] {2, 4}) {
+            GraphLayout par = GraphLayout.parseInstanceParallel(p, roots);
+            Assert.assertEquals("Counts agree with parallelism " + p, seq.totalCount(), par.totalCount());
+            Assert.assertEquals("Sizes agree with parallelism " + p, seq.totalSize(), par.totalSize());
+            for (Class<?> cl : seq.getClasses()) {
+                Assert.assertEquals("Class counts agree for " + cl, seq.getClassCounts().count(cl), par.getClassCounts().count(cl));
+                Assert.assertEquals("Class sizes agree for " + cl, seq.getClassSizes().count(cl), par.getClassSizes().count(cl));
+            }
+        }
+    }
+
+    @Test
+    public void singleLargeArray() {
+        Object[] arr = largeArray();
+        assertSameStats((Object) arr);
+        assertSameLayout((Object) arr);
+    }
+
+    @Test
+    public void multipleRoots() {
+        Object[] arr = largeArray();
+        Map<Integer, String> map = map();
+        Node chain = chain();
+        assertSameStats(arr, map, chain, arr, chain.next);
+        assertSameLayout(arr, map, chain, arr, chain.next);
+    }
+
+    @Test
+    public void deepChain() {
+        LinkedList<Integer> list = new LinkedList<>();
+        for (int i = 0; i < 10_000; i++) {
+            list.add(i);
+        }
+        assertSameStats(list);
+        assertSameLayout(list);
+    }
+
+    @Test
+    public void singleObject() {
+        Object o = new Object();
+        assertSameStats(o);
+        assertSameLayout(o);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badParallelism() {
+        GraphStats.parseInstanceParallel(0, new Object());
+    }
+
+}
@@ -0,0 +1,238 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jol.vm.VM;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public class GraphReachabilityTest {
+
+    static class Holder {
+        Object strong;
+        SoftReference<Object> soft;
+        WeakReference<Object> weak;
+        PhantomReference<Object> phantom;
+    }
+
+    @Test
+    public void splitByReachability() {
+        int[] strong = new int[10];
+        int[] soft = new int[100];
+        int[] weak = new int[200];
+        int[] phantom = new int[300];
+
+        Holder h = new Holder();
+        h.strong = strong;
+        h.soft = new SoftReference<>(soft);
+        h.weak = new WeakReference<>(weak);
+        h.phantom = new PhantomReference<>(phantom, new ReferenceQueue<>());
+
+        GraphStats stats = GraphStats.parseInstance(h);
+        Assert.assertTrue(stats.hasReachability());
+        Assert.assertEquals(1, stats.totalCount(Reachability.SOFT));
+        Assert.assertEquals(VM.current().sizeOf(soft), stats.totalSize(Reachability.SOFT));
+        Assert.assertEquals(1, stats.totalCount(Reachability.WEAK));
+        Assert.assertEquals(VM.current().sizeOf(weak), stats.totalSize(Reachability.WEAK));
+        Assert.assertEquals(1, stats.totalCount(Reachability.PHANTOM));
+        Assert.assertEquals(VM.current().sizeOf(phantom), stats.totalSize(Reachability.PHANTOM));
+
+        long sum = 0;
+        for (Reachability r : Reachability.values()) {
+            sum += stats.totalSize(r);
+        }
+        Assert.assertEquals(stats.totalSize(), sum);
+
+        GraphStats par = GraphStats.parseInstanceParallel(2, h);
+        Assert.assertEquals(stats.totalCount(), par.totalCount());
+        Assert.assertEquals(stats.totalSize(), par.totalSize());
+        for (Reachability r : Reachability.values()) {
+            Assert.assertEquals(stats.totalCount(r), par.totalCount(r));
+            Assert.assertEquals(stats.totalSize(r), par.totalSize(r));
+        }
+
+        Assert.assertNotNull(strong);
+        Assert.assertNotNull(soft);
+        Assert.assertNotNull(weak);
+        Assert.assertNotNull(phantom);
+    }
+
+    @Test
+    public void strongestPathWins() {
+        int[] payload = new int[100];
+
+        Holder h = new Holder();
+        h.weak = new WeakReference<>(payload);
+        h.soft = new SoftReference<>(payload);
+        GraphStats stats = GraphStats.parseInstance(h);
+        Assert.assertEquals(1, stats.totalCount(Reachability.SOFT));
+        Assert.assertEquals(0, stats.totalCount(Reachability.WEAK));
+
+        h.strong = payload;
+        stats = GraphStats.parseInstance(h);
+        Assert.assertEquals(0, stats.totalCount(Reachability.SOFT));
+        Assert.assertEquals(0, stats.totalCount(Reachability.WEAK));
+    }
+
+    @Test
+    public void weakestReferenceOnPathWins() {
+        int[] payload = new int[100];
+
+        Holder inner = new Holder();
+        inner.weak = new WeakReference<>(payload);
+
+        Holder h = new Holder();
+        h.soft = new SoftReference<>(inner);
+
+        GraphStats stats = GraphStats.parseInstance(h);
+
+        // Inner holder and its weak reference are softly reachable,
+        // the payload is only weakly reachable.
+        Assert.assertEquals(2, stats.totalCount(Reachability.SOFT));
+        Assert.assertEquals(1, stats.totalCount(Reachability.WEAK));
+        Assert.assertEquals(VM.current().sizeOf(payload), stats.totalSize(Reachability.WEAK));
+
+        Assert.assertNotNull(inner);
+        Assert.assertNotNull(payload);
+    }
+
+    @Test
+    public void followedReferents() {
+        int[] soft = new int[100];
+        int[] weak = new int[200];
+
+        Holder h = new Holder();
+        h.soft = new SoftReference<>(soft);
+        h.weak = new WeakReference<>(weak);
+
+        GraphStats all = GraphStats.parseInstance(h);
+
+        GraphStats none = new GraphStatsWalker().setFollowedReferents().walk(h);
+        Assert.assertEquals(all.totalCount(Reachability.STRONG), none.totalCount());
+        Assert.assertEquals(all.totalSize(Reachability.STRONG), none.totalSize());
+        Assert.assertEquals(0, none.totalCount(Reachability.SOFT));
+        Assert.assertEquals(0, none.totalCount(Reachability.WEAK));
+
+        GraphStats weakOnly = new GraphStatsWalker().setFollowedReferents(Reachability.WEAK).walk(h);
+        Assert.assertEquals(0, weakOnly.totalCount(Reachability.SOFT));
+        Assert.assertEquals(1, weakOnly.totalCount(Reachability.WEAK));
+        Assert.assertEquals(all.totalCount() - 1, weakOnly.totalCount());
+
+        GraphStats none2 = new GraphStatsWalker().setFollowedReferents().setParallelism(2).walk(h);
+        Assert.assertEquals(none.totalCount(), none2.totalCount());
+        Assert.assertEquals(none.totalSize(), none2.totalSize());
+
+        Assert.assertNotNull(soft);
+        Assert.assertNotNull(weak);
+    }
+
+    @Test
+    public void weakHashMapFootprint() {
+        List<String> keys = new ArrayList<>();
+        Map<String, Integer> map = new WeakHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            String k = "Key" + i;
+            keys.add(k);
+            map.put(k, i + 1000);
+        }
+
+        GraphFootprint fp = GraphFootprint.parseInstance(map);
+        Assert.assertTrue(fp.hasReachability());
+
+        // Keys and their value arrays are weakly reachable, values are not
+        long weakCount = fp.totalCount(Reachability.WEAK);
+        Assert.assertTrue("Weak count: " + weakCount, weakCount >= keys.size());
+        Assert.assertEquals(fp.totalCount(), fp.totalCount(Reachability.STRONG) + weakCount);
+        Assert.assertTrue(fp.toFootprint().contains("footprint by reachability"));
+
+        Assert.assertEquals(keys.size(), map.size());
+    }
+
+    @Test
+    public void strongOnlyFootprint() {
+        GraphFootprint fp = GraphFootprint.parseInstance(new ArrayList<>());
+        Assert.assertFalse(fp.toFootprint().contains("footprint by reachability"));
+    }
+
+    @Test
+    public void parallelFootprint() {
+        List<String> keys = new ArrayList<>();
+        Map<String, Integer> map = new WeakHashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            String k = "Key" + i;
+            keys.add(k);
+            map.put(k, i + 1000);
+        }
+
+        GraphFootprint seq = GraphFootprint.parseInstance(map);
+        GraphFootprint par = GraphFootprint.parseInstanceParallel(4, map);
+        Assert.assertTrue(par.hasReachability());
+        for (Reachability r : Reachability.values()) {
+            Assert.assertEquals(seq.totalCount(r), par.totalCount(r));
+            Assert.assertEquals(seq.totalSize(r), par.totalSize(r));
+        }
+
+        Assert.assertEquals(keys.size(), map.size());
+    }
+
+    @Test
+    public void strongOnlyWalks() {
+        int[] strong = new int[10];
+        int[] soft = new int[100];
+        int[] weak = new int[200];
+
+        Holder h = new Holder();
+        h.strong = strong;
+        h.soft = new SoftReference<>(soft);
+        h.weak = new WeakReference<>(weak);
+
+        GraphStats stats = GraphStats.parseInstance(h);
+        long count = stats.totalCount(Reachability.STRONG);
+        long size = stats.totalSize(Reachability.STRONG);
+
+        GraphLayout gl = new GraphWalker().setFollowedReferents().walk(h);
+        Assert.assertEquals(count, gl.totalCount());
+        Assert.assertEquals(size, gl.totalSize());
+
+        gl = new GraphWalker().setFollowedReferents().setCompactRecords(true).walk(h);
+        Assert.assertEquals(count, gl.totalCount());
+        Assert.assertEquals(size, gl.totalSize());
+
+        gl = new GraphWalker().setFollowedReferents().setParallelism(2).walk(h);
+        Assert.assertEquals(count, gl.totalCount());
+        Assert.assertEquals(size, gl.totalSize());
+
+        GraphStats inc = new IncrementalGraphStatsWalker().setFollowedReferents().walk(h);
+        Assert.assertEquals(count, inc.totalCount());
+        Assert.assertEquals(size, inc.totalSize());
+
+        GraphStatsEstimate est = new GraphStatsEstimator().setFollowedReferents().walk(h);
+        Assert.assertEquals(count, est.totalCount());
+        Assert.assertEquals(size, est.totalSize());
+
+        GraphWeigher weigher = new GraphWeigher().setFollowedReferents();
+        Assert.assertEquals(size, weigher.weigh(h));
+        Assert.assertEquals(count, weigher.lastCount());
+
+        // Soft referents are followed, weak ones are not.
+        long softSize = size + stats.totalSize(Reachability.SOFT);
+        Assert.assertEquals(softSize, new GraphWalker().setFollowedReferents(Reachability.SOFT).walk(h).totalSize());
+        Assert.assertEquals(softSize, new GraphWeigher().setFollowedReferents(Reachability.SOFT).weigh(h));
+
+        // By default, everything is walked.
+        Assert.assertEquals(stats.totalSize(), GraphLayout.parseInstance(h).totalSize());
+        Assert.assertEquals(stats.totalSize(), new GraphWeigher().weigh(h));
+
+        Assert.assertNotNull(strong);
+        Assert.assertNotNull(soft);
+        Assert.assertNotNull(weak);
+    }
+
+}
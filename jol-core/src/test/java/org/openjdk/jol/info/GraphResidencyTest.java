@@ -0,0 +1,97 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GraphResidencyTest {
+
+    private static List<Object> graph() {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            list.add(new int[i % 50]);
+        }
+        return list;
+    }
+
+    private static long totalOccupied(GraphResidency res) {
+        long total = 0;
+        for (int r = 0; r < res.touchedRegions(); r++) {
+            total += res.regionOccupied(r);
+        }
+        return total;
+    }
+
+    @Test
+    public void bucketsCoverEverything() {
+        GraphLayout gl = GraphLayout.parseInstance(graph());
+        GraphResidency res = GraphResidency.parse(gl, 64 * 1024);
+
+        Assert.assertEquals(gl.totalSize(), res.totalSize());
+        Assert.assertEquals(gl.totalSize(), totalOccupied(res));
+        Assert.assertEquals(64 * 1024, res.regionSize());
+        Assert.assertTrue(res.hasRegions());
+
+        Assert.assertTrue(res.touchedPages() >= (gl.totalSize() + GraphResidency.PAGE - 1) / GraphResidency.PAGE);
+        Assert.assertTrue(res.touchedLargePages() <= res.touchedPages());
+        Assert.assertTrue(res.touchedRegions() <= res.touchedPages());
+
+        Assert.assertTrue(res.pageFillRatio() > 0 && res.pageFillRatio() <= 1);
+        Assert.assertTrue(res.largePageFillRatio() <= res.pageFillRatio());
+        Assert.assertTrue(res.regionFillRatio() <= res.pageFillRatio());
+
+        long objects = 0;
+        for (int r = 0; r < res.touchedRegions(); r++) {
+            objects += res.regionObjects(r);
+            if (r > 0) {
+                Assert.assertTrue(res.regionStart(r - 1) < res.regionStart(r));
+            }
+        }
+        Assert.assertEquals(gl.totalCount(), objects);
+    }
+
+    @Test
+    public void worstRegions() {
+        GraphResidency res = GraphResidency.parse(GraphLayout.parseInstance(graph()), 4 * 1024);
+        int[] worst = res.worstRegions(5);
+        Assert.assertEquals(Math.min(5, res.touchedRegions()), worst.length);
+        for (int i = 1; i < worst.length; i++) {
+            Assert.assertTrue(res.regionOccupied(worst[i - 1]) <= res.regionOccupied(worst[i]));
+        }
+        Assert.assertEquals(0, res.worstRegions(0).length);
+    }
+
+    @Test
+    public void largeArraySpansPages() {
+        GraphResidency res = GraphResidency.parse(GraphLayout.parseInstance((Object) new byte[3 * 4096]), 0);
+        Assert.assertTrue(res.touchedPages() >= 3);
+        Assert.assertTrue(res.touchedPages() <= 4);
+        Assert.assertFalse(res.hasRegions());
+        Assert.assertEquals(0, res.regionSize());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noRegions() {
+        GraphResidency.parse(GraphLayout.parseInstance(new Object()), 0).touchedRegions();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badRegionSize() {
+        GraphResidency.parse(GraphLayout.parseInstance(new Object()), 1000);
+    }
+
+    @Test
+    public void printable() {
+        GraphLayout gl = GraphLayout.parseInstance(graph());
+        String s = GraphResidency.parse(gl, 1024 * 1024).toPrintable();
+        Assert.assertTrue(s, s.contains("4K pages"));
+        Assert.assertTrue(s, s.contains("1024K regions"));
+        Assert.assertTrue(s, s.contains("Least filled regions"));
+
+        // VM-provided region size, whatever it is
+        Assert.assertNotNull(GraphResidency.parse(gl).toPrintable());
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GraphSnapshotTest {
+
+    static class Payload {
+        final int[] data;
+
+        Payload(int size) {
+            this.data = new int[size];
+        }
+    }
+
+    private static List<Object> list(int count) {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(new Payload(i % 10));
+        }
+        return list;
+    }
+
+    @Test
+    public void unchangedSurvivesGC() {
+        List<Object> list = list(1_000);
+        GraphSnapshot before = GraphSnapshot.parseInstance(list);
+        for (int c = 0; c < 3; c++) {
+            System.gc();
+        }
+        GraphSnapshot after = GraphSnapshot.parseInstance(list);
+
+        GraphDiff diff = before.diff(after);
+        Assert.assertEquals(0, diff.addedCount());
+        Assert.assertEquals(0, diff.removedCount());
+        Assert.assertEquals(before.totalCount(), after.totalCount());
+    }
+
+    @Test
+    public void addedAndRemoved() {
+        List<Object> list = list(100);
+        GraphSnapshot before = GraphSnapshot.parseInstance(list);
+
+        Object removed = list.remove(0);
+        List<Object> added = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Payload p = new Payload(100);
+            added.add(p);
+            list.add(p);
+        }
+        System.gc();
+
+        GraphSnapshot after = GraphSnapshot.parseInstance(list);
+        GraphDiff diff = before.diff(after);
+
+        Assert.assertEquals(10, diff.getAddedClassCounts().count(Payload.class));
+        Assert.assertEquals(10, diff.getAddedClassCounts().count(int[].class));
+        Assert.assertEquals(1, diff.getRemovedClassCounts().count(Payload.class));
+        Assert.assertEquals(1, diff.getRemovedClassCounts().count(int[].class));
+        Assert.assertTrue(diff.addedObjects().containsAll(added));
+        Assert.assertFalse(diff.addedObjects().contains(removed));
+        Assert.assertEquals(after.totalSize() - before.totalSize(), diff.addedSize() - diff.removedSize());
+        Assert.assertTrue(diff.toFootprint().contains("GraphSnapshotTest.Payload"));
+    }
+
+    @Test
+    public void diedAfterBothSnapshots() {
+        ArrayList<Object> list = new ArrayList<>(list(1_000));
+        GraphSnapshot before = GraphSnapshot.parseInstance(list);
+        GraphSnapshot after = GraphSnapshot.parseInstance(list);
+
+        list.clear();
+        list.trimToSize();
+        for (int c = 0; c < 3; c++) {
+            System.gc();
+        }
+
+        // The dead objects were in both snapshots, and should not look changed.
+        GraphDiff diff = before.diff(after);
+        Assert.assertEquals(0, diff.addedCount());
+        Assert.assertEquals(0, diff.removedCount());
+    }
+
+}
@@ -0,0 +1,121 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GraphStatsEstimateTest {
+
+    static class Node {
+        final Object shared;
+        final Object own;
+
+        Node(Object shared, Object own) {
+            this.shared = shared;
+            this.own = own;
+        }
+    }
+
+    private static void assertCovers(GraphStats exact, GraphStatsEstimate est) {
+        String msg = est + " vs exact " + exact.totalCount() + " objects, " + exact.totalSize() + " bytes";
+        Assert.assertFalse(msg, est.isExact());
+        Assert.assertTrue(msg, est.totalCountLow() <= exact.totalCount());
+        Assert.assertTrue(msg, exact.totalCount() <= est.totalCountHigh());
+        Assert.assertTrue(msg, est.totalSizeLow() <= exact.totalSize());
+        Assert.assertTrue(msg, exact.totalSize() <= est.totalSizeHigh());
+        Assert.assertEquals(msg, exact.totalSize(), est.totalSize(), exact.totalSize() * 0.05);
+    }
+
+    private static GraphStatsEstimator estimator() {
+        return new GraphStatsEstimator().setSampleThreshold(1_000).setSampleSize(500).setSeed(1);
+    }
+
+    @Test
+    public void smallGraphIsExact() {
+        Object[] arr = new Object[100];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = new int[i];
+        }
+        GraphStats exact = GraphStats.parseInstance((Object) arr);
+        GraphStatsEstimate est = estimator().walk((Object) arr);
+        Assert.assertTrue(est.isExact());
+        Assert.assertEquals(exact.totalCount(), est.totalCount());
+        Assert.assertEquals(exact.totalSize(), est.totalSize());
+        Assert.assertEquals(est.totalSize(), est.totalSizeLow());
+        Assert.assertEquals(est.totalSize(), est.totalSizeHigh());
+    }
+
+    @Test
+    public void varyingElements() {
+        Object[] arr = new Object[20_000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = (i % 5 == 0) ? null : new int[i % 50];
+        }
+        assertCovers(GraphStats.parseInstance((Object) arr), estimator().walk((Object) arr));
+    }
+
+    @Test
+    public void sharedSubgraph() {
+        Object[] shared = new Object[500];
+        for (int i = 0; i < shared.length; i++) {
+            shared[i] = new long[10];
+        }
+        Object[] arr = new Object[20_000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = new Node(shared, new int[i % 10]);
+        }
+
+        GraphStats exact = GraphStats.parseInstance((Object) arr);
+        GraphStatsEstimate est = estimator().walk((Object) arr);
+        assertCovers(exact, est);
+    }
+
+    @Test
+    public void addressTracking() {
+        Object[] shared = new Object[500];
+        for (int i = 0; i < shared.length; i++) {
+            shared[i] = new long[10];
+        }
+        Object[] arr = new Object[20_000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = new Node(shared, new int[i % 10]);
+        }
+
+        GraphStatsEstimate est = estimator().setVisitedTracking(VisitedTracking.ADDRESS).walk((Object) arr);
+
+        // Nothing got the identity hash code installed.
+        HeaderCensus census = HeaderCensus.parseInstance((Object) arr);
+        Assert.assertEquals(0, census.hashedCount(Node.class));
+        Assert.assertEquals(0, census.hashedCount(long[].class));
+
+        // Same samples, same estimate.
+        GraphStatsEstimate ihEst = estimator().walk((Object) arr);
+        Assert.assertEquals(ihEst.totalCount(), est.totalCount());
+        Assert.assertEquals(ihEst.totalSize(), est.totalSize());
+    }
+
+    @Test
+    public void elementsReachableExactly() {
+        Object[] arr = new Object[20_000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = new int[i % 20];
+        }
+        // Everything in the large array is also reachable from the small one.
+        Object[][] parts = new Object[40][];
+        for (int p = 0; p < parts.length; p++) {
+            parts[p] = new Object[500];
+            System.arraycopy(arr, p * 500, parts[p], 0, 500);
+        }
+
+        Object[] roots = { parts, arr };
+        GraphStats exact = GraphStats.parseInstance(roots);
+        GraphStatsEstimate est = estimator().walk(roots);
+        Assert.assertEquals(exact.totalCount(), est.totalCount());
+        Assert.assertEquals(exact.totalSize(), est.totalSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badSampleSize() {
+        new GraphStatsEstimator().setSampleSize(1);
+    }
+
+}
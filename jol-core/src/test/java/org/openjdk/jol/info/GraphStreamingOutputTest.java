@@ -0,0 +1,75 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+public class GraphStreamingOutputTest {
+
+    private static Map<Integer, String> map() {
+        Map<Integer, String> map = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "Value" + i);
+        }
+        return map;
+    }
+
+    @Test
+    public void printable() throws IOException {
+        GraphLayout gl = GraphLayout.parseInstance(map());
+
+        StringWriter sw = new StringWriter();
+        gl.toPrintable(sw);
+        Assert.assertEquals(gl.toPrintable(), sw.toString());
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        gl.toPrintable(bos);
+        Assert.assertEquals(gl.toPrintable(), new String(bos.toByteArray(), Charset.defaultCharset()));
+    }
+
+    @Test
+    public void footprint() throws IOException {
+        Map<Integer, String> map = map();
+        GraphLayout gl = GraphLayout.parseInstance(map);
+        GraphFootprint fp = GraphFootprint.parseInstance(map);
+
+        StringWriter sw = new StringWriter();
+        gl.toFootprint(sw);
+        Assert.assertEquals(gl.toFootprint(), sw.toString());
+
+        sw = new StringWriter();
+        fp.toFootprint(sw);
+        Assert.assertEquals(fp.toFootprint(), sw.toString());
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        fp.toFootprint(bos);
+        Assert.assertEquals(fp.toFootprint(), new String(bos.toByteArray(), Charset.defaultCharset()));
+    }
+
+    @Test(expected = IOException.class)
+    public void failingWriter() throws IOException {
+        Writer broken = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("Broken");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        GraphLayout.parseInstance(map()).toPrintable(broken);
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.openjdk.jol.vm.VM;
+import org.openjdk.jol.vm.VirtualMachine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GraphVisitedTrackingTest {
+
+    static class Node {
+        Node next;
+        Object payload = new Object();
+    }
+
+    private static Map<Integer, List<Node>> sample() {
+        Map<Integer, List<Node>> map = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            List<Node> list = new ArrayList<>();
+            Node n = new Node();
+            list.add(n);
+            list.add(n);
+            n.next = new Node();
+            list.add(n.next);
+            map.put(i, list);
+        }
+        return map;
+    }
+
+    @Test
+    public void statsAgree() {
+        Map<Integer, List<Node>> map = sample();
+        GraphStats ih = new GraphStatsWalker().setVisitedTracking(VisitedTracking.IDENTITY_HASH).walk(map);
+        GraphStats addr = new GraphStatsWalker().setVisitedTracking(VisitedTracking.ADDRESS).walk(map);
+        GraphStats addrPar = new GraphStatsWalker().setVisitedTracking(VisitedTracking.ADDRESS).setParallelism(2).walk(map);
+
+        Assert.assertEquals(ih.totalCount(), addr.totalCount());
+        Assert.assertEquals(ih.totalSize(), addr.totalSize());
+        Assert.assertEquals(ih.totalCount(), addrPar.totalCount());
+        Assert.assertEquals(ih.totalSize(), addrPar.totalSize());
+    }
+
+    @Test
+    public void layoutsAgree() {
+        Map<Integer, List<Node>> map = sample();
+        GraphLayout ih = new GraphWalker().setVisitedTracking(VisitedTracking.IDENTITY_HASH).walk(map);
+        GraphLayout addr = new GraphWalker().setVisitedTracking(VisitedTracking.ADDRESS).walk(map);
+
+        Assert.assertEquals(ih.totalCount(), addr.totalCount());
+        Assert.assertEquals(ih.totalSize(), addr.totalSize());
+    }
+
+    @Test
+    public void noIdentityHashes() {
+        VirtualMachine vm = VM.current();
+        // Only check the legacy 64-bit header layout: hash:31 at bit 8.
+        Assume.assumeTrue(vm.addressSize() == 8 && vm.classPointerSize() > 0);
+
+        Node n = new Node();
+        n.next = new Node();
+
+        new GraphStatsWalker().setVisitedTracking(VisitedTracking.ADDRESS).walk(n);
+        new GraphWalker().setVisitedTracking(VisitedTracking.ADDRESS).walk(n);
+
+        for (Object o : new Object[] { n, n.payload, n.next, n.next.payload }) {
+            long hash = (vm.getLong(o, 0) >>> 8) & 0x7FFFFFFFL;
+            Assert.assertEquals("Identity hash is not installed", 0, hash);
+        }
+    }
+
+}
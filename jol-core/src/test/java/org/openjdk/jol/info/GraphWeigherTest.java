@@ -0,0 +1,122 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jol.vm.VM;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GraphWeigherTest {
+
+    static class Entry {
+        final String key;
+        final Object value;
+
+        Entry(String key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static void assertSameAsStats(GraphWeigher w, Object root) {
+        GraphStats stats = GraphStats.parseInstance(root);
+        Assert.assertEquals(stats.totalSize(), w.weigh(root));
+        Assert.assertEquals(stats.totalCount(), w.lastCount());
+    }
+
+    @Test
+    public void sameAsStats() {
+        GraphWeigher w = new GraphWeigher();
+
+        Map<Integer, String> map = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "Value" + i);
+        }
+        assertSameAsStats(w, map);
+        assertSameAsStats(w, new Entry("key", new int[] {1, 2, 3}));
+        assertSameAsStats(w, new Object[] {
+                new boolean[3], new byte[5], new short[7], new char[9],
+                new int[11], new float[13], new long[15], new double[17],
+                new Object[19], new String[0], "",
+        });
+        assertSameAsStats(w, new Object());
+    }
+
+    @Test
+    public void reuse() {
+        GraphWeigher w = new GraphWeigher();
+        Entry e = new Entry("key", new long[10]);
+        long size = w.weigh(e);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(size, w.weigh(e));
+        }
+
+        // Grow the internal structures, and then check the small graph again.
+        List<Object> big = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            big.add(new Object());
+        }
+        assertSameAsStats(w, big);
+        Assert.assertEquals(size, w.weigh(e));
+    }
+
+    @Test
+    public void weighAll() {
+        GraphWeigher w = new GraphWeigher();
+        Object shared = new int[100];
+        Entry e1 = new Entry("k1", shared);
+        Entry e2 = new Entry("k2", shared);
+
+        GraphStats stats = GraphStats.parseInstance(e1, e2);
+        Assert.assertEquals(stats.totalSize(), w.weighAll(e1, e2, e1));
+        Assert.assertEquals(stats.totalCount(), w.lastCount());
+    }
+
+    @Test
+    public void shared() {
+        GraphWeigher w = new GraphWeigher();
+        int[] shared = new int[100];
+        Entry e = new Entry("key", shared);
+
+        long full = w.weigh(e);
+        w.addShared(shared);
+        Assert.assertEquals(full - GraphStats.parseInstance(shared).totalSize(), w.weigh(e));
+
+        // Shared root is still counted.
+        Assert.assertEquals(GraphStats.parseInstance(shared).totalSize(), w.weigh(shared));
+
+        w.clearShared();
+        Assert.assertEquals(full, w.weigh(e));
+    }
+
+    @Test
+    public void boundary() {
+        Entry e = new Entry("key", new int[100]);
+        GraphWeigher w = new GraphWeigher().setBoundary(new GraphBoundary().stopClass(String.class));
+        GraphStats stats = new GraphStatsWalker()
+                .setBoundary(new GraphBoundary().stopClass(String.class))
+                .walk(e);
+        Assert.assertEquals(stats.totalSize(), w.weigh(e));
+        Assert.assertEquals(stats.totalCount(), w.lastCount());
+    }
+
+    @Test
+    public void boundaryChanges() {
+        Entry e = new Entry("key", new int[100]);
+        GraphBoundary boundary = new GraphBoundary();
+        GraphWeigher w = new GraphWeigher().setBoundary(boundary);
+        long full = w.weigh(e);
+
+        boundary.stopClass(int[].class);
+        Assert.assertEquals(full - VM.current().sizeOf(e.value), w.weigh(e));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullRoot() {
+        new GraphWeigher().weigh(null);
+    }
+
+}
@@ -0,0 +1,119 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class HeaderCensusTest {
+
+    static class A {
+    }
+
+    static class B {
+    }
+
+    private static List<Object> graph() {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            A a = new A();
+            if (i % 2 == 0) {
+                System.identityHashCode(a);
+            }
+            list.add(a);
+            list.add(new B());
+        }
+        return list;
+    }
+
+    private static GraphLayout layout(Object root) {
+        return new GraphWalker().setVisitedTracking(VisitedTracking.ADDRESS).walk(root);
+    }
+
+    @Test
+    public void counts() {
+        List<Object> list = graph();
+        HeaderCensus census = HeaderCensus.parse(layout(list));
+
+        Assert.assertEquals(100, census.count(A.class));
+        Assert.assertEquals(100, census.count(B.class));
+        Assert.assertTrue(census.classes().contains(ArrayList.class));
+
+        long states = 0;
+        for (LockState s : LockState.values()) {
+            states += census.count(s);
+        }
+        Assert.assertEquals(census.count(), states);
+
+        long ages = 0;
+        for (long c : census.ageHistogram()) {
+            ages += c;
+        }
+        Assert.assertEquals(census.count(), ages + census.unknownAgeCount());
+        Assert.assertEquals(HeaderCensus.AGES, census.ageHistogram(A.class).length);
+    }
+
+    @Test
+    public void hashes() {
+        List<Object> list = graph();
+        HeaderCensus census = HeaderCensus.parse(layout(list));
+
+        // Compact headers may keep the hash elsewhere, but never report more than installed.
+        Assert.assertTrue(census.hashedCount(A.class) <= 50);
+        Assert.assertTrue(census.hashedCount() >= census.hashedCount(A.class));
+        if (census.hashedCount(A.class) > 0) {
+            Assert.assertEquals(50, census.hashedCount(A.class));
+        }
+        Assert.assertEquals(0, census.hashedCount(B.class));
+    }
+
+    @Test
+    public void locked() {
+        A a = new A();
+        HeaderCensus census;
+        synchronized (a) {
+            census = HeaderCensus.parseInstance(a);
+        }
+        Assert.assertEquals(1, census.count());
+        Assert.assertEquals(0, census.count(A.class, LockState.UNLOCKED));
+        Assert.assertEquals(0, census.hashedCount());
+
+        long ages = 0;
+        for (long c : census.ageHistogram(A.class)) {
+            ages += c;
+        }
+        Assert.assertEquals(1, ages + census.unknownAgeCount(A.class));
+    }
+
+    @Test
+    public void walkerMatchesLayout() {
+        List<Object> list = graph();
+        HeaderCensus fromLayout = HeaderCensus.parse(layout(list));
+        HeaderCensus fromWalk = HeaderCensus.parseInstance(list);
+        Assert.assertEquals(fromLayout.count(), fromWalk.count());
+        Assert.assertEquals(fromLayout.classes(), fromWalk.classes());
+    }
+
+    @Test
+    public void identityHashWalkHashesEverything() {
+        HeaderCensus census = HeaderCensus.parse(GraphLayout.parseInstance(graph()));
+        if (census.hashedCount(A.class) > 0) {
+            Assert.assertEquals(100, census.hashedCount(A.class));
+            Assert.assertEquals(100, census.hashedCount(B.class));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownClass() {
+        HeaderCensus.parseInstance(new A()).count(B.class);
+    }
+
+    @Test
+    public void printable() {
+        String s = HeaderCensus.parse(layout(graph())).toPrintable();
+        Assert.assertTrue(s, s.contains("HASHED"));
+        Assert.assertTrue(s, s.contains("GC age histogram"));
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.openjdk.jol.info;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class IncrementalGraphStatsWalkerTest {
+
+    private static Object graph() {
+        Map<Integer, String> map = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            map.put(i, "Value" + i);
+        }
+        Object[] arr = new Object[10_000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = (i % 3 == 0) ? map : Integer.valueOf(i);
+        }
+        return new Object[] { map, arr, new int[100] };
+    }
+
+    @Test
+    public void sameAsFullWalk() {
+        Object root = graph();
+        GraphStats expected = GraphStats.parseInstance(root);
+
+        IncrementalGraphStatsWalker w = new IncrementalGraphStatsWalker().start(root);
+        long lastCount = 0;
+        while (!w.step(100, Long.MAX_VALUE)) {
+            long count = w.stats().totalCount();
+            Assert.assertTrue("Progress is monotonic", count >= lastCount);
+            lastCount = count;
+        }
+
+        Assert.assertTrue(w.isDone());
+        Assert.assertTrue("Walk took many steps: " + w.steps(), w.steps() > 100);
+        Assert.assertEquals(expected.totalCount(), w.stats().totalCount());
+        Assert.assertEquals(expected.totalSize(), w.stats().totalSize());
+    }
+
+    @Test
+    public void timeBoundedStepsProgress() {
+        Object root = graph();
+        GraphStats expected = GraphStats.parseInstance(root);
+
+        IncrementalGraphStatsWalker w = new IncrementalGraphStatsWalker().start(root);
+        while (!w.step(Long.MAX_VALUE, 1)) {
+            // Continue
+        }
+        Assert.assertEquals(expected.totalCount(), w.stats().totalCount());
+        Assert.assertEquals(expected.totalSize(), w.stats().totalSize());
+    }
+
+    @Test
+    public void footprintQueriedBetweenSteps() {
+        Object root = graph();
+        GraphFootprint expected = GraphFootprint.parseInstance(root);
+
+        GraphFootprint fp = new GraphFootprint(root);
+        IncrementalGraphStatsWalker w = new IncrementalGraphStatsWalker(fp).start(root);
+        long lastSize = 0;
+        while (!w.step(100, Long.MAX_VALUE)) {
+            long size = fp.totalSize();
+            Assert.assertTrue("Progress is monotonic", size >= lastSize);
+            lastSize = size;
+        }
+        Assert.assertEquals(expected.totalCount(), fp.totalCount());
+        Assert.assertEquals(expected.totalSize(), fp.totalSize());
+        Assert.assertEquals(expected.getClasses(), fp.getClasses());
+    }
+
+    @Test
+    public void walkToCompletion() {
+        Object root = graph();
+        GraphStats expected = GraphStats.parseInstance(root);
+        GraphStats actual = new IncrementalGraphStatsWalker().walk(root);
+        Assert.assertEquals(expected.totalCount(), actual.totalCount());
+        Assert.assertEquals(expected.totalSize(), actual.totalSize());
+    }
+
+    @Test
+    public void visitorsSeeEveryObject() {
+        Object root = graph();
+        long[] seen = new long[2];
+        IncrementalGraphStatsWalker w = new IncrementalGraphStatsWalker((o, size) -> {
+            seen[0]++;
+            seen[1] += size;
+        }).start(root);
+        while (!w.step(1, Long.MAX_VALUE)) {
+            // Continue
+        }
+        Assert.assertEquals(w.stats().totalCount(), seen[0]);
+        Assert.assertEquals(w.stats().totalSize(), seen[1]);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void notStarted() {
+        new IncrementalGraphStatsWalker().step(1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badBudget() {
+        new IncrementalGraphStatsWalker().start(new Object()).step(0, 1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void trackingInProgress() {
+        new IncrementalGraphStatsWalker().start(new Object()).setVisitedTracking(VisitedTracking.ADDRESS);
+    }
+
+}
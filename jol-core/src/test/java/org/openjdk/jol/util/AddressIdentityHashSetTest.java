@@ -0,0 +1,42 @@
+package org.openjdk.jol.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AddressIdentityHashSetTest {
+
+    @Test
+    public void testAdd() {
+        AddressIdentityHashSet set = new AddressIdentityHashSet();
+
+        Object o1 = new Object();
+        Object o2 = new Object();
+
+        Assert.assertTrue(set.add(o1));
+        Assert.assertTrue(set.add(o2));
+        Assert.assertFalse(set.add(o1));
+        Assert.assertFalse(set.add(o2));
+    }
+
+    @Test
+    public void testSurvivesGC() {
+        AddressIdentityHashSet set = new AddressIdentityHashSet();
+
+        Object[] objs = new Object[10_000];
+        for (int i = 0; i < objs.length; i++) {
+            objs[i] = new Integer[i % 5];
+            Assert.assertTrue(set.add(objs[i]));
+        }
+
+        for (int t = 0; t < 3; t++) {
+            // Move the objects around, and check they are still found.
+            System.gc();
+            for (Object o : objs) {
+                Assert.assertFalse(set.add(o));
+            }
+        }
+
+        Assert.assertTrue(set.add(new Object()));
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.openjdk.jol.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class ArrayUtilsTest {
+
+    private static void checkSort(long[] keys) {
+        long[] orig = keys.clone();
+        int[] values = new int[keys.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+
+        ArrayUtils.sort(keys, values, 0, keys.length);
+
+        long[] expected = orig.clone();
+        Arrays.sort(expected);
+        Assert.assertArrayEquals(expected, keys);
+        for (int i = 0; i < keys.length; i++) {
+            Assert.assertEquals("Values follow keys", orig[values[i]], keys[i]);
+        }
+    }
+
+    @Test
+    public void testRandom() {
+        Random r = new Random(42);
+        for (int len : new int[] {0, 1, 2, 10, 100, 10_000}) {
+            long[] keys = new long[len];
+            for (int i = 0; i < len; i++) {
+                keys[i] = r.nextLong();
+            }
+            checkSort(keys);
+        }
+    }
+
+    @Test
+    public void testDuplicates() {
+        Random r = new Random(42);
+        long[] keys = new long[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = r.nextInt(5);
+        }
+        checkSort(keys);
+    }
+
+    @Test
+    public void testOrdered() {
+        long[] asc = new long[10_000];
+        long[] desc = new long[10_000];
+        long[] same = new long[10_000];
+        for (int i = 0; i < asc.length; i++) {
+            asc[i] = i * 8L;
+            desc[i] = (asc.length - i) * 8L;
+            same[i] = 42;
+        }
+        checkSort(asc);
+        checkSort(desc);
+        checkSort(same);
+    }
+
+    @Test
+    public void testBinarySearch() {
+        long[] keys = {8, 16, 24, 40};
+        Assert.assertEquals(0, ArrayUtils.binarySearch(keys, 0, keys.length, 8));
+        Assert.assertEquals(3, ArrayUtils.binarySearch(keys, 0, keys.length, 40));
+        Assert.assertEquals(-1, ArrayUtils.binarySearch(keys, 0, keys.length, 0));
+        Assert.assertEquals(-4, ArrayUtils.binarySearch(keys, 0, keys.length, 32));
+        Assert.assertEquals(-5, ArrayUtils.binarySearch(keys, 0, keys.length, 48));
+    }
+
+    @Test
+    public void lowerBound() {
+        long[] keys = {1, 3, 3, 3, 7};
+        Assert.assertEquals(0, ArrayUtils.lowerBound(keys, 0, keys.length, 0));
+        Assert.assertEquals(0, ArrayUtils.lowerBound(keys, 0, keys.length, 1));
+        Assert.assertEquals(1, ArrayUtils.lowerBound(keys, 0, keys.length, 2));
+        Assert.assertEquals(1, ArrayUtils.lowerBound(keys, 0, keys.length, 3));
+        Assert.assertEquals(4, ArrayUtils.lowerBound(keys, 0, keys.length, 4));
+        Assert.assertEquals(5, ArrayUtils.lowerBound(keys, 0, keys.length, 8));
+        Assert.assertEquals(2, ArrayUtils.lowerBound(keys, 2, 4, 0));
+    }
+
+}
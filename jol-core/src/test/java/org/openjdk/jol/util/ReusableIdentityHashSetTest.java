@@ -0,0 +1,44 @@
+package org.openjdk.jol.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReusableIdentityHashSetTest {
+
+    @Test
+    public void addContainsClear() {
+        ReusableIdentityHashSet set = new ReusableIdentityHashSet();
+        Object[] objs = new Object[1000];
+        for (int i = 0; i < objs.length; i++) {
+            objs[i] = new Object();
+        }
+
+        for (int round = 0; round < 3; round++) {
+            for (Object o : objs) {
+                Assert.assertFalse(set.contains(o));
+                Assert.assertTrue(set.add(o));
+                Assert.assertFalse(set.add(o));
+                Assert.assertTrue(set.contains(o));
+            }
+            Assert.assertEquals(objs.length, set.size());
+            set.clear();
+            Assert.assertEquals(0, set.size());
+        }
+    }
+
+    @Test
+    public void shrink() {
+        ReusableIdentityHashSet set = new ReusableIdentityHashSet();
+        for (int i = 0; i < 100_000; i++) {
+            set.add(new Object());
+        }
+        set.clear();
+
+        Object o = new Object();
+        Assert.assertTrue(set.add(o));
+        Assert.assertTrue(set.contains(o));
+        set.clear();
+        Assert.assertFalse(set.contains(o));
+    }
+
+}
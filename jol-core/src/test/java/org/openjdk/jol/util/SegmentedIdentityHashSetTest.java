@@ -0,0 +1,45 @@
+package org.openjdk.jol.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SegmentedIdentityHashSetTest {
+
+    @Test
+    public void testAdd() {
+        SegmentedIdentityHashSet set = new SegmentedIdentityHashSet();
+
+        Object o1 = new Object();
+        Object o2 = new Object();
+
+        Assert.assertTrue(set.add(o1));
+        Assert.assertTrue(set.add(o2));
+        Assert.assertFalse(set.add(o1));
+        Assert.assertFalse(set.add(o2));
+        Assert.assertEquals(2, set.size());
+    }
+
+    @Test
+    public void testMany() {
+        SegmentedIdentityHashSet set = new SegmentedIdentityHashSet();
+
+        Object[] objs = new Object[200_000];
+        for (int i = 0; i < objs.length; i++) {
+            objs[i] = new Object();
+            Assert.assertTrue(set.add(objs[i]));
+        }
+        for (Object o : objs) {
+            Assert.assertFalse(set.add(o));
+        }
+        Assert.assertEquals(objs.length, set.size());
+    }
+
+    @Test
+    public void testEqualButNotSame() {
+        SegmentedIdentityHashSet set = new SegmentedIdentityHashSet();
+        Assert.assertTrue(set.add(new String("foo")));
+        Assert.assertTrue(set.add(new String("foo")));
+        Assert.assertEquals(2, set.size());
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.openjdk.jol.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SegmentedStackTest {
+
+    @Test
+    public void testSingle() {
+        SegmentedStack<Object> s = new SegmentedStack<>();
+
+        Object o1 = new Object();
+        Object o2 = new Object();
+
+        Assert.assertTrue(s.isEmpty());
+        s.push(o1);
+        s.push(o2);
+        Assert.assertFalse(s.isEmpty());
+        Assert.assertEquals(2, s.size());
+        Assert.assertSame(o2, s.pop());
+        Assert.assertSame(o1, s.pop());
+        Assert.assertTrue(s.isEmpty());
+        Assert.assertEquals(0, s.size());
+    }
+
+    @Test
+    public void testManyChunks() {
+        SegmentedStack<Integer> s = new SegmentedStack<>();
+        int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            s.push(i);
+        }
+        Assert.assertEquals(count, s.size());
+        for (int i = count - 1; i >= 0; i--) {
+            Assert.assertEquals(i, (int) s.pop());
+        }
+        Assert.assertTrue(s.isEmpty());
+    }
+
+    @Test
+    public void testChunkBoundary() {
+        SegmentedStack<Integer> s = new SegmentedStack<>();
+        int depth = 0;
+        // Oscillate around the chunk boundaries, checking the order holds.
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 50; i++) {
+                s.push(depth++);
+            }
+            for (int i = 0; i < 30; i++) {
+                Assert.assertEquals(--depth, (int) s.pop());
+            }
+        }
+        Assert.assertEquals(depth, s.size());
+        while (!s.isEmpty()) {
+            Assert.assertEquals(--depth, (int) s.pop());
+        }
+        Assert.assertEquals(0, depth);
+    }
+
+}
@@ -0,0 +1,41 @@
+package org.openjdk.jol.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SimpleIdentityIntMapTest {
+
+    @Test
+    public void testPutGet() {
+        SimpleIdentityIntMap map = new SimpleIdentityIntMap();
+
+        Object o1 = new Object();
+        Object o2 = new Object();
+
+        Assert.assertEquals(-1, map.get(o1, -1));
+        map.put(o1, 1);
+        map.put(o2, 2);
+        Assert.assertEquals(1, map.get(o1, -1));
+        Assert.assertEquals(2, map.get(o2, -1));
+        map.put(o1, 3);
+        Assert.assertEquals(3, map.get(o1, -1));
+        Assert.assertEquals(2, map.size());
+        Assert.assertTrue(map.contains(o2));
+        Assert.assertFalse(map.contains(new Object()));
+    }
+
+    @Test
+    public void testMany() {
+        SimpleIdentityIntMap map = new SimpleIdentityIntMap();
+        Object[] objs = new Object[100_000];
+        for (int i = 0; i < objs.length; i++) {
+            objs[i] = new String("foo");
+            map.put(objs[i], i);
+        }
+        Assert.assertEquals(objs.length, map.size());
+        for (int i = 0; i < objs.length; i++) {
+            Assert.assertEquals(i, map.get(objs[i], -1));
+        }
+    }
+
+}
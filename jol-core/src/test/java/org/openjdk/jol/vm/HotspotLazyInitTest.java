@@ -0,0 +1,83 @@
+package org.openjdk.jol.vm;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+
+public class HotspotLazyInitTest {
+
+    static class Sample {
+        int i;
+        long l;
+    }
+
+    private static Unsafe unsafe;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        Field f = Unsafe.class.getDeclaredField("theUnsafe");
+        f.setAccessible(true);
+        unsafe = (Unsafe) f.get(null);
+    }
+
+    @Test
+    public void unsafeOnlyQueries() throws Exception {
+        HotspotUnsafe vm = new HotspotUnsafe(unsafe);
+        Assert.assertTrue(vm.hasPendingCapabilities());
+
+        VirtualMachine cur = VM.current();
+        Field f = Sample.class.getDeclaredField("l");
+        Assert.assertEquals(cur.fieldOffset(f), vm.fieldOffset(f));
+        Assert.assertEquals(cur.objectHeaderSize(), vm.objectHeaderSize());
+        Assert.assertEquals(cur.arrayBaseOffset("int"), vm.arrayBaseOffset("int"));
+        Assert.assertEquals(cur.objectAlignment(), vm.objectAlignment());
+        Assert.assertEquals(cur.sizeOfField("long"), vm.sizeOfField("long"));
+        Assert.assertNotNull(vm.details());
+        Sample s1 = new Sample();
+        Sample s2 = new Sample();
+        Assert.assertNotEquals(vm.referenceBits(s1), vm.referenceBits(s2));
+
+        // None of these needed Instrumentation or Serviceability Agent.
+        Assert.assertTrue(vm.hasPendingCapabilities());
+    }
+
+    @Test
+    public void resolveOnDemand() {
+        HotspotUnsafe vm = new HotspotUnsafe(unsafe);
+        Object o = new Sample();
+        Assert.assertEquals(VM.current().sizeOf(o), vm.sizeOf(o));
+
+        vm.resolveAll();
+        Assert.assertFalse(vm.hasPendingCapabilities());
+        Assert.assertEquals(VM.current().sizeOf(o), vm.sizeOf(o));
+    }
+
+    @Test
+    public void addresses() {
+        HotspotUnsafe vm = new HotspotUnsafe(unsafe);
+        Object o = new Sample();
+        // Objects can move in between, try a few times to get the clean run.
+        long expected = 0;
+        long actual = 1;
+        for (int t = 0; t < 10 && expected != actual; t++) {
+            actual = vm.addressOf(o);
+            expected = VM.current().addressOf(o);
+        }
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void addressQueryResolvesAgent() {
+        HotspotUnsafe vm = new HotspotUnsafe(unsafe);
+        vm.addressOf(new Sample());
+
+        // Resolved facts are the same as the fully resolved VM reports.
+        HotspotUnsafe cur = (HotspotUnsafe) VM.current();
+        cur.resolveAll();
+        Assert.assertEquals(cur.details(), vm.details());
+    }
+
+}
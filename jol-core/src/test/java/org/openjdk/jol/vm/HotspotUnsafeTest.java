@@ -27,9 +27,11 @@ package org.openjdk.jol.vm;
 import org.junit.Test;
 
 import java.lang.management.ManagementFactory;
+import java.util.Arrays;
 import java.util.Optional;
 
 import static org.apache.commons.lang3.StringUtils.substringAfter;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class HotspotUnsafeTest {
@@ -38,6 +40,36 @@ public class HotspotUnsafeTest {
         assertEquals(expectedAlignment(), VM.current().objectAlignment());
     }
 
+    @Test
+    public void testBulkAddresses() {
+        Object[] objs = new Object[100];
+        for (int i = 0; i < objs.length; i++) {
+            objs[i] = (i % 10 == 0) ? null : new int[i];
+        }
+
+        VirtualMachine vm = VM.current();
+        long[] bulk = new long[objs.length + 1];
+        long[] single = new long[objs.length];
+
+        // Objects can move in between, try a few times to get the clean run.
+        for (int t = 0; t < 10; t++) {
+            vm.addressesOf(objs, objs.length, bulk);
+            for (int i = 0; i < objs.length; i++) {
+                single[i] = vm.addressOf(objs[i]);
+            }
+            if (Arrays.equals(Arrays.copyOf(bulk, objs.length), single)) {
+                break;
+            }
+        }
+        assertArrayEquals(single, Arrays.copyOf(bulk, objs.length));
+        assertEquals(0, bulk[objs.length]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBulkAddressesBadCount() {
+        VM.current().addressesOf(new Object[1], 2, new long[2]);
+    }
+
     private int expectedAlignment() {
         Optional<String> alignmentProperty = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
                 .filter(arg -> arg.contains("-XX:ObjectAlignmentInBytes"))